@@ -0,0 +1,142 @@
+package com.github.nayasis.basica.base;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * BK-tree of words indexed by Levenshtein distance
+ *
+ * <pre>
+ * it finds words within given distance without comparing query with all words.
+ *
+ * BkTree tree = new BkTree( Arrays.asList("book", "books", "cake", "boo", "cape") );
+ * tree.search( "bo0k", 1 ) -&gt; [ "book" ]
+ * tree.search( "bo0k", 2 ) -&gt; [ "book", "books", "boo" ]
+ *
+ * it is not thread-safe while words are added.
+ * </pre>
+ */
+public class BkTree {
+
+	private Node root;
+	private int  size;
+
+	public BkTree() {}
+
+	public BkTree( Collection<String> words ) {
+		addAll( words );
+	}
+
+	/**
+	 * add word.
+	 *
+	 * @param word	word (null is ignored)
+	 * @return false if word is added already.
+	 */
+	public boolean add( String word ) {
+
+		if( word == null ) return false;
+
+		if( root == null ) {
+			root = new Node( word );
+			size++;
+			return true;
+		}
+
+		Node node = root;
+		while( true ) {
+			int distance = Levenshtein.distance( word, node.word );
+			if( distance == 0 ) return false;
+			Node child = node.child( distance );
+			if( child == null ) {
+				node.child( distance, new Node(word) );
+				size++;
+				return true;
+			}
+			node = child;
+		}
+
+	}
+
+	/**
+	 * add words.
+	 *
+	 * @param words	words
+	 */
+	public void addAll( Collection<String> words ) {
+		if( words == null ) return;
+		for( String word : words )
+			add( word );
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * search words within max distance.
+	 *
+	 * @param query			word to search
+	 * @param maxDistance	max Levenshtein distance
+	 * @return words within max distance (in no particular order)
+	 */
+	public List<String> search( String query, int maxDistance ) {
+
+		List<String> result = new ArrayList<>();
+		if( root == null || query == null || maxDistance < 0 ) return result;
+
+		Deque<Node> stack = new ArrayDeque<>();
+		stack.push( root );
+
+		while( ! stack.isEmpty() ) {
+
+			Node node = stack.pop();
+
+			// exact distance is needed only as far as it can select child. (triangle inequality)
+			int limit    = (int) Math.min( (long) Math.max(node.children.length - 1, 0) + maxDistance, Integer.MAX_VALUE );
+			int distance = Levenshtein.distance( query, node.word, limit );
+			if( distance < 0 ) continue;
+
+			if( distance <= maxDistance )
+				result.add( node.word );
+
+			int from = Math.max( 1, distance - maxDistance );
+			int to   = (int) Math.min( (long) node.children.length - 1, (long) distance + maxDistance );
+			for( int d = from; d <= to; d++ ) {
+				if( node.children[d] != null )
+					stack.push( node.children[d] );
+			}
+
+		}
+
+		return result;
+
+	}
+
+	private static final class Node {
+
+		final String word;
+		/** child indexed by distance from this word */
+		Node[] children = new Node[ 0 ];
+
+		Node( String word ) {
+			this.word = word;
+		}
+
+		Node child( int distance ) {
+			return distance < children.length ? children[ distance ] : null;
+		}
+
+		void child( int distance, Node child ) {
+			if( distance >= children.length )
+				children = Arrays.copyOf( children, distance + 1 );
+			children[ distance ] = child;
+		}
+
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.github.nayasis.basica.base;
+
+/**
+ * Read-only view of a region in character sequence
+ *
+ * <pre>
+ * it shares characters of source, and makes String only when {@link #toString()} is called.
+ *
+ * Strings.splitAsStream( csv, "," )
+ *   .filter( token -&gt; token.length() &gt; 0 &amp;&amp; token.charAt(0) == 'A' )
+ *   .map( CharSlice::toString )   // only matched token is materialized.
+ *   ...
+ * </pre>
+ */
+public class CharSlice implements CharSequence, Comparable<CharSequence> {
+
+	private final CharSequence source;
+	private final int          start;
+	private final int          end;
+
+	private String string;
+	private int    hash;
+
+	/**
+	 * constructor
+	 *
+	 * @param source	source character sequence
+	 * @param start		start index (inclusive)
+	 * @param end		end index (exclusive)
+	 */
+	public CharSlice( CharSequence source, int start, int end ) {
+		if( start < 0 || end > source.length() || start > end )
+			throw new IndexOutOfBoundsException( String.format("start: %d, end: %d, length: %d", start, end, source.length()) );
+		this.source = source;
+		this.start  = start;
+		this.end    = end;
+	}
+
+	public CharSlice( CharSequence source ) {
+		this( source, 0, source.length() );
+	}
+
+	@Override
+	public int length() {
+		return end - start;
+	}
+
+	public boolean isEmpty() {
+		return start == end;
+	}
+
+	@Override
+	public char charAt( int index ) {
+		if( index < 0 || index >= end - start )
+			throw new IndexOutOfBoundsException( String.format("index: %d, length: %d", index, end - start) );
+		return source.charAt( start + index );
+	}
+
+	@Override
+	public CharSlice subSequence( int start, int end ) {
+		if( start < 0 || end > length() || start > end )
+			throw new IndexOutOfBoundsException( String.format("start: %d, end: %d, length: %d", start, end, length()) );
+		return new CharSlice( source, this.start + start, this.start + end );
+	}
+
+	/**
+	 * get slice removing leading and trailing whitespace. (same rule with {@link String#trim()})
+	 *
+	 * @return trimmed slice
+	 */
+	public CharSlice trim() {
+		int s = start, e = end;
+		while( s < e && source.charAt(s) <= ' ' ) s++;
+		while( s < e && source.charAt(e - 1) <= ' ' ) e--;
+		return s == start && e == end ? this : new CharSlice( source, s, e );
+	}
+
+	/**
+	 * check if slice has same characters with given text.
+	 *
+	 * @param text	text to compare
+	 * @return true if characters are same
+	 */
+	public boolean contentEquals( CharSequence text ) {
+		if( text == null || text.length() != length() ) return false;
+		for( int i = 0, length = length(); i < length; i++ ) {
+			if( source.charAt(start + i) != text.charAt(i) ) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * check if slice starts with prefix.
+	 *
+	 * @param prefix	prefix
+	 * @return true if slice starts with prefix
+	 */
+	public boolean startsWith( CharSequence prefix ) {
+		if( prefix.length() > length() ) return false;
+		for( int i = 0, length = prefix.length(); i < length; i++ ) {
+			if( source.charAt(start + i) != prefix.charAt(i) ) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * get start index in source.
+	 *
+	 * @return start index (inclusive)
+	 */
+	public int start() {
+		return start;
+	}
+
+	/**
+	 * get end index in source.
+	 *
+	 * @return end index (exclusive)
+	 */
+	public int end() {
+		return end;
+	}
+
+	/**
+	 * materialize slice to String. (String is made only once)
+	 *
+	 * @return string
+	 */
+	@Override
+	public String toString() {
+		if( string == null ) {
+			if( source instanceof String ) {
+				string = ( (String) source ).substring( start, end );
+			} else {
+				string = source.subSequence( start, end ).toString();
+			}
+		}
+		return string;
+	}
+
+	@Override
+	public int compareTo( CharSequence other ) {
+		int limit = Math.min( length(), other.length() );
+		for( int i = 0; i < limit; i++ ) {
+			int diff = source.charAt( start + i ) - other.charAt( i );
+			if( diff != 0 ) return diff;
+		}
+		return length() - other.length();
+	}
+
+	/**
+	 * same hash code with String having same characters.
+	 */
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if( h == 0 ) {
+			for( int i = start; i < end; i++ )
+				h = 31 * h + source.charAt( i );
+			hash = h;
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals( Object other ) {
+		if( this == other ) return true;
+		if( ! (other instanceof CharSlice) ) return false;
+		return contentEquals( (CharSlice) other );
+	}
+
+}
@@ -3,7 +3,10 @@ package com.github.nayasis.basica.base;
 import lombok.experimental.UtilityClass;
 
 import java.lang.Character.UnicodeBlock;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -51,6 +54,21 @@ public class Characters {
 		add( UnicodeBlock.ENCLOSED_CJK_LETTERS_AND_MONTHS );
 	}};
 
+	private final int FLAG_HALF     = 1;
+	private final int FLAG_KOREAN   = 1 << 1;
+	private final int FLAG_JAPANESE = 1 << 2;
+	private final int FLAG_CHINESE  = 1 << 3;
+	private final int FLAG_CJK      = 1 << 4;
+	private final int FLAG_ZERO     = 1 << 5;
+	private final int FLAG_WIDE     = 1 << 6;
+
+	/**
+	 * classification flags of BMP characters. (table[ch &gt;&gt;&gt; 8][ch &amp; 0xFF])
+	 *
+	 * pages having same flags share one array, so that it takes only a few KB.
+	 */
+	private byte[][] TABLE = buildTable();
+
 	public char NULL_CHAR = '\0';
 
 	/** Hangul Chosung */
@@ -175,21 +193,7 @@ public class Characters {
 	 *
 	 */
 	public boolean isHalfWidth( char ch ) {
-
-		if( ch < 0x0020 ) return true;  // special character
-
-		if( 0x0020 <= ch && ch <= 0x007F ) return true;  // ASCII (Latin characters, symbols, punctuation,numbers)
-		
-		// FF61 ~ FF64 : Halfwidth CJK punctuation
-		// FF65 ~ FF9F : Halfwidth Katakanana variants
-		// FFA0 ~ FFDC : Halfwidth Hangul variants
-		if( 0xFF61 <= ch && ch <= 0xFFDC ) return true;
-		
-		// FFE8 ~ FFEE : Halfwidth symbol variants
-		if( 0xFFE8 <= ch && ch <= 0xFFEE ) return true;
-		
-		return false;
-		
+		return ( flags(ch) & FLAG_HALF ) != 0;
 	}
 
 	/**
@@ -199,11 +203,44 @@ public class Characters {
 	 * @return font width to print
 	 */
 	public double getFontWidth( char ch ) {
-		if( isHalfWidth( ch ) ) return halfwidth;
-		if( isCJK( ch ) ) return fullwidth;
+		return getFontWidth( (int) ch );
+	}
+
+	/**
+	 * get font width to print
+	 *
+	 * <pre>
+	 * - combining mark, format character (ex. zero width joiner) and variation selector : 0
+	 * - CJK and emoji : full-width
+	 * </pre>
+	 *
+	 * @param codePoint code point to check
+	 * @return font width to print
+	 */
+	public double getFontWidth( int codePoint ) {
+		int flags = flags( codePoint );
+		if( (flags & FLAG_HALF) != 0 ) return halfwidth;
+		if( (flags & FLAG_ZERO) != 0 ) return 0;
+		if( (flags & (FLAG_CJK | FLAG_WIDE)) != 0 ) return fullwidth;
 		return 1;
 	}
 
+	/**
+	 * get font width of text to print
+	 *
+	 * @param text	text
+	 * @return font width to print (surrogate pair is calculated as one character)
+	 */
+	public double getFontWidth( CharSequence text ) {
+		double width = 0;
+		for( int i = 0, length = text.length(); i < length; ) {
+			int codePoint = Character.codePointAt( text, i );
+			width += getFontWidth( codePoint );
+			i += Character.charCount( codePoint );
+		}
+		return width;
+	}
+
 	/**
 	 * check if character is korean
 	 *
@@ -211,9 +248,7 @@ public class Characters {
 	 * @return true if character is korean
 	 */
 	public boolean isKorean( char ch ) {
-		if( KOREAN.contains(UnicodeBlock.of(ch)) ) return true;
-		return 0xFFA0 <= ch && ch <= 0xFFDC;
-
+		return ( flags(ch) & FLAG_KOREAN ) != 0;
 	}
 
 	/**
@@ -223,9 +258,7 @@ public class Characters {
 	 * @return true if character is japanese
 	 */
 	public boolean isJapanese( char ch ) {
-		if( JAPANESE.contains(UnicodeBlock.of(ch)) ) return true;
-		return 0xFF65 <= ch && ch <= 0xFF9F;
-
+		return ( flags(ch) & FLAG_JAPANESE ) != 0;
 	}
 
 	/**
@@ -235,8 +268,7 @@ public class Characters {
 	 * @return true if character is chinese
 	 */
 	public boolean isChinese( char ch ) {
-		if( CHINESE.contains(UnicodeBlock.of(ch)) ) return true;
-		return 0xFF65 <= ch && ch <= 0xFF9F;
+		return ( flags(ch) & FLAG_CHINESE ) != 0;
 	}
 
 	/**
@@ -246,7 +278,83 @@ public class Characters {
 	 * @return true if character is chinese or japanese or korean
 	 */
 	public boolean isCJK( char ch ) {
-		return CJK.contains( UnicodeBlock.of(ch) );
+		return ( flags(ch) & FLAG_CJK ) != 0;
+	}
+
+	/**
+	 * check if code point is chinese or japanese or korean
+	 *
+	 * @param codePoint code point
+	 * @return true if code point is chinese or japanese or korean
+	 */
+	public boolean isCJK( int codePoint ) {
+		return ( flags(codePoint) & FLAG_CJK ) != 0;
+	}
+
+	private int flags( int codePoint ) {
+		if( codePoint < 0 || codePoint > Character.MAX_CODE_POINT ) return 0;
+		if( codePoint <= Character.MAX_VALUE )
+			return TABLE[ codePoint >>> 8 ][ codePoint & 0xFF ];
+		return classify( codePoint );
+	}
+
+	private byte[][] buildTable() {
+		byte[][]          table  = new byte[ 256 ][];
+		Map<String,byte[]> unique = new HashMap<>();
+		for( int page = 0; page < 256; page++ ) {
+			byte[] flags = new byte[ 256 ];
+			for( int i = 0; i < 256; i++ )
+				flags[ i ] = classify( page << 8 | i );
+			table[ page ] = unique.computeIfAbsent( Arrays.toString(flags), key -> flags );
+		}
+		return table;
+	}
+
+	private byte classify( int codePoint ) {
+
+		int          flags = 0;
+		UnicodeBlock block = UnicodeBlock.of( codePoint );
+
+		// special character and ASCII (Latin characters, symbols, punctuation,numbers)
+		if( codePoint <= 0x007F ) flags |= FLAG_HALF;
+
+		// FF61 ~ FF64 : Halfwidth CJK punctuation
+		// FF65 ~ FF9F : Halfwidth Katakanana variants
+		// FFA0 ~ FFDC : Halfwidth Hangul variants
+		if( 0xFF61 <= codePoint && codePoint <= 0xFFDC ) flags |= FLAG_HALF;
+
+		// FFE8 ~ FFEE : Halfwidth symbol variants
+		if( 0xFFE8 <= codePoint && codePoint <= 0xFFEE ) flags |= FLAG_HALF;
+
+		if( KOREAN.contains(block)   || (0xFFA0 <= codePoint && codePoint <= 0xFFDC) ) flags |= FLAG_KOREAN;
+		if( JAPANESE.contains(block) || (0xFF65 <= codePoint && codePoint <= 0xFF9F) ) flags |= FLAG_JAPANESE;
+		if( CHINESE.contains(block)  || (0xFF65 <= codePoint && codePoint <= 0xFF9F) ) flags |= FLAG_CHINESE;
+		if( CJK.contains(block) ) flags |= FLAG_CJK;
+
+		switch( Character.getType(codePoint) ) {
+			case Character.NON_SPACING_MARK :
+			case Character.ENCLOSING_MARK :
+			case Character.FORMAT :
+				flags |= FLAG_ZERO;
+		}
+
+		// emoji modifier (skin tone)
+		if( 0x1F3FB <= codePoint && codePoint <= 0x1F3FF ) {
+			flags |= FLAG_ZERO;
+		} else if( isEmoji(codePoint) ) {
+			flags |= FLAG_WIDE;
+		}
+
+		return (byte) flags;
+
+	}
+
+	private boolean isEmoji( int codePoint ) {
+		return ( 0x1F300 <= codePoint && codePoint <= 0x1F64F ) // symbols, pictographs and emoticons
+			|| ( 0x1F680 <= codePoint && codePoint <= 0x1F6FF ) // transport and map symbols
+			|| ( 0x1F900 <= codePoint && codePoint <= 0x1F9FF ) // supplemental symbols and pictographs
+			|| ( 0x1FA70 <= codePoint && codePoint <= 0x1FAFF ) // symbols and pictographs extended-A
+			|| ( 0x1F1E6 <= codePoint && codePoint <= 0x1F1FF ); // regional indicator
 	}
 
-}
\ No newline at end of file
+}
@@ -1,7 +1,8 @@
 package com.github.nayasis.basica.base;
 
 
-import com.github.nayasis.basica.cache.implement.LruCache;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
 import com.github.nayasis.basica.exception.unchecked.UncheckedClassCastException;
 import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
 import com.github.nayasis.basica.file.Files;
@@ -18,6 +19,7 @@ import org.objenesis.ObjenesisStd;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +29,7 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 
 /**
@@ -38,7 +41,7 @@ import java.util.Set;
 @UtilityClass
 public class Classes {
 
-	private LruCache<Class<?>,Set<Class<?>>> CACHE_CONTAINED_PARENT = new LruCache<>( 256 );
+	private ConcurrentLruCache<Class<?>,Set<Class<?>>> CACHE_CONTAINED_PARENT = CacheRegistry.register( "Classes.parent", new ConcurrentLruCache<>(256) );
 
 	private Objenesis factory = new ObjenesisStd();
 
@@ -163,14 +166,11 @@ public class Classes {
 
 	public Set<Class<?>> findParents( Class<?> klass ) {
 
-		if( CACHE_CONTAINED_PARENT.contains( klass ) )
-			return CACHE_CONTAINED_PARENT.get( klass );
-
-		Set<Class<?>> parents = new LinkedHashSet<>();
-		findParents( klass, parents );
-		CACHE_CONTAINED_PARENT.put( klass, parents );
-
-		return parents;
+		return CACHE_CONTAINED_PARENT.get( klass, key -> {
+			Set<Class<?>> parents = new LinkedHashSet<>();
+			findParents( key, parents );
+			return parents;
+		});
 
 	}
 
@@ -189,6 +189,42 @@ public class Classes {
 		}
 	}
 
+	/**
+	 * get instantiator of class.
+	 *
+	 * <pre>
+	 * it creates instance by the same rule of {@link #createInstance(Class)},
+	 * but constructor or objenesis instantiator is resolved only once.
+	 * </pre>
+	 *
+	 * @param klass	class to create instance
+	 * @param <T>	type of instance
+	 * @return instantiator
+	 */
+	public <T> Supplier<T> getInstantiator( Class<T> klass ) {
+		Supplier<T> fallback = () -> {
+			try {
+				return factory.getInstantiatorOf( klass ).newInstance();
+			} catch( Exception e ) {
+				throw new UncheckedClassCastException( e );
+			}
+		};
+		Constructor<T> constructor;
+		try {
+			constructor = klass.getConstructor();
+		} catch( NoSuchMethodException | SecurityException e ) {
+			return fallback;
+		}
+		if( ! Modifier.isPublic(klass.getModifiers()) || Modifier.isAbstract(klass.getModifiers()) ) return fallback;
+		return () -> {
+			try {
+				return constructor.newInstance();
+			} catch( Exception e ) {
+				return fallback.get();
+			}
+		};
+	}
+
 	public <T> T createInstance( Class<T> klass ) throws UncheckedClassCastException {
 		try {
 			return klass.newInstance();
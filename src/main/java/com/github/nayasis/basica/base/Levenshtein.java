@@ -0,0 +1,168 @@
+package com.github.nayasis.basica.base;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Levenshtein distance calculator
+ *
+ * <pre>
+ * - short text (up to 64 characters) is calculated by Myers' bit-parallel algorithm. ( O(n) )
+ * - long text is calculated by dynamic programming limited to diagonal band. ( O(n·k) )
+ *
+ * if max distance is given, calculation stops as soon as distance exceeds it.
+ *
+ * Levenshtein.distance( "kitten", "sitting" )    -&gt; 3
+ * Levenshtein.distance( "kitten", "sitting", 2 ) -&gt; -1
+ * </pre>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Levenshtein_distance">wikipedia</a>
+ */
+@UtilityClass
+public class Levenshtein {
+
+	private final int WORD = 64;
+
+	/**
+	 * get Levenshtein distance.
+	 *
+	 * @param source	text
+	 * @param target	another text
+	 * @return edit distance
+	 */
+	public int distance( CharSequence source, CharSequence target ) {
+		return distance( source, target, Integer.MAX_VALUE );
+	}
+
+	/**
+	 * get Levenshtein distance bounded by max distance.
+	 *
+	 * @param source	text
+	 * @param target	another text
+	 * @param max		max distance
+	 * @return edit distance, or -1 if distance is greater than max distance.
+	 */
+	public int distance( CharSequence source, CharSequence target, int max ) {
+
+		if( source == null ) source = "";
+		if( target == null ) target = "";
+		if( max < 0 ) return -1;
+
+		// make source shorter one
+		if( source.length() > target.length() ) {
+			CharSequence temp = source;
+			source = target; target = temp;
+		}
+
+		if( target.length() - source.length() > max ) return -1;
+		if( source.length() == 0 ) return target.length();
+
+		if( source.length() <= WORD ) {
+			return myers( source, target, max );
+		} else {
+			return banded( source, target, Math.min(max, target.length()) );
+		}
+
+	}
+
+	/**
+	 * Myers' bit-parallel algorithm (Hyyrö's variant for edit distance)
+	 */
+	private int myers( CharSequence pattern, CharSequence text, int max ) {
+
+		int  m     = pattern.length();
+		int  n     = text.length();
+		long last  = 1L << ( m - 1 );
+		long pv    = -1L;
+		long mv    = 0L;
+		int  score = m;
+
+		long[] ascii = new long[ 128 ];
+		for( int i = 0; i < m; i++ ) {
+			char c = pattern.charAt( i );
+			if( c < 128 ) ascii[ c ] |= 1L << i;
+		}
+
+		for( int j = 0; j < n; j++ ) {
+
+			char c  = text.charAt( j );
+			long eq = c < 128 ? ascii[ c ] : peq( pattern, c );
+
+			long xv = eq | mv;
+			long xh = ( ((eq & pv) + pv) ^ pv ) | eq;
+			long ph = mv | ~( xh | pv );
+			long mh = pv & xh;
+
+			if( (ph & last) != 0 ) {
+				score++;
+			} else if( (mh & last) != 0 ) {
+				score--;
+			}
+
+			// each remaining column can reduce distance by 1 at most.
+			if( score - (n - j - 1) > max ) return -1;
+
+			ph = ( ph << 1 ) | 1L;
+			mh = mh << 1;
+			pv = mh | ~( xv | ph );
+			mv = ph & xv;
+
+		}
+
+		return score > max ? -1 : score;
+
+	}
+
+	private long peq( CharSequence pattern, char c ) {
+		long eq = 0L;
+		for( int i = 0, m = pattern.length(); i < m; i++ ) {
+			if( pattern.charAt(i) == c ) eq |= 1L << i;
+		}
+		return eq;
+	}
+
+	/**
+	 * dynamic programming calculating only cells within max distance from diagonal (Ukkonen)
+	 */
+	private int banded( CharSequence source, CharSequence target, int max ) {
+
+		int n   = source.length();
+		int m   = target.length();
+		int big = max + 1;
+
+		int[] prev = new int[ n + 1 ];
+		int[] curr = new int[ n + 1 ];
+
+		for( int i = 0; i <= n; i++ )
+			prev[ i ] = i <= max ? i : big;
+
+		for( int j = 1; j <= m; j++ ) {
+
+			char c    = target.charAt( j - 1 );
+			int  from = Math.max( 1, j - max );
+			int  to   = (int) Math.min( n, (long) j + max );
+
+			curr[ 0 ] = j <= max ? j : big;
+			if( from > 1 ) curr[ from - 1 ] = big;
+
+			int min = from == 1 ? curr[ 0 ] : big;
+
+			for( int i = from; i <= to; i++ ) {
+				int cost  = source.charAt( i - 1 ) == c ? 0 : 1;
+				int value = Math.min( Math.min(curr[i - 1], prev[i]) + 1, prev[i - 1] + cost );
+				curr[ i ] = Math.min( value, big );
+				min = Math.min( min, curr[i] );
+			}
+
+			if( to < n ) curr[ to + 1 ] = big;
+			if( min > max ) return -1;
+
+			int[] temp = prev;
+			prev = curr; curr = temp;
+
+		}
+
+		return prev[ n ] > max ? -1 : prev[ n ];
+
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.github.nayasis.basica.base;
+
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled pattern of DBMS's LIKE
+ *
+ * <pre>
+ * "_" : single character
+ * "%" : any string
+ * "\_" : '_' character
+ * "\%" : '%' character
+ *
+ * pattern is split by '%' and each part is matched directly without regex. (no backtracking)
+ *
+ * LikePattern pattern = LikePattern.of( "%BCD_F%" );
+ * pattern.matches( "ABCDEFG" ) -&gt; true
+ * </pre>
+ */
+public class LikePattern {
+
+	private static final ConcurrentLruCache<String,LikePattern> CACHE = CacheRegistry.register( "LikePattern", new ConcurrentLruCache<>(512) );
+
+	/** character to match any single character */
+	private static final int ANY = -1;
+
+	private final String  pattern;
+	/** parts split by '%' (character or {@link #ANY}) */
+	private final int[][] parts;
+
+	/**
+	 * compile pattern.
+	 *
+	 * @param pattern	LIKE pattern
+	 */
+	public LikePattern( String pattern ) {
+
+		this.pattern = Strings.nvl( pattern );
+
+		List<int[]> parts = new ArrayList<>();
+		int[]       part  = new int[ this.pattern.length() ];
+		int         size  = 0;
+
+		for( int i = 0, last = this.pattern.length() - 1; i <= last; i++ ) {
+			char c = this.pattern.charAt( i );
+			switch( c ) {
+				case '\\' :
+					char next = i == last ? ' ' : this.pattern.charAt( i + 1 );
+					if( next == '_' || next == '%' ) {
+						part[ size++ ] = next; i++;
+					} else {
+						part[ size++ ] = c;
+					}
+					break;
+				case '_' :
+					part[ size++ ] = ANY;
+					break;
+				case '%' :
+					parts.add( Arrays.copyOf(part, size) );
+					size = 0;
+					break;
+				default :
+					part[ size++ ] = c;
+			}
+		}
+
+		parts.add( Arrays.copyOf(part, size) );
+
+		this.parts = parts.toArray( new int[0][] );
+
+	}
+
+	/**
+	 * get compiled pattern from cache.
+	 *
+	 * @param pattern	LIKE pattern
+	 * @return compiled pattern
+	 */
+	public static LikePattern of( String pattern ) {
+		return CACHE.get( Strings.nvl(pattern), LikePattern::new );
+	}
+
+	public String pattern() {
+		return pattern;
+	}
+
+	/**
+	 * check if value matches with pattern.
+	 *
+	 * @param value	value to check
+	 * @return true if matched
+	 */
+	public boolean matches( CharSequence value ) {
+
+		if( value == null ) value = "";
+
+		int length = value.length();
+		int last   = parts.length - 1;
+
+		if( last == 0 )
+			return length == parts[0].length && matchAt( value, 0, 0 );
+
+		int start = parts[ 0 ].length;
+		int end   = length - parts[ last ].length;
+
+		if( start > end || ! matchAt(value, 0, 0) || ! matchAt(value, end, last) ) return false;
+
+		// leftmost match of each middle part leaves most room for next parts.
+		for( int p = 1; p < last; p++ ) {
+			int found = find( value, start, end, p );
+			if( found < 0 ) return false;
+			start = found + parts[ p ].length;
+		}
+
+		return true;
+
+	}
+
+	private int find( CharSequence value, int from, int to, int part ) {
+		for( int i = from, limit = to - parts[part].length; i <= limit; i++ ) {
+			if( matchAt(value, i, part) ) return i;
+		}
+		return -1;
+	}
+
+	private boolean matchAt( CharSequence value, int offset, int part ) {
+		int[] chars = parts[ part ];
+		for( int i = 0; i < chars.length; i++ ) {
+			if( chars[i] != ANY && value.charAt(offset + i) != chars[i] ) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.github.nayasis.basica.base;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Replacer of several words in a single pass
+ *
+ * <pre>
+ * words are compiled into Aho-Corasick automaton once, and text is scanned only once regardless of word count.
+ * when several words are matched on same position, leftmost and then longest word is replaced.
+ * (replaced text is not scanned again)
+ *
+ * MultiReplacer replacer = new MultiReplacer( new HashMap&lt;String,String&gt;() {{
+ *     put( "&lt;",  "&amp;lt;" );
+ *     put( "&lt;&lt;", "&amp;laquo;" );
+ * }});
+ *
+ * replacer.replace( "a &lt;&lt; b &lt; c" ) -&gt; "a &amp;laquo; b &amp;lt; c"
+ *
+ * it is immutable and thread-safe.
+ * </pre>
+ */
+public class MultiReplacer {
+
+	private static final int ROOT  = 0;
+	private static final int ASCII = 128;
+
+	/** dense transition table is built only when state count is small. */
+	private static final int DENSE_LIMIT = 4096;
+
+	/** replacement of word ending at state (null if state is not end of word) */
+	private final String[]  replacements;
+	private final int[]     depth;
+	private final int[]     fail;
+	/** state of longest word which is suffix of state (-1 if none) */
+	private final int[]     output;
+	/** sparse transitions sorted by character */
+	private final char[][]  labels;
+	private final int[][]   children;
+	/** dense transitions of ASCII characters */
+	private final int[]     ascii;
+
+	/**
+	 * constructor
+	 *
+	 * @param replacements	map of word and replacement
+	 * @throws IllegalArgumentException if word is empty.
+	 */
+	public MultiReplacer( Map<String,String> replacements ) throws IllegalArgumentException {
+
+		List<TreeMap<Character,Integer>> trie   = new ArrayList<>();
+		List<String>                     values = new ArrayList<>();
+
+		trie.add( new TreeMap<>() );
+		values.add( null );
+
+		replacements.forEach( (word, replacement) -> {
+			if( word == null || word.isEmpty() )
+				throw new IllegalArgumentException( "word to replace must not be empty." );
+			int state = ROOT;
+			for( int i = 0; i < word.length(); i++ ) {
+				Integer child = trie.get( state ).get( word.charAt(i) );
+				if( child == null ) {
+					child = trie.size();
+					trie.get( state ).put( word.charAt(i), child );
+					trie.add( new TreeMap<>() );
+					values.add( null );
+				}
+				state = child;
+			}
+			values.set( state, replacement == null ? "" : replacement );
+		});
+
+		int size = trie.size();
+
+		this.replacements = values.toArray( new String[0] );
+		this.depth        = new int[ size ];
+		this.fail         = new int[ size ];
+		this.output       = new int[ size ];
+		this.labels       = new char[ size ][];
+		this.children     = new int[ size ][];
+		this.ascii        = size <= DENSE_LIMIT ? new int[ size * ASCII ] : null;
+
+		for( int state = 0; state < size; state++ ) {
+			TreeMap<Character,Integer> edges = trie.get( state );
+			labels[ state ]   = new char[ edges.size() ];
+			children[ state ] = new int[ edges.size() ];
+			int i = 0;
+			for( Map.Entry<Character,Integer> edge : edges.entrySet() ) {
+				labels[ state ][ i ]   = edge.getKey();
+				children[ state ][ i ] = edge.getValue();
+				i++;
+			}
+		}
+
+		// link failure transitions by breadth first order
+		Queue<Integer> queue = new ArrayDeque<>();
+		queue.add( ROOT );
+		output[ ROOT ] = -1;
+
+		while( ! queue.isEmpty() ) {
+			int state = queue.poll();
+			for( int i = 0; i < labels[state].length; i++ ) {
+				char c     = labels[ state ][ i ];
+				int  child = children[ state ][ i ];
+				depth[ child ]  = depth[ state ] + 1;
+				fail[ child ]   = state == ROOT ? ROOT : next( fail[state], c );
+				output[ child ] = this.replacements[ child ] != null ? child : output[ fail[child] ];
+				queue.add( child );
+			}
+			if( ascii != null ) {
+				for( char c = 0; c < ASCII; c++ ) {
+					int child = childOf( state, c );
+					ascii[ state * ASCII + c ] = child >= 0 ? child : ( state == ROOT ? ROOT : ascii[ fail[state] * ASCII + c ] );
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * replace words in text.
+	 *
+	 * @param text	text
+	 * @return replaced text (or text itself if nothing is replaced)
+	 */
+	public String replace( CharSequence text ) {
+
+		if( text == null ) return null;
+
+		StringBuilder sb     = null;
+		int           length = text.length();
+		int           cursor = 0;
+		int           i      = 0;
+
+		while( true ) {
+
+			int state = ROOT;
+			int start = -1, end = -1, matched = -1;
+
+			for( ; i < length; i++ ) {
+				state = next( state, text.charAt(i) );
+				// no longer word can start at or before matched position.
+				if( matched >= 0 && i + 1 - depth[state] > start ) break;
+				int word = output[ state ];
+				if( word >= 0 && (matched < 0 || i + 1 - depth[word] <= start) ) {
+					start   = i + 1 - depth[ word ];
+					end     = i + 1;
+					matched = word;
+				}
+			}
+
+			if( matched < 0 ) break;
+
+			if( sb == null ) sb = new StringBuilder( length + 16 );
+			sb.append( text, cursor, start ).append( replacements[matched] );
+			cursor = i = end;
+
+		}
+
+		if( sb == null ) return text.toString();
+		return sb.append( text, cursor, length ).toString();
+
+	}
+
+	private int next( int state, char c ) {
+		if( c < ASCII && ascii != null ) return ascii[ state * ASCII + c ];
+		while( true ) {
+			int child = childOf( state, c );
+			if( child >= 0 ) return child;
+			if( state == ROOT ) return ROOT;
+			state = fail[ state ];
+		}
+	}
+
+	private int childOf( int state, char c ) {
+		int i = Arrays.binarySearch( labels[state], c );
+		return i >= 0 ? children[ state ][ i ] : -1;
+	}
+
+}
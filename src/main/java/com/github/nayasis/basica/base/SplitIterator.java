@@ -0,0 +1,90 @@
+package com.github.nayasis.basica.base;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Iterator splitting text lazily by regular expression (same rule with {@link Strings#split(Object, String, boolean)})
+ */
+class SplitIterator implements Iterator<CharSlice> {
+
+	private final CharSequence source;
+	private final Matcher      matcher;
+	private final boolean      includeSeparator;
+	private final int          end;
+
+	private int       caret;
+	private boolean   finished;
+	private CharSlice next;
+	private CharSlice separator;
+
+	/**
+	 * constructor
+	 *
+	 * @param source			source text
+	 * @param start				start index of region to split (inclusive)
+	 * @param end				end index of region to split (exclusive)
+	 * @param separator			regular expression separator
+	 * @param includeSeparator	include separator in result
+	 */
+	SplitIterator( CharSequence source, int start, int end, Pattern separator, boolean includeSeparator ) {
+		this.source           = source;
+		this.matcher          = separator.matcher( source ).region( start, end );
+		this.includeSeparator = includeSeparator;
+		this.caret            = start;
+		this.end              = end;
+		advance();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	@Override
+	public CharSlice next() {
+		if( next == null ) throw new NoSuchElementException();
+		CharSlice current = next;
+		advance();
+		return current;
+	}
+
+	private void advance() {
+
+		next = null;
+
+		if( separator != null ) {
+			next      = separator;
+			separator = null;
+			return;
+		}
+
+		while( ! finished ) {
+			if( matcher.find() ) {
+				CharSlice token = caret != matcher.start() ? slice( caret, matcher.start() ).trim() : null;
+				separator = includeSeparator ? slice( matcher.start(), matcher.end() ) : null;
+				caret     = matcher.end();
+				if( token == null ) {
+					token     = separator;
+					separator = null;
+				}
+				if( token != null ) {
+					next = token;
+					return;
+				}
+			} else {
+				finished = true;
+				if( caret != end )
+					next = slice( caret, end ).trim();
+			}
+		}
+
+	}
+
+	private CharSlice slice( int start, int end ) {
+		return new CharSlice( source, start, end );
+	}
+
+}
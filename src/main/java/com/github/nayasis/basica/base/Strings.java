@@ -1,32 +1,38 @@
 package com.github.nayasis.basica.base;
 
 import com.github.nayasis.basica.base.format.Formatter;
+import com.github.nayasis.basica.compress.Codec;
+import com.github.nayasis.basica.compress.Compressor;
 import com.github.nayasis.basica.exception.Exceptions;
 import com.github.nayasis.basica.exception.unchecked.EncodingException;
 import com.github.nayasis.basica.exception.unchecked.UncheckedClassNotFoundException;
 import lombok.experimental.UtilityClass;
 
 import javax.xml.bind.DatatypeConverter;
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -37,9 +43,33 @@ import java.util.zip.GZIPOutputStream;
 @UtilityClass
 public class Strings {
 
-	private Pattern    PATTERN_CAMEL = Pattern.compile( "(_[a-zA-Z])" );
-	private Pattern    PATTERN_SNAKE = Pattern.compile( "([A-Z])" );
-	private Formatter  formatter     = new Formatter();
+	private Pattern    PATTERN_CAMEL   = Pattern.compile( "(_[a-zA-Z])" );
+	private Pattern    PATTERN_SNAKE   = Pattern.compile( "([A-Z])" );
+	private Pattern    PATTERN_UNICODE = Pattern.compile( "[u|U][0-9a-fA-F]{4}" );
+	private Formatter  formatter       = new Formatter();
+
+	private MultiReplacer REPLACER_ESCAPE = new MultiReplacer( new HashMap<String,String>() {{
+		for( char ch = '\u0000'; ch <= '\u001F'; ch++ )
+			put( String.valueOf(ch), String.format("\\u%04X", (int) ch) );
+		put( "\"", "\\\"" ); put( "\\", "\\\\" ); put( "/",  "\\/" );
+		put( "\b", "\\b"  ); put( "\f", "\\f"  ); put( "\n", "\\n" );
+		put( "\r", "\\r"  ); put( "\t", "\\t"  );
+	}});
+
+	private MultiReplacer REPLACER_UNESCAPE = new MultiReplacer( new HashMap<String,String>() {{
+		put( "\\b", "\b" ); put( "\\t", "\t" ); put( "\\n",  "\n"  ); put( "\\f",  "\f"  );
+		put( "\\r", "\r" ); put( "\\\"", "\"" ); put( "\\'", "'" ); put( "\\\\", "\\" );
+	}});
+
+	private MultiReplacer REPLACER_CLEAR_XSS = new MultiReplacer( new HashMap<String,String>() {{
+		put( "<", "&lt;"  ); put( ">", "&gt;"  ); put( "\"", "&#34;"  ); put( "'", "&#39;"  );
+		put( "(", "&#40;" ); put( ")", "&#41;" ); put( "{",  "&#123;" ); put( "}", "&#125;" );
+	}});
+
+	private MultiReplacer REPLACER_RESTORE_XSS = new MultiReplacer( new HashMap<String,String>() {{
+		put( "&lt;",  "<" ); put( "&gt;",  ">" ); put( "&#34;",  "\"" ); put( "&#39;",  "'" );
+		put( "&#40;", "(" ); put( "&#41;", ")" ); put( "&#123;", "{"  ); put( "&#125;", "}" );
+	}});
 
 	/**
 	 * get display length applying character's font width. <br>
@@ -48,24 +78,14 @@ public class Strings {
 	 * this method calculate total display length of string value.
 	 *
 	 * Full-Width of CJK characters can be set by {@link Characters#fullwidth(double)}.
+	 * surrogate pair is counted as one character, and zero-width character (ex. combining mark) is not counted.
 	 *
 	 * @param value value
 	 * @return total display length
 	 */
 	public int getDisplayLength( Object value ) {
-
 		if( value == null ) return 0;
-
-		String val = value.toString();
-		if( ! Characters.isFontWidthModified() ) return val.length();
-
-		double result = 0;
-		for( int i = 0, iCnt = val.length(); i < iCnt; i++ ) {
-			result += Characters.getFontWidth( val.charAt( i ) );
-		}
-
-		return (int) Math.round( result );
-
+		return (int) Math.round( Characters.getFontWidth(value.toString()) );
 	}
 
 	/**
@@ -77,7 +97,7 @@ public class Strings {
      * @return padding string value
 	 */
 	public String dplpad( Object value, int length, char padChar ) {
-		int adjustLength = ( Characters.fullwidth() == 1 || value == null )	? length
+		int adjustLength = value == null ? length
 				: value.toString().length() + ( length - getDisplayLength( value ) );
 		return lpad( value, adjustLength, padChar );
 	}
@@ -91,7 +111,7 @@ public class Strings {
 	 * @return padding string value
 	 */
 	public String dprpad( Object value, int length, char padChar ) {
-		int adjustLength = ( Characters.fullwidth() == 1 || value == null )	? length
+		int adjustLength = value == null ? length
 				: value.toString().length() + ( length - getDisplayLength( value ) );
 
 		return rpad( value, adjustLength, padChar );
@@ -399,36 +419,8 @@ public class Strings {
      * @return escaped string
      */
     public String escape( Object value ) {
-
     	if( isEmpty(value) ) return "";
-
-    	StringBuilder sb = new StringBuilder();
-
-        for( char ch : value.toString().toCharArray() ) {
-
-            switch( ch ) {
-
-                case '"':  sb.append("\\\""); break;
-                case '\\': sb.append("\\\\"); break;
-                case '\b': sb.append("\\b");  break;
-                case '\f': sb.append("\\f");  break;
-                case '\n': sb.append("\\n");  break;
-                case '\r': sb.append("\\r");  break;
-                case '\t': sb.append("\\t");  break;
-                case '/':  sb.append("\\/");  break;
-
-                default:
-                    if( ch >= '\u0000' && ch <= '\u001F' ) {
-                    	sb.append("\\u").append( lpad(Integer.toHexString(ch), 4, '0').toUpperCase() );
-                    } else {
-                    	sb.append(ch);
-                    }
-            }
-
-        }
-
-        return sb.toString();
-
+    	return REPLACER_ESCAPE.replace( value.toString() );
     }
 
     /**
@@ -451,30 +443,19 @@ public class Strings {
 
 		if( isEmpty(param) ) return "";
 
-        String  srcTxt  = param.toString();
-        Pattern pattern = Pattern.compile( "\\\\(b|t|n|f|r|\\\"|\\\'|\\\\)|([u|U][0-9a-fA-F]{4})" );
-        Matcher matcher = pattern.matcher( srcTxt );
-
-        StringBuffer sb = new StringBuffer( srcTxt.length() );
-
-        while( matcher.find() ) {
-
-        	String replacedChar = null;
-
-        	if( matcher.start(1) >= 0 ) {
-        		replacedChar = getUnescapedSequence( matcher.group(1) );
+		// escape sequence is replaced first. (replaced character never makes or breaks unicode pattern)
+		String  text    = REPLACER_UNESCAPE.replace( param.toString() );
+		Matcher matcher = PATTERN_UNICODE.matcher( text );
 
-        	} else if( matcher.start(2) >= 0 ) {
-        		replacedChar = getUnescapedUnicodeChar( matcher.group(2) );
-        	}
+		StringBuffer sb = new StringBuffer( text.length() );
 
-            matcher.appendReplacement( sb, Matcher.quoteReplacement(replacedChar) );
+		while( matcher.find() ) {
+			matcher.appendReplacement( sb, Matcher.quoteReplacement(getUnescapedUnicodeChar(matcher.group())) );
+		}
 
-        }
+		matcher.appendTail( sb );
 
-        matcher.appendTail( sb );
-
-        return sb.toString();
+		return sb.toString();
 
     }
 
@@ -488,17 +469,6 @@ public class Strings {
     	}
     }
 
-    private String getUnescapedSequence( String escapedString ) {
-    	switch( escapedString.charAt(0) ) {
-    		case 'b' : return "\b";
-    		case 't' : return "\t";
-    		case 'n' : return "\n";
-    		case 'f' : return "\f";
-    		case 'r' : return "\r";
-    	}
-    	return escapedString;
-    }
-
     /**
      * Join collection's element to single string.
      *
@@ -635,6 +605,82 @@ public class Strings {
 
     }
 
+	/**
+	 * split text lazily around matches of the given regular expression.
+	 *
+	 * <pre>
+	 * tokens are same with {@link #split(Object, String, boolean)},
+	 * but they are views of original text and String is made only when {@link CharSlice#toString()} is called.
+	 *
+	 * long count = Strings.splitAsStream( hugeCsv, "," ).filter( token -&gt; token.startsWith("A") ).count();
+	 * </pre>
+	 *
+	 * @param value				text value
+	 * @param separator			regular expression separator
+	 * @param includeSeparator	include separator in result
+	 * @return stream of token
+	 */
+	public Stream<CharSlice> splitAsStream( Object value, String separator, boolean includeSeparator ) {
+
+		if( value == null ) return Stream.empty();
+
+		CharSequence source = value instanceof CharSequence ? (CharSequence) value : value.toString();
+		if( source.length() == 0 ) return Stream.empty();
+
+		CharSlice text = new CharSlice( source ).trim();
+		if( isEmpty(separator) ) return Stream.of( text );
+
+		return toStream( new SplitIterator(source, text.start(), text.end(), Pattern.compile(separator), includeSeparator) );
+
+	}
+
+	/**
+	 * split text lazily around matches of the given regular expression.
+	 *
+	 * @param value		text value
+	 * @param separator	regular expression separator
+	 * @return stream of token
+	 * @see #splitAsStream(Object, String, boolean)
+	 */
+	public Stream<CharSlice> splitAsStream( Object value, String separator ) {
+		return splitAsStream( value, separator, false );
+	}
+
+	/**
+	 * tokenize text lazily by separator characters.
+	 *
+	 * <pre>
+	 * tokens are same with {@link #tokenize(Object, String, boolean)},
+	 * but they are views of original text and String is made only when {@link CharSlice#toString()} is called.
+	 * </pre>
+	 *
+	 * @param value				text value
+	 * @param separator			separator characters
+	 * @param includeSeparator	include separator in result
+	 * @return stream of token
+	 */
+	public Stream<CharSlice> tokenizeAsStream( Object value, String separator, boolean includeSeparator ) {
+		if( value == null ) return Stream.empty();
+		return toStream( new TokenIterator(value instanceof CharSequence ? (CharSequence) value : value.toString(), separator, includeSeparator) );
+	}
+
+	/**
+	 * tokenize text lazily by separator characters.
+	 *
+	 * @param value		text value
+	 * @param separator	separator characters
+	 * @return stream of token
+	 * @see #tokenizeAsStream(Object, String, boolean)
+	 */
+	public Stream<CharSlice> tokenizeAsStream( Object value, String separator ) {
+		return tokenizeAsStream( value, separator, false );
+	}
+
+
+	private Stream<CharSlice> toStream( Iterator<CharSlice> iterator ) {
+		return StreamSupport.stream( Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false );
+	}
+
     /**
      * change word's first character to upper case
      *
@@ -816,20 +862,22 @@ public class Strings {
 	 * zip text
 	 *
 	 * @param value text to zip
-	 * @return compressed text
+	 * @return compressed text (GZIP bytes as ISO-8859-1 string)
 	 */
 	public String zip( String value ) {
+		return zip( value, Charset.defaultCharset() );
+	}
+
+	/**
+	 * zip text
+	 *
+	 * @param value   text to zip
+	 * @param charset character set of text
+	 * @return compressed text (GZIP bytes as ISO-8859-1 string)
+	 */
+	public String zip( String value, Charset charset ) {
 		if( isEmpty(value) ) return "";
-        try(
-        	ByteArrayOutputStream out  = new ByteArrayOutputStream();
-        	GZIPOutputStream      gzip = new GZIPOutputStream( out )
-		) {
-        	gzip.write( value.getBytes() );
-        	gzip.close();
-        	return out.toString( StandardCharsets.ISO_8859_1.toString() );
-        } catch( IOException e ) {
-        	throw new UncheckedIOException( e );
-        }
+		return new String( compress(value, charset, Codec.GZIP), StandardCharsets.ISO_8859_1 );
 	}
 
 	/**
@@ -839,21 +887,45 @@ public class Strings {
 	 * @return decompressed text
 	 */
 	public String unzip( String value ) {
+		return unzip( value, Charset.defaultCharset() );
+	}
+
+	/**
+	 *  unzip text
+	 *
+	 * @param value   text to unzip
+	 * @param charset character set of text
+	 * @return decompressed text
+	 */
+	public String unzip( String value, Charset charset ) {
 		if( isEmpty(value) ) return "";
-        try(
-        	ByteArrayInputStream input        = new ByteArrayInputStream( value.getBytes( StandardCharsets.ISO_8859_1 ));
-        	GZIPInputStream      gzip         = new GZIPInputStream( input );
-        	BufferedReader       bufferReader = new BufferedReader( new InputStreamReader( gzip ) )
-		) {
-        	StringBuilder sb = new StringBuilder();
-        	String line;
-        	while( (line = bufferReader.readLine()) != null ) {
-        		sb.append( line );
-        	}
-        	return sb.toString();
-        } catch( IOException e ) {
-        	throw new UncheckedIOException( e );
-        }
+		return decompress( value.getBytes(StandardCharsets.ISO_8859_1), charset, Codec.GZIP );
+	}
+
+	/**
+	 * compress text
+	 *
+	 * @param value   text to compress
+	 * @param charset character set of text
+	 * @param codec   compression codec
+	 * @return compressed bytes
+	 */
+	public byte[] compress( String value, Charset charset, Codec codec ) {
+		if( value == null ) return null;
+		return Compressor.compress( value.getBytes(charset), codec );
+	}
+
+	/**
+	 * decompress text
+	 *
+	 * @param bytes   compressed bytes
+	 * @param charset character set of text
+	 * @param codec   compression codec
+	 * @return decompressed text
+	 */
+	public String decompress( byte[] bytes, Charset charset, Codec codec ) {
+		if( bytes == null ) return null;
+		return new String( Compressor.decompress(bytes, codec), charset );
 	}
 
 	/**
@@ -863,6 +935,8 @@ public class Strings {
 	 * {@link Strings#like}( "ABCDEFG", "%BCD%"   ) -&gt; true
 	 * {@link Strings#like}( "ABCDEFG", "%BCD_F%" ) -&gt; true
 	 * {@link Strings#like}( "AB_DEFG", "AB.DEFG" ) -&gt; false
+	 *
+	 * compiled pattern is cached. (see {@link LikePattern})
 	 * </pre>
 	 *
 	 * @param value   string to compare
@@ -870,50 +944,7 @@ public class Strings {
 	 * @return true if value matches with LIKE pattern.
 	 */
 	public boolean like( Object value, String pattern ) {
-
-		pattern = escapeRegexp( pattern );
-
-		StringBuilder newPattern = new StringBuilder();
-
-		for( int i = 0, iCnt = pattern.length() - 1; i <= iCnt; i++ ) {
-
-			char chCurr = pattern.charAt( i );
-
-			switch( chCurr ) {
-
-				case '\\' :
-
-					char ch2ndNext = ( i == iCnt ) ? ' ' : pattern.charAt( i + 1 );
-
-					if( ch2ndNext == '\\' ) {
-
-						char ch3rdNext = ( i == iCnt - 1 ) ? ' ' : pattern.charAt( i + 2 );
-
-						if( ch3rdNext == '_' || ch3rdNext == '%' ) {
-							newPattern.append( ch3rdNext );
-							i =+ 3;
-
-						} else {
-							newPattern.append( chCurr ).append( ch2ndNext );
-							i =+ 2;
-						}
-
-					} else {
-						newPattern.append( chCurr );
-					}
-
-					break;
-
-				case '_' : newPattern.append( '.'    ); break;
-				case '%' : newPattern.append( ".*?"  ); break;
-				default  : newPattern.append( chCurr );
-
-			}
-
-		}
-
-		return Pattern.compile( newPattern.toString(), Pattern.DOTALL ).matcher( nvl(value) ).matches();
-
+		return LikePattern.of( pattern ).matches( nvl(value) );
 	}
 
 	/**
@@ -1198,30 +1229,8 @@ public class Strings {
 	 * @return escaped string
 	 */
 	public String clearXss( Object value ) {
-
 		if( isEmpty(value) ) return "";
-
-		StringBuilder sb = new StringBuilder();
-
-		for( char ch : value.toString().toCharArray() ) {
-
-			switch( ch ) {
-				case '<' :  sb.append("&lt;");   break;
-				case '>' :  sb.append("&gt;");   break;
-				case '"' :  sb.append("&#34;");  break;
-				case '\'':  sb.append("&#39;");  break;
-				case '(' :  sb.append("&#40;");  break;
-				case ')' :  sb.append("&#41;");  break;
-				case '{' :  sb.append("&#123;"); break;
-				case '}' :  sb.append("&#125;"); break;
-				default:
-					sb.append( ch );
-			}
-
-		}
-
-		return sb.toString();
-
+		return REPLACER_CLEAR_XSS.replace( value.toString() );
 	}
 
 	/**
@@ -1231,52 +1240,40 @@ public class Strings {
 	 * @return unescaped string
 	 */
 	public String restoreXss( Object value ) {
-
 		if( isEmpty(value) ) return "";
+		return REPLACER_RESTORE_XSS.replace( value.toString() );
+	}
 
-		StringBuilder sb = new StringBuilder();
-
-		char[] chars = value.toString().toCharArray();
-
-		for( int i = 0, limit = chars.length - 1; i <= limit; i++ ) {
-
-			if( chars[i] != '&' ) {
-				sb.append( chars[i] );
-				continue;
-			}
-
-			String code = String.format( "&%c%c%c%c%c"
-				,chars[ Math.min(i + 1,limit) ]
-				,chars[ Math.min(i + 2,limit) ]
-				,chars[ Math.min(i + 3,limit) ]
-				,chars[ Math.min(i + 4,limit) ]
-				,chars[ Math.min(i + 5,limit) ]
-			);
-
-			if( code.startsWith( "&lt;" ) ) {
-				sb.append( '<' ); i+=3;
-			} else if ( code.startsWith( "&gt;" ) ) {
-				sb.append( '>' ); i+=3;
-			} else if ( code.startsWith( "&#34;" ) ) {
-				sb.append( '"' ); i+=4;
-			} else if ( code.startsWith( "&#39;" ) ) {
-				sb.append( '\'' ); i+=4;
-			} else if ( code.startsWith( "&#40;" ) ) {
-				sb.append( '(' ); i+=4;
-			} else if ( code.startsWith( "&#41;" ) ) {
-				sb.append( ')' ); i+=4;
-			} else if ( code.startsWith( "&#123;" ) ) {
-				sb.append( '{' ); i+=5;
-			} else if ( code.startsWith( "&#125;" ) ) {
-				sb.append( '}' ); i+=5;
-			} else {
-				sb.append( chars[i] );
-			}
-
-		}
-
-		return sb.toString();
+	/**
+	 * replace several words in a single pass.
+	 *
+	 * <pre>
+	 * Strings.replaceAll( "a=b", new HashMap&lt;String,String&gt;() {{
+	 *   put( "a", "b" );
+	 *   put( "b", "a" );
+	 * }});
+	 * -&gt; "b=a"
+	 *
+	 * to replace repeatedly with same words, use {@link #replacer(Map)} to compile words only once.
+	 * </pre>
+	 *
+	 * @param value			target value
+	 * @param replacements	map of word and replacement
+	 * @return replaced text
+	 */
+	public String replaceAll( Object value, Map<String,String> replacements ) {
+		if( isEmpty(value) ) return "";
+		return replacer( replacements ).replace( value.toString() );
+	}
 
+	/**
+	 * get replacer compiling words to replace.
+	 *
+	 * @param replacements	map of word and replacement
+	 * @return replacer which can be reused. (thread-safe)
+	 */
+	public MultiReplacer replacer( Map<String,String> replacements ) {
+		return new MultiReplacer( replacements );
 	}
 
 	/**
@@ -1345,53 +1342,35 @@ public class Strings {
      */
 	public double similarity( String one, String another ) {
 
-		String longer = nvl(one), shorter = nvl(another);
-		if( longer.length() < shorter.length() ) {
-			String temp = longer;
-			longer = shorter; shorter = temp;
-		}
-		int longerLength = longer.length();
+		int longerLength = Math.max( nvl(one).length(), nvl(another).length() );
 		if (longerLength == 0) return 1.0;
 
-		return (longerLength - getLavenshteinDistance(longer, shorter)) / (double) longerLength;
+		return (longerLength - Levenshtein.distance(toLowerCase(one), toLowerCase(another))) / (double) longerLength;
 
 	}
 
 	/**
-	 * get Levenshtein distance
+	 * check if similarity is equal or greater than threshold.
 	 *
-	 * @param source
-	 * @param target
-     * @return cost
-	 * @see <a href="http://rosettacode.org/wiki/Levenshtein_distance#Java">rosettacode</a>
-	 * @see <a href="https://en.wikipedia.org/wiki/Levenshtein_distance">wikipedia</a>
-     */
-	private int getLavenshteinDistance( String source, String target ) {
-
-		source = toLowerCase( source );
-		target = toLowerCase( target );
-
-		int[] costs = new int[ target.length() + 1 ];
-
-		for (int i = 0; i <= source.length(); i++) {
-			int lastValue = i;
-			for (int j = 0; j <= target.length(); j++) {
-				if (i == 0) {
-					costs[j] = j;
-				} else {
-					if (j > 0) {
-						int newValue = costs[j-1];
-						if (source.charAt(i - 1) != target.charAt(j - 1))
-							newValue = Math.min( Math.min(newValue, lastValue), costs[j]) + 1;
-						costs[j-1] = lastValue;
-						lastValue = newValue;
-					}
-				}
-			}
-			if ( i > 0 )
-				costs[target.length()] = lastValue;
-		}
-		return costs[target.length()];
+	 * <pre>
+	 * it stops calculation as soon as similarity falls below threshold.
+	 * so it is much faster than {@link #similarity(String, String)} on dissimilar strings.
+	 * </pre>
+	 *
+	 * @param one		string
+	 * @param another	another string
+	 * @param threshold	minimum similarity between 0 and 1
+	 * @return true if similarity is equal or greater than threshold.
+	 */
+	public boolean isSimilar( String one, String another, double threshold ) {
+
+		int longerLength = Math.max( nvl(one).length(), nvl(another).length() );
+		if (longerLength == 0) return threshold <= 1.0;
+
+		int maxDistance = (int) Math.floor( longerLength * (1 - threshold) + 1e-9 );
+
+		return Levenshtein.distance( toLowerCase(one), toLowerCase(another), maxDistance ) >= 0;
+
 	}
 
 	/**
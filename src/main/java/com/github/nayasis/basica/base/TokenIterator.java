@@ -0,0 +1,74 @@
+package com.github.nayasis.basica.base;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator tokenizing text lazily by delimiter characters (same rule with {@link java.util.StringTokenizer})
+ */
+class TokenIterator implements Iterator<CharSlice> {
+
+	private final CharSequence source;
+	private final String       delimiters;
+	/** lookup table of ASCII delimiter */
+	private final boolean[]    ascii = new boolean[ 128 ];
+	private final boolean      includeSeparator;
+	private final int          end;
+
+	private int position;
+
+	/**
+	 * constructor
+	 *
+	 * @param source			source text
+	 * @param delimiters		delimiter characters
+	 * @param includeSeparator	include delimiter in result
+	 */
+	TokenIterator( CharSequence source, String delimiters, boolean includeSeparator ) {
+		this.source           = source;
+		this.delimiters       = Strings.nvl( delimiters );
+		this.includeSeparator = includeSeparator;
+		this.end              = source.length();
+		for( int i = 0; i < this.delimiters.length(); i++ ) {
+			char c = this.delimiters.charAt( i );
+			if( c < 128 ) ascii[ c ] = true;
+		}
+		skipDelimiters();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return position < end;
+	}
+
+	@Override
+	public CharSlice next() {
+
+		if( position >= end ) throw new NoSuchElementException();
+
+		int start = position;
+
+		if( isDelimiter(source.charAt(position)) ) {
+			position++;
+		} else {
+			while( position < end && ! isDelimiter(source.charAt(position)) )
+				position++;
+		}
+
+		CharSlice token = new CharSlice( source, start, position );
+		skipDelimiters();
+		return token;
+
+	}
+
+	private void skipDelimiters() {
+		if( includeSeparator ) return;
+		while( position < end && isDelimiter(source.charAt(position)) )
+			position++;
+	}
+
+	private boolean isDelimiter( char c ) {
+		return c < 128 ? ascii[ c ] : delimiters.indexOf( c ) >= 0;
+	}
+
+}
@@ -14,6 +14,18 @@ public class ExtractPattern {
     private Character     escapeChar;
     private Replacer replacer;
 
+    /**
+     * prefix of placeholder scanned by hand-written scanner instead of regex.
+     *
+     * <pre>
+     * "" is for {}, "#" is for #{}, "$" is for ${}. (null to use regex)
+     *
+     * scanner finds same placeholder as regex "\Q{prefix}\E\{([^\s\{\}]*?)\}",
+     * and compresses "{{" and "}}" in literal without running replacer.
+     * </pre>
+     */
+    private String        scanPrefix;
+
     public ExtractPattern( String pattern ) {
         pattern( pattern );
     }
@@ -27,4 +39,25 @@ public class ExtractPattern {
         return escapeChar != null && ! prefix.isEmpty() && prefix.charAt( prefix.length() - 1 ) == escapeChar;
     }
 
+    /**
+     * check if placeholder starting at given position is escaped.
+     *
+     * @param source    source text
+     * @param cursor    end position of previous placeholder
+     * @param start     start position of placeholder
+     * @return true if escaped
+     */
+    public boolean isEscapable( CharSequence source, int cursor, int start ) {
+        return escapeChar != null && start > cursor && source.charAt( start - 1 ) == escapeChar;
+    }
+
+    /**
+     * check if placeholder is scanned by hand-written scanner.
+     *
+     * @return true if {@link #scanPrefix} is set
+     */
+    public boolean isScannable() {
+        return scanPrefix != null;
+    }
+
 }
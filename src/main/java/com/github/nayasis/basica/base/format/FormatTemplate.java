@@ -0,0 +1,316 @@
+package com.github.nayasis.basica.base.format;
+
+import com.github.nayasis.basica.base.Characters;
+import com.github.nayasis.basica.base.Strings;
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Format string parsed into literal and placeholder segments.
+ *
+ * <pre>
+ * format string is parsed only once, and rendering is a single pass of StringBuilder.
+ *
+ * FormatTemplate template = FormatTemplate.of( Formatter.PATTERN_BASIC, "{}st, {:%3d}nd" );
+ * template.format( 1, 2 ) -&gt; "1st,   2nd"
+ * </pre>
+ */
+public class FormatTemplate {
+
+    private final String   source;
+    /** literals[i] is followed by keys[i], and last literal has no key. (bracket is compressed already) */
+    private final String[] literals;
+    private final Key[]    keys;
+
+    private FormatTemplate( String source, List<String> literals, List<Key> keys ) {
+        this.source   = source;
+        this.literals = literals.toArray( new String[0] );
+        this.keys     = keys.toArray( new Key[0] );
+    }
+
+    /**
+     * parse format string.
+     *
+     * @param pattern   parameter extracting pattern
+     * @param format    format string
+     * @return template
+     */
+    public static FormatTemplate of( ExtractPattern pattern, Object format ) {
+
+        String       source   = Strings.nvl( format );
+        List<String> literals = new ArrayList<>();
+        List<Key>    keys     = new ArrayList<>();
+
+        if( pattern.isScannable() ) {
+            scan( pattern, source, literals, keys );
+            return new FormatTemplate( source, literals, keys );
+        }
+
+        Matcher matcher = pattern.pattern().matcher( source );
+
+        int cursor = 0;
+        int index  = 0;
+
+        while( matcher.find() ) {
+            String prefix = source.substring( cursor, matcher.start() );
+            if( pattern.isEscapable(prefix) ) continue;
+            literals.add( pattern.replacer().replace(prefix) );
+            keys.add( new Key(matcher.group(1), index++) );
+            cursor = matcher.end();
+        }
+
+        literals.add( pattern.replacer().replace(source.substring(cursor)) );
+
+        return new FormatTemplate( source, literals, keys );
+
+    }
+
+    /**
+     * scan placeholders char by char without regex.
+     *
+     * <pre>
+     * it finds same placeholders as regex of pattern, and compresses "{{" and "}}" of literal inline.
+     * </pre>
+     */
+    private static void scan( ExtractPattern pattern, String source, List<String> literals, List<Key> keys ) {
+
+        String        prefix = pattern.scanPrefix();
+        int           length = source.length();
+        StringBuilder buffer = new StringBuilder();
+
+        int cursor = 0;
+        int index  = 0;
+        int start  = 0;
+
+        while( start < length ) {
+
+            int end = placeholderEnd( source, start, prefix );
+
+            if( end < 0 ) {
+                start++;
+            } else if( pattern.isEscapable(source, cursor, start) ) {
+                start = end;
+            } else {
+                literals.add( compress(source, cursor, start, buffer) );
+                keys.add( new Key(source.substring(start + prefix.length() + 1, end - 1), index++) );
+                cursor = start = end;
+            }
+
+        }
+
+        literals.add( compress(source, cursor, length, buffer) );
+
+    }
+
+    /**
+     * get end position (exclusive) of placeholder starting at given position.
+     *
+     * @return end position, or -1 if placeholder is not started at position.
+     */
+    private static int placeholderEnd( String source, int start, String prefix ) {
+        if( ! source.startsWith(prefix, start) ) return -1;
+        int i = start + prefix.length();
+        if( i >= source.length() || source.charAt(i) != '{' ) return -1;
+        for( i++; i < source.length(); i++ ) {
+            switch( source.charAt(i) ) {
+                case '}' :
+                    return i + 1;
+                case '{' : case ' ' : case '\t' : case '\n' : case '\u000B' : case '\f' : case '\r' :
+                    return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * get literal compressing "{{" to "{" and "}}" to "}".
+     */
+    private static String compress( String source, int start, int end, StringBuilder buffer ) {
+        buffer.setLength( 0 );
+        for( int i = start; i < end; i++ ) {
+            char c = source.charAt( i );
+            buffer.append( c );
+            if( (c == '{' || c == '}') && i + 1 < end && source.charAt(i + 1) == c ) i++;
+        }
+        return buffer.length() == end - start ? source.substring( start, end ) : buffer.toString();
+    }
+
+    /**
+     * get original format string.
+     *
+     * @return format string
+     */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * get placeholder count.
+     *
+     * @return placeholder count
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * bind parameter to placeholders.
+     *
+     * @param parameter             binding parameter
+     * @param binder                binder containing binding logic
+     * @param koreanModification    flag whether modify korean JOSA characters
+     * @param <T> This is the type parameter
+     * @return formatted string
+     */
+    public <T> String bind( T parameter, ParameterBinder<T> binder, boolean koreanModification ) {
+        if( keys.length == 0 ) return literals[ 0 ];
+        StringBuilder sb = new StringBuilder( source.length() + 16 * keys.length );
+        bind( sb, parameter, binder, koreanModification );
+        return sb.toString();
+    }
+
+    /**
+     * write formatted string binding parameter to placeholders.
+     *
+     * @param out                   output (Writer, StringBuilder, CharBuffer ...)
+     * @param parameter             binding parameter
+     * @param binder                binder containing binding logic
+     * @param koreanModification    flag whether modify korean JOSA characters
+     * @param <T> This is the type parameter
+     * @throws UncheckedIOException if I/O exception occurs.
+     */
+    public <T> void bind( Appendable out, T parameter, ParameterBinder<T> binder, boolean koreanModification ) throws UncheckedIOException {
+        try {
+            int skip = 0;
+            for( int i = 0; i < keys.length; i++ ) {
+                appendLiteral( out, i, skip );
+                String value = binder.bind( keys[i].name(), keys[i].format(), parameter );
+                out.append( value );
+                skip = koreanModification ? modifyKorean( value, literals[i + 1], out ) : 0;
+            }
+            appendLiteral( out, keys.length, skip );
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * bind parameters by the rule of {@link Formatter#format(Object, Object...)}
+     *
+     * <pre>
+     * unnamed placeholder is bound by its index.
+     * named placeholder is bound by key of map (or property of bean) when single parameter is given.
+     * nested path like {address.city} is resolved through map or bean.
+     * </pre>
+     *
+     * @param parameters    binding parameters
+     * @return formatted string
+     */
+    public String format( Object... parameters ) {
+        if( keys.length == 0 ) return literals[ 0 ];
+        StringBuilder sb = new StringBuilder( source.length() + 16 * keys.length );
+        formatTo( sb, parameters );
+        return sb.toString();
+    }
+
+    /**
+     * write formatted string by the rule of {@link Formatter#format(Object, Object...)}
+     *
+     * @param out           output (Writer, StringBuilder, CharBuffer ...)
+     * @param parameters    binding parameters
+     * @throws UncheckedIOException if I/O exception occurs.
+     */
+    public void formatTo( Appendable out, Object... parameters ) throws UncheckedIOException {
+        Object named = keys.length == 0 ? null : toNamedParam( parameters );
+        try {
+            int skip = 0;
+            for( int i = 0; i < keys.length; i++ ) {
+                appendLiteral( out, i, skip );
+                String value = toString( keys[i], parameters, named );
+                out.append( value );
+                skip = modifyKorean( value, literals[i + 1], out );
+            }
+            appendLiteral( out, keys.length, skip );
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private Object toNamedParam( Object[] parameters ) {
+        if( parameters.length != 1 ) return null;
+        return PropertyResolver.isResolvable( parameters[0] ) ? parameters[ 0 ] : null;
+    }
+
+    private String toString( Key key, Object[] parameters, Object named ) {
+
+        Object  val;
+        boolean exist;
+
+        if( key.index() >= 0 ) {
+            exist = key.index() < parameters.length;
+            val   = exist ? parameters[ key.index() ] : null;
+        } else {
+            val   = named == null ? PropertyResolver.NOT_FOUND : PropertyResolver.resolve( named, key.name() );
+            exist = val != PropertyResolver.NOT_FOUND;
+            if( ! exist ) val = null;
+        }
+
+        if( key.format().isEmpty() ) {
+            if( val == null ) {
+                return exist ? null : "";
+            } else {
+                return val.toString();
+            }
+        } else {
+            return String.format( key.format(), val );
+        }
+
+    }
+
+    /**
+     * append literal without creating substring.
+     */
+    private void appendLiteral( Appendable out, int index, int skip ) throws IOException {
+        String literal = literals[ index ];
+        if( skip == 0 ) {
+            out.append( literal );
+        } else if( out instanceof Writer ) {
+            // Writer.append(CharSequence,int,int) creates substring.
+            ( (Writer) out ).write( literal, skip, literal.length() - skip );
+        } else {
+            out.append( literal, skip, literal.length() );
+        }
+    }
+
+    /**
+     * append korean JOSA matched with value
+     *
+     * @return 1 if JOSA in next literal is replaced, 0 if not.
+     */
+    private int modifyKorean( String val, String next, Appendable buffer ) throws IOException {
+
+        if( Strings.isEmpty(val) || next.isEmpty() ) return 0;
+
+        boolean hasJongsong = Characters.hasHangulJongsung( val.charAt( val.length() - 1 ) );
+
+        if( hasJongsong ) {
+            switch ( next.charAt(0) ) {
+                case '은' : case '는' :
+                    buffer.append( '은' ); return 1;
+                case '이' : case '가' :
+                    buffer.append( '이' ); return 1;
+                case '을' : case '를' :
+                    buffer.append( '을' ); return 1;
+            }
+        }
+
+        return 0;
+
+    }
+
+}
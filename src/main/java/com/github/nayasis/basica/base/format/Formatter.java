@@ -1,28 +1,43 @@
 package com.github.nayasis.basica.base.format;
 
-import com.github.nayasis.basica.reflection.Reflector;
-import com.github.nayasis.basica.base.Characters;
+import com.github.nayasis.basica.base.MultiReplacer;
 import com.github.nayasis.basica.base.Strings;
-import com.github.nayasis.basica.base.Types;
 import com.github.nayasis.basica.base.format.function.Replacer;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+import lombok.EqualsAndHashCode;
 
+import java.io.IOException;
 import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * String formatter
  */
 public class Formatter {
 
-    private static final Replacer bracketCompressor = text -> text.replaceAll( "\\{\\{", "{" ).replaceAll( "\\}\\}", "}" );
+    private static final MultiReplacer brackets = new MultiReplacer( new HashMap<String,String>() {{
+        put( "{{", "{" ); put( "}}", "}" );
+    }});
 
-    public static final ExtractPattern PATTERN_BASIC  = new ExtractPattern( "\\{([^\\s\\{\\}]*?)\\}"    ).replacer(bracketCompressor).escapeChar('{');
-    public static final ExtractPattern PATTERN_SHARP  = new ExtractPattern( "#\\{([^\\s\\{\\}]*?)\\}"   ).replacer(bracketCompressor);
-    public static final ExtractPattern PATTERN_DOLLAR = new ExtractPattern( "\\$\\{([^\\s\\{\\}]*?)\\}" ).replacer(bracketCompressor);
+    private static final Replacer bracketCompressor = brackets::replace;
+
+    public static final ExtractPattern PATTERN_BASIC  = new ExtractPattern( "\\{([^\\s\\{\\}]*?)\\}"    ).replacer(bracketCompressor).escapeChar('{').scanPrefix("");
+    public static final ExtractPattern PATTERN_SHARP  = new ExtractPattern( "#\\{([^\\s\\{\\}]*?)\\}"   ).replacer(bracketCompressor).scanPrefix("#");
+    public static final ExtractPattern PATTERN_DOLLAR = new ExtractPattern( "\\$\\{([^\\s\\{\\}]*?)\\}" ).replacer(bracketCompressor).scanPrefix("$");
 
     protected static final String FORMAT_INDEX = "_{{%d}}";
 
+    /** max length of format string whose template is cached */
+    private static final int MAX_CACHED_FORMAT_LENGTH = 4096;
+
+    /** max count of cached templates */
+    private static final int TEMPLATE_CACHE_CAPACITY = 4096;
+
+    /** templates keyed by format string and snapshot of pattern settings (ExtractPattern is mutable) */
+    private static final ConcurrentLruCache<TemplateKey,FormatTemplate> TEMPLATES = CacheRegistry.register( "Formatter.template", new ConcurrentLruCache<>(TEMPLATE_CACHE_CAPACITY) );
+
     /**
      * return binding parameters in string formatted
      *
@@ -49,71 +64,39 @@ public class Formatter {
      * @return formatter string
      */
     public <T> String bindParam( ExtractPattern pattern, Object format, T parameter, ParameterBinder<T> binder, boolean koreanModification ) {
-
-        String source = Strings.nvl( format );
-
-        if( source.isEmpty() ) return source;
-
-        Matcher matcher = pattern.pattern().matcher( source );
-
-        StringBuilder sb = new StringBuilder();
-
-        int cursor = 0;
-        int index  = 0;
-
-        while( matcher.find() ) {
-
-            String prefix = source.substring( cursor, matcher.start() );
-
-            if( pattern.isEscapable(prefix) ) {
-                continue;
-            }
-
-            sb.append( pattern.replacer().replace(prefix) );
-
-            Key    key   = new Key( matcher.group(1), index );
-            String value = binder.bind( key.name(), key.format(), parameter );
-
-            sb.append( value );
-
-            index++;
-            cursor = matcher.end();
-
-            if( koreanModification ) {
-                if( modifyKorean(value, cursor, sb, source) ) {
-                    cursor++;
-                }
-            }
-
-        }
-
-        // add remains
-        sb.append( pattern.replacer().replace(source.substring(cursor)) );
-
-        return sb.toString();
-
+        return template( pattern, format ).bind( parameter, binder, koreanModification );
     }
 
-    private boolean modifyKorean( String val, int cursor, StringBuilder buffer, String source ) {
-
-        if( Strings.isEmpty(val) || cursor >= source.length() ) return false;
-
-        boolean hasJongsong = Characters.hasHangulJongsung( val.charAt( val.length() - 1 ) );
-
-        if( hasJongsong ) {
-            char josa = source.charAt( cursor );
-            switch ( josa ) {
-                case '은' : case '는' :
-                    buffer.append( hasJongsong ? '은' : '는' ); return true;
-                case '이' : case '가' :
-                    buffer.append( hasJongsong ? '이' : '가' ); return true;
-                case '을' : case '를' :
-                    buffer.append( hasJongsong ? '을' : '를' ); return true;
-            }
-        }
-
-        return false;
+    /**
+     * write binding parameters in string formatted
+     *
+     * @param out                   output (Writer, StringBuilder, CharBuffer ...)
+     * @param pattern               parameter extracting pattern
+     * @param format                format string
+     * @param parameter             binding parameter
+     * @param binder                binder containing binding logic
+     * @param koreanModification    flag whether modify korean JOSA characters
+     * @param <T> This is the type parameter
+     * @throws UncheckedIOException if I/O exception occurs.
+     */
+    public <T> void bindParam( Appendable out, ExtractPattern pattern, Object format, T parameter, ParameterBinder<T> binder, boolean koreanModification ) throws UncheckedIOException {
+        template( pattern, format ).bind( out, parameter, binder, koreanModification );
+    }
 
+    /**
+     * get template parsed from format string.
+     *
+     * templates are cached by format string. (format string longer than {@value #MAX_CACHED_FORMAT_LENGTH} is not cached)
+     *
+     * @param pattern   parameter extracting pattern
+     * @param format    format string
+     * @return template
+     */
+    public FormatTemplate template( ExtractPattern pattern, Object format ) {
+        String source = Strings.nvl( format );
+        if( source.length() > MAX_CACHED_FORMAT_LENGTH )
+            return FormatTemplate.of( pattern, source );
+        return TEMPLATES.get( new TemplateKey(pattern, source), key -> FormatTemplate.of(pattern, source) );
     }
 
     public String format( Object format, Object... parameter ) {
@@ -125,45 +108,65 @@ public class Formatter {
 
         if( parameter.length == 0 ) return Strings.nvl( format );
 
-        return bindParam( PATTERN_BASIC, format, toParam(parameter), (key, userFormat, param) -> {
-
-            Object  val   = param.get( key );
-            boolean exist = param.containsKey( key );
-
-            if( userFormat.isEmpty() ) {
-                if( val == null ) {
-                    return exist ? null : "";
-                } else {
-                    return val.toString();
-                }
-            } else {
-                return String.format( userFormat, val );
-            }
-
-        }, true );
+        return template( PATTERN_BASIC, format ).format( parameter );
 
     }
 
-    @SuppressWarnings("unchecked")
-    private Map toParam( Object ... parameters ) {
+    /**
+     * write formatted string.
+     *
+     * <pre>
+     * Files.write( "/report.txt", writer -&gt; {
+     *     for( Item item : items )
+     *         formatter.formatTo( writer, "{name} : {price}\n", item );
+     * });
+     * </pre>
+     *
+     * @param out       output (Writer, StringBuilder, CharBuffer ...)
+     * @param format    format string
+     * @param parameter binding parameter
+     * @throws UncheckedIOException if I/O exception occurs.
+     * @see #format(Object, Object...)
+     */
+    public void formatTo( Appendable out, Object format, Object... parameter ) throws UncheckedIOException {
 
-        Map params = new HashMap();
+        // when null parameter inputted
+        if( parameter == null ) {
+            parameter = new Object[] { null };
+        }
 
-        if( parameters.length == 1 ) {
-            if ( Types.isMap(parameters[0]) ) {
-                params.putAll( (Map) parameters[0] );
-            } else if ( ! Types.isImmutable(parameters[0]) ) {
-                try {
-                    params.putAll( Reflector.toMapFrom(parameters[0]) );
-                } catch ( Exception e ) {}
+        if( parameter.length == 0 ) {
+            try {
+                out.append( Strings.nvl(format) );
+            } catch( IOException e ) {
+                throw new UncheckedIOException( e );
             }
+            return;
         }
 
-        int index = 0;
-        for( Object param : parameters ) {
-            params.put( String.format(FORMAT_INDEX, index++), param );
+        template( PATTERN_BASIC, format ).formatTo( out, parameter );
+
+    }
+
+    @EqualsAndHashCode
+    private static class TemplateKey {
+
+        private final String    regex;
+        private final int       flags;
+        private final Character escapeChar;
+        private final Replacer  replacer;
+        private final String    scanPrefix;
+        private final String    format;
+
+        TemplateKey( ExtractPattern pattern, String format ) {
+            Pattern regex   = pattern.pattern();
+            this.regex      = regex.pattern();
+            this.flags      = regex.flags();
+            this.escapeChar = pattern.escapeChar();
+            this.replacer   = pattern.replacer();
+            this.scanPrefix = pattern.scanPrefix();
+            this.format     = format;
         }
-        return params;
 
     }
 
@@ -10,6 +10,8 @@ public class Key {
 
     private String name   = "";
     private String format = "";
+    /** index of parameter bound by position (-1 if key is named) */
+    private int    index  = -1;
 
     public Key( String info, int index ) {
 
@@ -22,7 +24,8 @@ public class Key {
         }
 
         if( Strings.isEmpty(name) ) {
-            name = String.format( Formatter.FORMAT_INDEX, index );
+            name       = String.format( Formatter.FORMAT_INDEX, index );
+            this.index = index;
         }
 
     }
@@ -0,0 +1,110 @@
+package com.github.nayasis.basica.base.format;
+
+import com.github.nayasis.basica.base.Types;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
+import com.github.nayasis.basica.reflection.core.ClassReflector;
+import com.github.nayasis.basica.reflection.core.FieldAccessor;
+import com.github.nayasis.basica.reflection.core.JacksonProperties;
+import lombok.experimental.UtilityClass;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolver of named placeholder value in map or bean.
+ *
+ * <pre>
+ * bean property is read by field accessor of {@link ClassReflector}, without converting bean to map.
+ * (field is named by {@link JacksonProperties}, same as {@link com.github.nayasis.basica.reflection.Reflector#toMapFrom(Object)})
+ *
+ * nested path is resolved step by step.
+ *
+ * resolve( user, "address.city" ) -&gt; user.address.city
+ * resolve( map,  "address.city" ) -&gt; map.get("address.city") if key exists, or map.get("address").city
+ * </pre>
+ */
+@UtilityClass
+class PropertyResolver {
+
+    /** value returned when property does not exist */
+    final Object NOT_FOUND = new Object();
+
+    private final ConcurrentLruCache<Class,Map<String,FieldAccessor>> CACHE_GETTER = CacheRegistry.register( "Formatter.property", new ConcurrentLruCache<>(256) );
+
+    /**
+     * check if parameter can be resolved by property name.
+     *
+     * @param parameter parameter
+     * @return true if parameter is map or bean
+     */
+    public boolean isResolvable( Object parameter ) {
+        return parameter instanceof Map || isBean( parameter );
+    }
+
+    /**
+     * get value of property path.
+     *
+     * @param parameter map or bean
+     * @param path      property path (ex. name, address.city)
+     * @return value of property, or {@link #NOT_FOUND} if property does not exist.
+     */
+    public Object resolve( Object parameter, String path ) {
+
+        Object current = parameter;
+        int    start   = 0;
+
+        while( true ) {
+
+            Object value = property( current, start == 0 ? path : path.substring(start) );
+            if( value != NOT_FOUND ) return value;
+
+            int dot = path.indexOf( '.', start );
+            if( dot < 0 ) return NOT_FOUND;
+
+            current = property( current, path.substring(start, dot) );
+            if( current == NOT_FOUND || current == null ) return NOT_FOUND;
+
+            start = dot + 1;
+
+        }
+
+    }
+
+    private Object property( Object parameter, String name ) {
+
+        if( parameter instanceof Map ) {
+            Map map = (Map) parameter;
+            Object value = map.get( name );
+            return value != null || map.containsKey( name ) ? value : NOT_FOUND;
+        }
+
+        if( ! isBean(parameter) ) return NOT_FOUND;
+
+        FieldAccessor getter = getters( parameter.getClass() ).get( name );
+        return getter == null ? NOT_FOUND : getter.get( parameter );
+
+    }
+
+    private boolean isBean( Object parameter ) {
+        if( parameter == null || Types.isImmutable(parameter) || Types.isArrayOrCollection(parameter) ) return false;
+        Class klass = parameter.getClass();
+        return ! klass.isEnum() && ! klass.getName().startsWith( "java." );
+    }
+
+    private Map<String,FieldAccessor> getters( Class klass ) {
+        return CACHE_GETTER.get( klass, key -> {
+            Map<String,FieldAccessor> getters = new HashMap<>();
+            for( FieldAccessor accessor : ClassReflector.getAccessors(key) ) {
+                String name = JacksonProperties.nameOf( accessor.field() );
+                if( name == null ) continue;
+                // field of child class hides field of parent class.
+                FieldAccessor hidden = getters.get( name );
+                if( hidden == null || hidden.field().getDeclaringClass().isAssignableFrom(accessor.field().getDeclaringClass()) )
+                    getters.put( name, accessor );
+            }
+            return getters;
+        });
+    }
+
+}
@@ -1,8 +1,13 @@
 package com.github.nayasis.basica.cache;
 
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * Interface that defines common cache operations.<br><br>
@@ -20,8 +25,80 @@ public interface Cache<K,V> {
 
 	void setCapacity( int capacity );
 
+	/**
+	 * bound cache by total weight of entries instead of entry count.
+	 *
+	 * <pre>
+	 * entry count is not limited until {@link #setCapacity(int)} is called again.
+	 * {@link Weighers#estimated()} can be used to bound cache by estimated heap bytes.
+	 * </pre>
+	 *
+	 * @param maximumWeight	maximum total weight
+	 * @param weigher		weight calculator of entry
+	 * @throws UnsupportedOperationException if implementation does not support weight bound
+	 */
+	default void setMaximumWeight( long maximumWeight, Weigher<? super K,? super V> weigher ) {
+		throw new UnsupportedOperationException( getClass().getSimpleName() + " does not support weight bound." );
+	}
+
+	/**
+	 * get total weight of entries.
+	 *
+	 * @return total weight if bounded by weight, otherwise entry count.
+	 */
+	default long weight() {
+		return size();
+	}
+
 	void setFlushCycle( int seconds );
 
+	/**
+	 * refresh entry asynchronously when it becomes older than refresh cycle.
+	 *
+	 * <pre>
+	 * entry older than refresh cycle is still returned by {@link #get(Object, Function)},
+	 * and reloaded in background by given executor with the same loader.
+	 * entry is removed only when it becomes older than flush cycle.
+	 * </pre>
+	 *
+	 * @param seconds	refresh cycle (Integer.MAX_VALUE to turn off)
+	 * @param executor	executor running reload
+	 * @throws UnsupportedOperationException if implementation does not support refresh
+	 */
+	default void setRefreshAfterWrite( int seconds, Executor executor ) {
+		throw new UnsupportedOperationException( getClass().getSimpleName() + " does not support refresh." );
+	}
+
+	/**
+	 * turn on/off recording statistics.
+	 *
+	 * statistics is reset whenever recording is turned on.
+	 *
+	 * @param enable	true to record
+	 * @throws UnsupportedOperationException if implementation does not support statistics
+	 */
+	default void setRecordStats( boolean enable ) {
+		throw new UnsupportedOperationException( getClass().getSimpleName() + " does not support statistics." );
+	}
+
+	/**
+	 * check if statistics is being recorded.
+	 *
+	 * @return true if recording
+	 */
+	default boolean isRecordStats() {
+		return false;
+	}
+
+	/**
+	 * get snapshot of statistics.
+	 *
+	 * @return statistics ({@link CacheStats#EMPTY} if not recording)
+	 */
+	default CacheStats stats() {
+		return CacheStats.EMPTY;
+	}
+
 	boolean contains( K key );
 
 	void put( K key, V value );
@@ -30,6 +107,67 @@ public interface Cache<K,V> {
 
 	V get( K key );
 
+	/**
+	 * get value, loading and caching it if absent.
+	 *
+	 * <pre>
+	 * thread-safe implementation runs only one load per key at a time,
+	 * and other callers for the same key wait for that load and reuse its result.
+	 * default implementation just checks and loads (no guarantee on concurrent access).
+	 * </pre>
+	 *
+	 * @param key		key
+	 * @param loader	function to load value for key
+	 * @return cached or loaded value
+	 */
+	default V get( K key, Function<? super K,? extends V> loader ) {
+		V value = get( key );
+		if( value != null || contains(key) ) return value;
+		value = loader.apply( key );
+		put( key, value );
+		return value;
+	}
+
+	/**
+	 * get values, loading and caching absent ones at once.
+	 *
+	 * <pre>
+	 * bulk loader receives only absent keys.
+	 * key not contained in the result of bulk loader is not cached and not returned.
+	 * </pre>
+	 *
+	 * @param keys			keys
+	 * @param bulkLoader	function to load values for absent keys
+	 * @return values by key (in iteration order of keys)
+	 */
+	default Map<K,V> getAll( Iterable<? extends K> keys, Function<Set<K>,Map<K,V>> bulkLoader ) {
+		Map<K,V> found   = new HashMap<>();
+		Set<K>   missing = new LinkedHashSet<>();
+		for( K key : keys ) {
+			V value = get( key );
+			if( value != null || contains(key) ) {
+				found.put( key, value );
+			} else {
+				missing.add( key );
+			}
+		}
+		if( ! missing.isEmpty() ) {
+			Map<K,V> loaded = bulkLoader.apply( missing );
+			for( K key : missing ) {
+				if( ! loaded.containsKey(key) ) continue;
+				V value = loaded.get( key );
+				put( key, value );
+				found.put( key, value );
+			}
+		}
+		Map<K,V> result = new LinkedHashMap<>();
+		for( K key : keys ) {
+			if( found.containsKey(key) )
+				result.put( key, found.get(key) );
+		}
+		return result;
+	}
+
 	void clear( K key );
 
 	void clear();
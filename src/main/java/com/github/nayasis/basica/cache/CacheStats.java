@@ -0,0 +1,76 @@
+package com.github.nayasis.basica.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Snapshot of cache statistics
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CacheStats {
+
+	/** statistics of cache not recording */
+	public static final CacheStats EMPTY = new CacheStats( 0, 0, 0, 0, 0, new EnumMap<>(EvictionCause.class), 0, 0 );
+
+	private final long                    hitCount;
+	private final long                    missCount;
+	private final long                    loadSuccessCount;
+	private final long                    loadFailureCount;
+	/** total load time in nanoseconds */
+	private final long                    totalLoadTime;
+	private final Map<EvictionCause,Long> evictionCounts;
+	private final int                     size;
+	private final long                    weight;
+
+	public long getRequestCount() {
+		return hitCount + missCount;
+	}
+
+	public double getHitRate() {
+		long requests = getRequestCount();
+		return requests == 0 ? 1. : (double) hitCount / requests;
+	}
+
+	public double getMissRate() {
+		long requests = getRequestCount();
+		return requests == 0 ? 0. : (double) missCount / requests;
+	}
+
+	public long getLoadCount() {
+		return loadSuccessCount + loadFailureCount;
+	}
+
+	/**
+	 * get average time spent loading new value.
+	 *
+	 * @return average load time in nanoseconds
+	 */
+	public double getAverageLoadPenalty() {
+		long loads = getLoadCount();
+		return loads == 0 ? 0. : (double) totalLoadTime / loads;
+	}
+
+	public long getEvictionCount() {
+		long count = 0;
+		for( Long value : evictionCounts.values() )
+			count += value;
+		return count;
+	}
+
+	public long getEvictionCount( EvictionCause cause ) {
+		Long count = evictionCounts.get( cause );
+		return count == null ? 0 : count;
+	}
+
+	public Map<EvictionCause,Long> getEvictionCounts() {
+		return Collections.unmodifiableMap( evictionCounts );
+	}
+
+}
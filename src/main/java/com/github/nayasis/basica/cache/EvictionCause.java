@@ -0,0 +1,17 @@
+package com.github.nayasis.basica.cache;
+
+/**
+ * Cause of cache eviction
+ */
+public enum EvictionCause {
+
+	/** exceeds entry count capacity */
+	CAPACITY,
+
+	/** exceeds maximum weight */
+	WEIGHT,
+
+	/** flush cycle elapsed */
+	EXPIRED,
+
+}
@@ -0,0 +1,27 @@
+package com.github.nayasis.basica.cache;
+
+/**
+ * Codec converting cache value to bytes, used by caches storing values out of heap.
+ *
+ * @param <V> Value type parameter
+ * @see Serializers
+ */
+public interface Serializer<V> {
+
+	/**
+	 * serialize value.
+	 *
+	 * @param value	value (not null)
+	 * @return bytes
+	 */
+	byte[] serialize( V value );
+
+	/**
+	 * deserialize bytes.
+	 *
+	 * @param bytes	bytes made by {@link #serialize(Object)}
+	 * @return value
+	 */
+	V deserialize( byte[] bytes );
+
+}
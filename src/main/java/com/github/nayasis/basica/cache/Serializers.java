@@ -0,0 +1,89 @@
+package com.github.nayasis.basica.cache;
+
+import com.github.nayasis.basica.exception.unchecked.UncheckedClassNotFoundException;
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Built-in {@link Serializer} factory
+ */
+@UtilityClass
+public class Serializers {
+
+	private final Serializer<byte[]> BYTES = new Serializer<byte[]>() {
+		public byte[] serialize( byte[] value ) { return value; }
+		public byte[] deserialize( byte[] bytes ) { return bytes; }
+	};
+
+	private final Serializer<String> STRING = new Serializer<String>() {
+		public byte[] serialize( String value ) { return value.getBytes( StandardCharsets.UTF_8 ); }
+		public String deserialize( byte[] bytes ) { return new String( bytes, StandardCharsets.UTF_8 ); }
+	};
+
+	private final Serializer<Object> JAVA = new Serializer<Object>() {
+		public byte[] serialize( Object value ) { return toBytes( value ); }
+		public Object deserialize( byte[] bytes ) { return fromBytes( bytes ); }
+	};
+
+	/**
+	 * serializer passing bytes as it is.
+	 *
+	 * @return serializer
+	 */
+	public Serializer<byte[]> bytes() {
+		return BYTES;
+	}
+
+	/**
+	 * serializer encoding text as UTF-8.
+	 *
+	 * @return serializer
+	 */
+	public Serializer<String> string() {
+		return STRING;
+	}
+
+	/**
+	 * serializer using java serialization (same as {@link com.github.nayasis.basica.base.Strings#encode(Object)} without Base64).
+	 *
+	 * @param <V> Value type parameter (must be {@link java.io.Serializable})
+	 * @return serializer
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> Serializer<V> java() {
+		return (Serializer<V>) JAVA;
+	}
+
+	private byte[] toBytes( Object value ) throws UncheckedIOException {
+		try(
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ObjectOutputStream    oos = new ObjectOutputStream( bos )
+		) {
+			oos.writeObject( value );
+			oos.flush();
+			return bos.toByteArray();
+		} catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private Object fromBytes( byte[] bytes ) throws UncheckedIOException, UncheckedClassNotFoundException {
+		try(
+			ObjectInputStream ois = new ObjectInputStream( new ByteArrayInputStream(bytes) )
+		) {
+			return ois.readObject();
+		} catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		} catch( ClassNotFoundException e ) {
+			throw new UncheckedClassNotFoundException( e );
+		}
+	}
+
+}
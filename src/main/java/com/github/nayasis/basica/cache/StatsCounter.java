@@ -0,0 +1,81 @@
+package com.github.nayasis.basica.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free recorder of cache statistics.
+ *
+ * every counter is striped ({@link LongAdder}), so recording does not serialize concurrent readers.
+ */
+public class StatsCounter {
+
+	private final LongAdder   hitCount         = new LongAdder();
+	private final LongAdder   missCount        = new LongAdder();
+	private final LongAdder   loadSuccessCount = new LongAdder();
+	private final LongAdder   loadFailureCount = new LongAdder();
+	private final LongAdder   totalLoadTime    = new LongAdder();
+	private final LongAdder[] evictionCount    = new LongAdder[ EvictionCause.values().length ];
+
+	public StatsCounter() {
+		for( int i = 0; i < evictionCount.length; i++ )
+			evictionCount[ i ] = new LongAdder();
+	}
+
+	public void recordHit() {
+		hitCount.increment();
+	}
+
+	public void recordMiss() {
+		missCount.increment();
+	}
+
+	/**
+	 * record successful load.
+	 *
+	 * @param nanos elapsed time to load
+	 */
+	public void recordLoadSuccess( long nanos ) {
+		loadSuccessCount.increment();
+		totalLoadTime.add( nanos );
+	}
+
+	/**
+	 * record failed load.
+	 *
+	 * @param nanos elapsed time to fail
+	 */
+	public void recordLoadFailure( long nanos ) {
+		loadFailureCount.increment();
+		totalLoadTime.add( nanos );
+	}
+
+	public void recordEviction( EvictionCause cause ) {
+		evictionCount[ cause.ordinal() ].increment();
+	}
+
+	/**
+	 * get snapshot of statistics.
+	 *
+	 * @param size		current entry count
+	 * @param weight	current weight
+	 * @return snapshot
+	 */
+	public CacheStats snapshot( int size, long weight ) {
+		Map<EvictionCause,Long> evictions = new EnumMap<>( EvictionCause.class );
+		for( EvictionCause cause : EvictionCause.values() )
+			evictions.put( cause, evictionCount[cause.ordinal()].sum() );
+		return new CacheStats(
+			hitCount.sum(),
+			missCount.sum(),
+			loadSuccessCount.sum(),
+			loadFailureCount.sum(),
+			totalLoadTime.sum(),
+			evictions,
+			size,
+			weight
+		);
+	}
+
+}
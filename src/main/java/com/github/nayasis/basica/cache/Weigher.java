@@ -0,0 +1,26 @@
+package com.github.nayasis.basica.cache;
+
+import java.io.Serializable;
+
+/**
+ * Calculator of entry weight used to bound cache by total weight instead of entry count.
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ * @see Weighers
+ */
+@FunctionalInterface
+public interface Weigher<K,V> extends Serializable {
+
+	/**
+	 * get weight of entry.
+	 *
+	 * weight is calculated once when entry is put, so it must not change while entry is cached.
+	 *
+	 * @param key	key
+	 * @param value	value
+	 * @return weight (must not be negative)
+	 */
+	int weigh( K key, V value );
+
+}
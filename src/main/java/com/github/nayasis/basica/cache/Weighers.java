@@ -0,0 +1,152 @@
+package com.github.nayasis.basica.cache;
+
+import com.github.nayasis.basica.reflection.core.ClassReflector;
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Built-in {@link Weigher} factory
+ *
+ * <pre>
+ * estimation assumes 64bit JVM with compressed oops.
+ *   - object header : 12 byte
+ *   - reference     : 4 byte
+ *   - alignment     : 8 byte
+ * </pre>
+ */
+@UtilityClass
+public class Weighers {
+
+	private final int HEADER    = 12;
+	private final int ARRAY     = 16;
+	private final int REFERENCE = 4;
+	private final int MAX_DEPTH = 8;
+
+	/**
+	 * weigher counting every entry as 1.
+	 *
+	 * @param <K> Key type parameter
+	 * @param <V> Value type parameter
+	 * @return weigher
+	 */
+	public <K,V> Weigher<K,V> singleton() {
+		return (key, value) -> 1;
+	}
+
+	/**
+	 * weigher estimating heap bytes of key and value.
+	 *
+	 * @param <K> Key type parameter
+	 * @param <V> Value type parameter
+	 * @return weigher
+	 * @see #estimate(Object)
+	 */
+	public <K,V> Weigher<K,V> estimated() {
+		return (key, value) -> (int) Math.min( Integer.MAX_VALUE, estimate(key) + estimate(value) );
+	}
+
+	/**
+	 * estimate heap bytes retained by object.
+	 *
+	 * <pre>
+	 * String, array, Collection and Map are calculated by their contents.
+	 * other object is calculated by walking its fields. (up to 8 depth)
+	 * Class and enum constant are regarded as shared, so counted as 0.
+	 * object referenced more than once is counted only once.
+	 * </pre>
+	 *
+	 * @param object object to estimate
+	 * @return estimated bytes
+	 */
+	public long estimate( Object object ) {
+		return estimate( object, new IdentityHashMap<>(), 0 );
+	}
+
+	private long estimate( Object object, Map<Object,Boolean> visited, int depth ) {
+
+		if( object == null || visited.put(object, Boolean.TRUE) != null ) return 0;
+
+		Class<?> klass = object.getClass();
+
+		if( object instanceof String ) {
+			return align( HEADER + REFERENCE + 4 ) + align( ARRAY + 2L * ((String) object).length() );
+		} else if( object instanceof Class || klass.isEnum() ) {
+			// shared constant
+			return 0;
+		} else if( object instanceof Number || object instanceof Boolean || object instanceof Character ) {
+			return align( HEADER + 8 );
+		} else if( klass.isArray() ) {
+			Class<?> type   = klass.getComponentType();
+			int      length = Array.getLength( object );
+			if( type.isPrimitive() )
+				return align( ARRAY + (long) sizeOf(type) * length );
+			long size = align( ARRAY + (long) REFERENCE * length );
+			if( depth < MAX_DEPTH ) {
+				for( int i = 0; i < length; i++ )
+					size += estimate( Array.get(object, i), visited, depth + 1 );
+			}
+			return size;
+		} else if( object instanceof Collection ) {
+			Collection<?> collection = (Collection<?>) object;
+			// container itself + node (or slot) per element
+			long size = align( HEADER + 4 * REFERENCE ) + align( ARRAY + (long) REFERENCE * collection.size() ) + (long) (object instanceof Set ? 32 : 0) * collection.size();
+			if( depth < MAX_DEPTH ) {
+				for( Object element : collection )
+					size += estimate( element, visited, depth + 1 );
+			}
+			return size;
+		} else if( object instanceof Map ) {
+			Map<?,?> map  = (Map<?,?>) object;
+			long     size = align( HEADER + 6 * REFERENCE ) + align( ARRAY + (long) REFERENCE * map.size() ) + 32L * map.size();
+			if( depth < MAX_DEPTH ) {
+				for( Map.Entry<?,?> entry : map.entrySet() ) {
+					size += estimate( entry.getKey(),   visited, depth + 1 );
+					size += estimate( entry.getValue(), visited, depth + 1 );
+				}
+			}
+			return size;
+		}
+
+		// internal fields of JDK classes are not accessible.
+		boolean walk    = depth < MAX_DEPTH && ! klass.getName().startsWith( "java" );
+		long    shallow = HEADER;
+		long    deep    = 0;
+		for( Field field : ClassReflector.getFields(klass) ) {
+			if( Modifier.isStatic(field.getModifiers()) ) continue;
+			Class<?> type = field.getType();
+			if( type.isPrimitive() ) {
+				shallow += sizeOf( type );
+			} else {
+				shallow += REFERENCE;
+				if( walk ) {
+					try {
+						deep += estimate( ClassReflector.getValue(object, field), visited, depth + 1 );
+					} catch( Exception e ) {
+						// inaccessible field is counted as reference only.
+					}
+				}
+			}
+		}
+		return align( shallow ) + deep;
+
+	}
+
+	private int sizeOf( Class<?> primitive ) {
+		if( primitive == long.class || primitive == double.class ) return 8;
+		if( primitive == int.class  || primitive == float.class  ) return 4;
+		if( primitive == char.class || primitive == short.class  ) return 2;
+		return 1;
+	}
+
+	private long align( long size ) {
+		return ( size + 7 ) & ~7L;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.github.nayasis.basica.cache.implement;
+
+/**
+ * Thread-safe FIFO Cache
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ */
+public class ConcurrentFifoCache<K,V> extends ConcurrentLruCache<K,V> {
+
+	private static final long serialVersionUID = 4381208725386095153L;
+
+	public ConcurrentFifoCache( int capacity ) {
+		super( capacity, false );
+	}
+
+	public ConcurrentFifoCache() {
+		this( 128 );
+	}
+
+}
@@ -0,0 +1,963 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import com.github.nayasis.basica.cache.StatsCounter;
+import com.github.nayasis.basica.cache.Weigher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Thread-safe LRU Cache
+ *
+ * <pre>
+ * entries are spread over lock-striped segments.
+ * a hit never takes a lock : it is recorded in segment's read buffer,
+ * and LRU order is updated in batches when buffer is full or on next write.
+ *
+ * expired entries are swept from head of write-ordered queue on every write, size() and keySet(),
+ * and checked lazily on read.
+ * with refresh cycle, stale entry is reloaded in background before it expires.
+ *
+ * eviction works per segment, so LRU order is approximated across whole cache.
+ * (small cache under 32 entries uses single segment and keeps exact LRU order.)
+ * null key is not allowed.
+ * </pre>
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ */
+@Slf4j
+public class ConcurrentLruCache<K,V> implements Cache<K,V>, Serializable {
+
+	private static final long serialVersionUID = -3538453712823071428L;
+
+	private static final int MAX_SEGMENTS     = 16;
+	private static final int MIN_SEGMENT_SIZE = 16;
+	private static final int READ_BUFFER_SIZE = 16;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+	private final     boolean                       accessOrder;
+	private           int                           capacity;
+	private           int                           flushCycle    = Integer.MAX_VALUE;
+	private volatile  long                          flushNanos    = Long.MAX_VALUE;
+	private transient volatile long                 refreshNanos  = Long.MAX_VALUE;
+	private transient volatile Executor             refresher     = null;
+	private           Weigher<? super K,? super V>  weigher       = null;
+	private           long                          maximumWeight = Long.MAX_VALUE;
+	private transient volatile Segment<K,V>[]       segments;
+	private transient AtomicLong                    weight        = new AtomicLong();
+	private transient AtomicInteger                 evictCursor   = new AtomicInteger();
+	private transient volatile StatsCounter         stats         = null;
+
+	/** loads in flight */
+	private transient ConcurrentHashMap<K,CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+	public ConcurrentLruCache( int capacity ) {
+		this( capacity, true );
+	}
+
+	public ConcurrentLruCache() {
+		this( 128 );
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param capacity		max entry count
+	 * @param accessOrder	true for LRU order, false for insertion (FIFO) order.
+	 */
+	protected ConcurrentLruCache( int capacity, boolean accessOrder ) {
+		this.accessOrder = accessOrder;
+		setCapacity( capacity );
+	}
+
+	/**
+	 * get entry count.
+	 *
+	 * expired entries are swept before counting.
+	 *
+	 * @return entry count
+	 */
+	@Override
+	public int size() {
+		int size = 0;
+		for( Segment<K,V> segment : segments ) {
+			segment.sweep();
+			size += segment.map.size();
+		}
+		return size;
+	}
+
+	/**
+	 * set capacity.
+	 *
+	 * entries already cached are kept within new capacity.
+	 * weight bound set by {@link #setMaximumWeight(long, Weigher)} is turned off.
+	 *
+	 * @param capacity max entry count
+	 */
+	@Override
+	public synchronized void setCapacity( int capacity ) {
+		if( capacity <= 0 )
+			throw new IllegalArgumentException( "capacity must be positive. (capacity: " + capacity + ")" );
+		rebuild( capacity, null, Long.MAX_VALUE );
+	}
+
+	/**
+	 * bound cache by total weight of entries instead of entry count.
+	 *
+	 * <pre>
+	 * entries are evicted from segments in turn (LRU entry of each segment first)
+	 * until total weight is under maximum weight.
+	 * entry heavier than maximum weight is not retained.
+	 * </pre>
+	 *
+	 * @param maximumWeight	maximum total weight
+	 * @param weigher		weight calculator of entry
+	 */
+	@Override
+	public synchronized void setMaximumWeight( long maximumWeight, Weigher<? super K,? super V> weigher ) {
+		if( maximumWeight <= 0 )
+			throw new IllegalArgumentException( "maximum weight must be positive. (maximumWeight: " + maximumWeight + ")" );
+		if( weigher == null )
+			throw new IllegalArgumentException( "weigher must not be null." );
+		rebuild( capacity, weigher, maximumWeight );
+	}
+
+	@Override
+	public long weight() {
+		return weigher == null ? size() : weight.get();
+	}
+
+	/**
+	 * rebuild segments for new bound.
+	 *
+	 * <pre>
+	 * new segments are filled while every old segment is locked, and published at once.
+	 * old segments are retired, so writer holding old one retries on new one.
+	 * nodes keep LRU order of each old segment, and write order by write time.
+	 * </pre>
+	 */
+	@SuppressWarnings("unchecked")
+	private void rebuild( int capacity, Weigher<? super K,? super V> weigher, long maximumWeight ) {
+
+		int count = 1;
+		if( weigher != null ) {
+			count = MAX_SEGMENTS;
+		} else {
+			while( count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_SIZE <= capacity )
+				count <<= 1;
+		}
+
+		Segment<K,V>[] segments = new Segment[ count ];
+		for( int i = 0; i < count; i++ ) {
+			int limit = weigher != null ? Integer.MAX_VALUE : capacity / count + ( i < capacity % count ? 1 : 0 );
+			segments[ i ] = new Segment<>( this, limit );
+		}
+
+		Segment<K,V>[] prev = this.segments;
+
+		if( prev == null ) {
+			this.capacity      = capacity;
+			this.weigher       = weigher;
+			this.maximumWeight = maximumWeight;
+			this.segments      = segments;
+			return;
+		}
+
+		for( Segment<K,V> segment : prev )
+			segment.lock();
+
+		try {
+
+			List<Node<K,V>> nodes = new ArrayList<>();
+			for( Segment<K,V> segment : prev ) {
+				segment.drainReads();
+				for( Node<K,V> node = segment.head.next; node != segment.head; node = node.next )
+					nodes.add( node );
+			}
+
+			int[] weights = new int[ nodes.size() ];
+			long  total   = 0;
+			for( int i = 0; i < weights.length; i++ ) {
+				Node<K,V> node = nodes.get( i );
+				weights[ i ] = weigh( weigher, node.key, node.value );
+				total += weights[ i ];
+			}
+
+			for( int i = 0; i < weights.length; i++ ) {
+				Node<K,V> node = nodes.get( i );
+				node.weight = weights[ i ];
+				Segment<K,V> segment = segments[ spread(node.key) & (count - 1) ];
+				segment.map.put( node.key, node );
+				segment.linkLast( node );
+			}
+
+			nodes.sort( (a, b) -> Long.signum(a.writeTime - b.writeTime) );
+			for( Node<K,V> node : nodes )
+				segments[ spread(node.key) & (count - 1) ].linkLastWrite( node );
+
+			this.capacity      = capacity;
+			this.weigher       = weigher;
+			this.maximumWeight = maximumWeight;
+			this.weight.set( total );
+
+			for( Segment<K,V> segment : segments )
+				segment.evictOverCapacity();
+
+			this.segments = segments;
+
+			for( Segment<K,V> segment : prev )
+				segment.retired = true;
+
+		} finally {
+			for( Segment<K,V> segment : prev )
+				segment.unlock();
+		}
+
+		evictByWeight();
+
+	}
+
+	@Override
+	public void setFlushCycle( int seconds ) {
+		this.flushCycle = seconds;
+		this.flushNanos = seconds == Integer.MAX_VALUE ? Long.MAX_VALUE : seconds * 1_000_000_000L;
+	}
+
+	/**
+	 * refresh entry asynchronously when it becomes older than refresh cycle.
+	 *
+	 * <pre>
+	 * {@link #get(Object, Function)} returns stale value without waiting,
+	 * and reloads it by executor. (only one reload per key runs at a time)
+	 * if reload fails, stale value is kept until it is flushed, and reloaded again on next access.
+	 * refresh cycle should be shorter than flush cycle.
+	 * </pre>
+	 *
+	 * @param seconds	refresh cycle (Integer.MAX_VALUE to turn off)
+	 * @param executor	executor running reload
+	 */
+	@Override
+	public void setRefreshAfterWrite( int seconds, Executor executor ) {
+		if( seconds != Integer.MAX_VALUE && executor == null )
+			throw new IllegalArgumentException( "executor must not be null." );
+		this.refresher    = executor;
+		this.refreshNanos = seconds == Integer.MAX_VALUE ? Long.MAX_VALUE : seconds * 1_000_000_000L;
+	}
+
+	@Override
+	public boolean contains( K key ) {
+		Node<K,V> node = segmentFor( key ).map.get( key );
+		if( node == null ) return false;
+		if( isExpired(node) ) {
+			remove( key, node, EvictionCause.EXPIRED );
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void put( K key, V value ) {
+		write( key, value, false );
+	}
+
+	@Override
+	public void putIfAbsent( K key, V value ) {
+		Node<K,V> node = segmentFor( key ).map.get( key );
+		if( node != null && ! isExpired(node) ) return;
+		write( key, value, true );
+	}
+
+	private void write( K key, V value, boolean onlyIfAbsent ) {
+		int  weight    = weigh( key, value );
+		long writeTime = System.nanoTime();
+		// segment retired by rebuild rejects write, so retry on new one.
+		while( ! segmentFor(key).put(key, value, writeTime, onlyIfAbsent, weight) );
+		evictByWeight();
+	}
+
+	private void remove( K key, Node<K,V> node, EvictionCause cause ) {
+		while( ! segmentFor(key).remove(key, node, cause) );
+	}
+
+	@Override
+	public V get( K key ) {
+		Node<K,V> node = getNode( key );
+		recordAccess( node != null );
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 * get value, loading and caching it if absent.
+	 *
+	 * only one load per key runs at a time.
+	 * other callers for the same key wait for that load and reuse its result.
+	 *
+	 * @param key		key
+	 * @param loader	function to load value for key
+	 * @return cached or loaded value
+	 */
+	@Override
+	public V get( K key, Function<? super K,? extends V> loader ) {
+
+		Node<K,V> node = getNode( key );
+		recordAccess( node != null );
+		if( node != null ) {
+			if( isStale(node) )
+				refresh( node, loader );
+			return node.value;
+		}
+
+		CompletableFuture<V> flight   = new CompletableFuture<>();
+		CompletableFuture<V> inflight = loading.putIfAbsent( key, flight );
+		if( inflight != null )
+			return await( inflight );
+
+		try {
+			// load might be completed just before this flight started.
+			node = getNode( key );
+			V value = node != null ? node.value : load( key, loader );
+			flight.complete( value );
+			return value;
+		} catch( RuntimeException | Error e ) {
+			flight.completeExceptionally( e );
+			throw e;
+		} finally {
+			loading.remove( key, flight );
+		}
+
+	}
+
+	/**
+	 * get values, loading and caching absent ones at once.
+	 *
+	 * keys already being loaded by other callers are not passed to bulk loader,
+	 * but waited for and reused.
+	 *
+	 * @param keys			keys
+	 * @param bulkLoader	function to load values for absent keys
+	 * @return values by key (in iteration order of keys)
+	 */
+	@Override
+	public Map<K,V> getAll( Iterable<? extends K> keys, Function<Set<K>,Map<K,V>> bulkLoader ) {
+
+		Map<K,V>                    found   = new HashMap<>();
+		Map<K,CompletableFuture<V>> owned   = new LinkedHashMap<>();
+		Map<K,CompletableFuture<V>> waiting = new HashMap<>();
+
+		for( K key : keys ) {
+			if( found.containsKey(key) || owned.containsKey(key) || waiting.containsKey(key) ) continue;
+			Node<K,V> node = getNode( key );
+			recordAccess( node != null );
+			if( node != null ) {
+				found.put( key, node.value );
+				continue;
+			}
+			CompletableFuture<V> flight   = new CompletableFuture<>();
+			CompletableFuture<V> inflight = loading.putIfAbsent( key, flight );
+			if( inflight == null ) {
+				owned.put( key, flight );
+			} else {
+				waiting.put( key, inflight );
+			}
+		}
+
+		if( ! owned.isEmpty() ) {
+			long start = System.nanoTime();
+			try {
+				Map<K,V> loaded = bulkLoader.apply( new LinkedHashSet<>(owned.keySet()) );
+				recordLoad( true, start );
+				owned.forEach( (key, flight) -> {
+					if( loaded.containsKey(key) ) {
+						V value = loaded.get( key );
+						put( key, value );
+						found.put( key, value );
+						flight.complete( value );
+					} else {
+						flight.complete( null );
+					}
+				});
+			} catch( RuntimeException | Error e ) {
+				recordLoad( false, start );
+				owned.values().forEach( flight -> flight.completeExceptionally(e) );
+				throw e;
+			} finally {
+				owned.forEach( loading::remove );
+			}
+		}
+
+		for( Map.Entry<K,CompletableFuture<V>> e : waiting.entrySet() ) {
+			V value = await( e.getValue() );
+			if( value != null || contains(e.getKey()) )
+				found.put( e.getKey(), value );
+		}
+
+		Map<K,V> result = new LinkedHashMap<>();
+		for( K key : keys ) {
+			if( found.containsKey(key) )
+				result.put( key, found.get(key) );
+		}
+		return result;
+
+	}
+
+	private V load( K key, Function<? super K,? extends V> loader ) {
+		long start = System.nanoTime();
+		V    value;
+		try {
+			value = loader.apply( key );
+		} catch( RuntimeException | Error e ) {
+			recordLoad( false, start );
+			throw e;
+		}
+		recordLoad( true, start );
+		put( key, value );
+		return value;
+	}
+
+	/**
+	 * reload stale entry in background.
+	 *
+	 * it shares flight with {@link #get(Object, Function)}, so that missed caller waits for refresh instead of loading again.
+	 */
+	private void refresh( Node<K,V> node, Function<? super K,? extends V> loader ) {
+
+		K                    key     = node.key;
+		long                 written = node.writeTime;
+		CompletableFuture<V> flight  = new CompletableFuture<>();
+		if( loading.putIfAbsent(key, flight) != null ) return;
+
+		Runnable reload = () -> {
+			long start = System.nanoTime();
+			try {
+				V value = loader.apply( key );
+				recordLoad( true, start );
+				// skip if entry is replaced or removed while reloading
+				if( segmentFor(key).replace(key, node, written, value, System.nanoTime(), weigh(key, value)) )
+					evictByWeight();
+				flight.complete( value );
+			} catch( RuntimeException | Error e ) {
+				recordLoad( false, start );
+				log.warn( "fail to refresh cache entry. (key: {})", key, e );
+				flight.complete( node.value );
+			} finally {
+				loading.remove( key, flight );
+			}
+		};
+
+		try {
+			refresher.execute( reload );
+		} catch( RejectedExecutionException e ) {
+			loading.remove( key, flight );
+			flight.complete( node.value );
+		}
+
+	}
+
+	private boolean isStale( Node<K,V> node ) {
+		long cycle = refreshNanos;
+		return cycle != Long.MAX_VALUE && refresher != null && System.nanoTime() - node.writeTime >= cycle;
+	}
+
+	private V await( CompletableFuture<V> flight ) {
+		try {
+			return flight.join();
+		} catch( CompletionException e ) {
+			Throwable cause = e.getCause();
+			if( cause instanceof RuntimeException ) throw (RuntimeException) cause;
+			if( cause instanceof Error ) throw (Error) cause;
+			throw e;
+		}
+	}
+
+	private Node<K,V> getNode( K key ) {
+		Segment<K,V> segment = segmentFor( key );
+		Node<K,V>    node    = segment.map.get( key );
+		if( node == null ) return null;
+		if( isExpired(node) ) {
+			remove( key, node, EvictionCause.EXPIRED );
+			return null;
+		}
+		if( accessOrder )
+			segment.recordRead( node );
+		return node;
+	}
+
+	@Override
+	public void clear( K key ) {
+		Node<K,V> node = segmentFor( key ).map.get( key );
+		if( node != null )
+			remove( key, node, null );
+	}
+
+	@Override
+	public void clear() {
+		boolean cleared;
+		do {
+			cleared = true;
+			for( Segment<K,V> segment : segments )
+				cleared &= segment.clear();
+		} while( ! cleared );
+	}
+
+	/**
+	 * get snapshot of keys.
+	 *
+	 * @return keys cached at the moment
+	 */
+	@Override
+	public Set<K> keySet() {
+		Set<K> keys = new HashSet<>();
+		for( Segment<K,V> segment : segments ) {
+			segment.sweep();
+			keys.addAll( segment.map.keySet() );
+		}
+		return keys;
+	}
+
+	@Override
+	public void putAll( Map<K,V> map ) {
+		map.forEach( this::put );
+	}
+
+	@Override
+	public void putAll( Cache<K,V> cache ) {
+		cache.keySet().forEach( key -> {
+			put( key, cache.get(key) );
+		});
+	}
+
+	private Segment<K,V> segmentFor( K key ) {
+		Segment<K,V>[] segments = this.segments;
+		return segments[ spread(key) & (segments.length - 1) ];
+	}
+
+	private static int spread( Object key ) {
+		int h = key.hashCode();
+		h ^= ( h >>> 16 );
+		h ^= ( h >>> 7 );
+		return h;
+	}
+
+	/**
+	 * turn on/off recording statistics.
+	 *
+	 * recording uses striped counters, so it does not add lock to read path.
+	 *
+	 * @param enable	true to record
+	 */
+	@Override
+	public void setRecordStats( boolean enable ) {
+		this.stats = enable ? new StatsCounter() : null;
+	}
+
+	@Override
+	public boolean isRecordStats() {
+		return stats != null;
+	}
+
+	@Override
+	public CacheStats stats() {
+		StatsCounter stats = this.stats;
+		return stats == null ? CacheStats.EMPTY : stats.snapshot( size(), weight() );
+	}
+
+	private void recordAccess( boolean hit ) {
+		StatsCounter stats = this.stats;
+		if( stats == null ) return;
+		if( hit ) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+		}
+	}
+
+	private void recordLoad( boolean success, long start ) {
+		StatsCounter stats = this.stats;
+		if( stats == null ) return;
+		if( success ) {
+			stats.recordLoadSuccess( System.nanoTime() - start );
+		} else {
+			stats.recordLoadFailure( System.nanoTime() - start );
+		}
+	}
+
+	private void recordEviction( EvictionCause cause ) {
+		StatsCounter stats = this.stats;
+		if( stats != null )
+			stats.recordEviction( cause );
+	}
+
+	private int weigh( K key, V value ) {
+		return weigh( this.weigher, key, value );
+	}
+
+	private int weigh( Weigher<? super K,? super V> weigher, K key, V value ) {
+		if( weigher == null ) return 1;
+		int weight = weigher.weigh( key, value );
+		if( weight < 0 )
+			throw new IllegalStateException( "weight must not be negative. (key: " + key + ", weight: " + weight + ")" );
+		return weight;
+	}
+
+	/**
+	 * evict LRU entry of each segment in turn until total weight is under maximum weight.
+	 */
+	private void evictByWeight() {
+		if( weigher == null ) return;
+		Segment<K,V>[] segments = this.segments;
+		int cursor = evictCursor.getAndIncrement();
+		int empty  = 0;
+		while( weight.get() > maximumWeight && empty < segments.length ) {
+			Segment<K,V> segment = segments[ cursor++ & (segments.length - 1) ];
+			empty = segment.evictEldest() ? 0 : empty + 1;
+		}
+	}
+
+	private boolean isExpired( Node<K,V> node ) {
+		long cycle = flushNanos;
+		return cycle != Long.MAX_VALUE && System.nanoTime() - node.writeTime >= cycle;
+	}
+
+	private synchronized void writeObject( ObjectOutputStream out ) throws IOException {
+		out.defaultWriteObject();
+		Map<K,V> entries = new LinkedHashMap<>();
+		for( Segment<K,V> segment : segments ) {
+			segment.lock();
+			try {
+				for( Node<K,V> node = segment.head.next; node != segment.head; node = node.next )
+					entries.put( node.key, node.value );
+			} finally {
+				segment.unlock();
+			}
+		}
+		out.writeObject( entries );
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.loading     = new ConcurrentHashMap<>();
+		this.weight      = new AtomicLong();
+		this.evictCursor = new AtomicInteger();
+		rebuild( capacity, weigher, maximumWeight );
+		setFlushCycle( flushCycle );
+		// executor is not serialized, so refresh should be set again.
+		this.refreshNanos = Long.MAX_VALUE;
+		putAll( (Map<K,V>) in.readObject() );
+	}
+
+	private static final class Node<K,V> {
+
+		final    K         key;
+		volatile V         value;
+		volatile long      writeTime;
+		int                weight;
+
+		// guarded by segment lock
+		Node<K,V> prev;
+		Node<K,V> next;
+		Node<K,V> writePrev;
+		Node<K,V> writeNext;
+
+		Node( K key, V value, long writeTime ) {
+			this.key       = key;
+			this.value     = value;
+			this.writeTime = writeTime;
+		}
+
+	}
+
+	private static final class Segment<K,V> extends ReentrantLock {
+
+		private static final long serialVersionUID = 2215480421787380431L;
+
+		final ConcurrentHashMap<K,Node<K,V>>  map        = new ConcurrentHashMap<>();
+		final AtomicReferenceArray<Node<K,V>> readBuffer = new AtomicReferenceArray<>( READ_BUFFER_SIZE );
+		final AtomicLong                      readCount  = new AtomicLong();
+		final Node<K,V>                       head       = new Node<>( null, null, 0L );
+		final Node<K,V>                       writeHead  = new Node<>( null, null, 0L );
+		final ConcurrentLruCache<K,V>         cache;
+		final int                             capacity;
+
+		/** replaced by rebuild (guarded by lock) */
+		boolean retired = false;
+
+		Segment( ConcurrentLruCache<K,V> cache, int capacity ) {
+			this.cache    = cache;
+			this.capacity = capacity;
+			resetLinks();
+		}
+
+		void recordRead( Node<K,V> node ) {
+			long index = readCount.getAndIncrement();
+			readBuffer.lazySet( (int) (index & READ_BUFFER_MASK), node );
+			if( (index & READ_BUFFER_MASK) == READ_BUFFER_MASK && tryLock() ) {
+				try {
+					drainReads();
+				} finally {
+					unlock();
+				}
+			}
+		}
+
+		/** apply buffered reads to LRU order. (must be called under lock) */
+		void drainReads() {
+			if( retired ) return;
+			expire();
+			for( int i = 0; i < READ_BUFFER_SIZE; i++ ) {
+				Node<K,V> node = readBuffer.getAndSet( i, null );
+				if( node != null && node.prev != null ) {
+					unlink( node );
+					linkLast( node );
+				}
+			}
+		}
+
+		/**
+		 * remove expired entries from head of write-ordered queue. (must be called under lock)
+		 *
+		 * every entry lives for the same flush cycle, so expired entries are gathered at the head
+		 * and each of them is visited only once.
+		 */
+		void expire() {
+			long cycle = cache.flushNanos;
+			if( cycle == Long.MAX_VALUE ) return;
+			long now = System.nanoTime();
+			for( Node<K,V> node = writeHead.writeNext; node != writeHead && now - node.writeTime >= cycle; node = writeHead.writeNext ) {
+				map.remove( node.key, node );
+				unlinkAll( node );
+				cache.recordEviction( EvictionCause.EXPIRED );
+			}
+		}
+
+		/** remove expired entries if flush cycle is set. */
+		void sweep() {
+			if( cache.flushNanos == Long.MAX_VALUE ) return;
+			lock();
+			try {
+				if( ! retired ) expire();
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * evict LRU entry.
+		 *
+		 * @return false if segment is empty
+		 */
+		boolean evictEldest() {
+			lock();
+			try {
+				if( retired ) return false;
+				drainReads();
+				Node<K,V> eldest = head.next;
+				if( eldest == head ) return false;
+				map.remove( eldest.key, eldest );
+				unlinkAll( eldest );
+				cache.recordEviction( EvictionCause.WEIGHT );
+				return true;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * put value
+		 *
+		 * @return false if segment is retired
+		 */
+		boolean put( K key, V value, long writeTime, boolean onlyIfAbsent, int weight ) {
+			lock();
+			try {
+				if( retired ) return false;
+				drainReads();
+				Node<K,V> node = map.get( key );
+				if( node != null ) {
+					if( onlyIfAbsent && ! cache.isExpired(node) ) return true;
+					update( node, value, writeTime, weight );
+				} else {
+					node = new Node<>( key, value, writeTime );
+					node.weight = weight;
+					cache.weight.addAndGet( weight );
+					map.put( key, node );
+					linkLast( node );
+					linkLastWrite( node );
+					evictOverCapacity();
+				}
+				return true;
+			} finally {
+				unlock();
+			}
+		}
+
+		/** evict LRU entries over capacity. (must be called under lock or before segment is published) */
+		void evictOverCapacity() {
+			while( map.size() > capacity ) {
+				Node<K,V> eldest = head.next;
+				map.remove( eldest.key, eldest );
+				unlinkAll( eldest );
+				cache.recordEviction( EvictionCause.CAPACITY );
+			}
+		}
+
+		/**
+		 * replace value only if node is not replaced, removed or rewritten since it was read.
+		 *
+		 * @param key		key
+		 * @param node		node read before
+		 * @param written	write time of node when it was read
+		 * @param value		new value
+		 * @param writeTime	new write time
+		 * @param weight	weight of new value
+		 * @return true if replaced (false if segment is retired, leaving entry stale until next refresh)
+		 */
+		boolean replace( K key, Node<K,V> node, long written, V value, long writeTime, int weight ) {
+			lock();
+			try {
+				if( retired ) return false;
+				drainReads();
+				if( map.get(key) != node || node.writeTime != written ) return false;
+				update( node, value, writeTime, weight );
+				return true;
+			} finally {
+				unlock();
+			}
+		}
+
+		private void update( Node<K,V> node, V value, long writeTime, int weight ) {
+			cache.weight.addAndGet( weight - node.weight );
+			node.value     = value;
+			node.writeTime = writeTime;
+			node.weight    = weight;
+			unlinkWrite( node );
+			linkLastWrite( node );
+			if( cache.accessOrder ) {
+				unlink( node );
+				linkLast( node );
+			}
+		}
+
+		/**
+		 * remove node
+		 *
+		 * @param key	key
+		 * @param node	node to remove
+		 * @param cause	cause of eviction (null if removed explicitly)
+		 * @return false if segment is retired
+		 */
+		boolean remove( K key, Node<K,V> node, EvictionCause cause ) {
+			lock();
+			try {
+				if( retired ) return false;
+				if( map.remove(key, node) ) {
+					unlinkAll( node );
+					if( cause != null )
+						cache.recordEviction( cause );
+				}
+				return true;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * remove all nodes
+		 *
+		 * @return false if segment is retired
+		 */
+		boolean clear() {
+			lock();
+			try {
+				if( retired ) return false;
+				map.clear();
+				for( int i = 0; i < READ_BUFFER_SIZE; i++ )
+					readBuffer.set( i, null );
+				for( Node<K,V> node = head.next; node != head; ) {
+					Node<K,V> next = node.next;
+					cache.weight.addAndGet( -node.weight );
+					node.prev      = null;
+					node.next      = null;
+					node.writePrev = null;
+					node.writeNext = null;
+					node = next;
+				}
+				resetLinks();
+				return true;
+			} finally {
+				unlock();
+			}
+		}
+
+		private void resetLinks() {
+			head.prev           = head;
+			head.next           = head;
+			writeHead.writePrev = writeHead;
+			writeHead.writeNext = writeHead;
+		}
+
+		void linkLast( Node<K,V> node ) {
+			Node<K,V> last = head.prev;
+			node.prev = last;
+			node.next = head;
+			last.next = node;
+			head.prev = node;
+		}
+
+		private void unlink( Node<K,V> node ) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = null;
+			node.next = null;
+		}
+
+		void linkLastWrite( Node<K,V> node ) {
+			Node<K,V> last = writeHead.writePrev;
+			node.writePrev = last;
+			node.writeNext = writeHead;
+			last.writeNext = node;
+			writeHead.writePrev = node;
+		}
+
+		private void unlinkWrite( Node<K,V> node ) {
+			node.writePrev.writeNext = node.writeNext;
+			node.writeNext.writePrev = node.writePrev;
+			node.writePrev = null;
+			node.writeNext = null;
+		}
+
+		private void unlinkAll( Node<K,V> node ) {
+			unlink( node );
+			unlinkWrite( node );
+			cache.weight.addAndGet( -node.weight );
+		}
+
+	}
+
+}
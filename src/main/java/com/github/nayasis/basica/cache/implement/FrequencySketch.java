@@ -0,0 +1,108 @@
+package com.github.nayasis.basica.cache.implement;
+
+import java.io.Serializable;
+
+/**
+ * Count-Min sketch estimating access frequency of keys.
+ *
+ * <pre>
+ * each counter is 4 bit (max 15) and a key is counted by 4 counters in different rows.
+ * when sample count reaches 10 times of capacity, all counters are halved,
+ * so that frequency of old keys fades out.
+ * </pre>
+ */
+class FrequencySketch implements Serializable {
+
+	private static final long serialVersionUID = -5330472683735402405L;
+
+	private static final long[] SEED       = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	private static final long   RESET_MASK = 0x7777777777777777L;
+	private static final long   ONE_MASK   = 0x1111111111111111L;
+
+	private long[] table;
+	private int    tableMask;
+	private int    sampleSize;
+	private int    size;
+
+	FrequencySketch( int capacity ) {
+		int length = 1;
+		while( length < Math.max(capacity, 8) )
+			length <<= 1;
+		table      = new long[ length ];
+		tableMask  = length - 1;
+		sampleSize = (int) Math.min( 10L * Math.max(capacity, 1), Integer.MAX_VALUE );
+	}
+
+	/**
+	 * get estimated frequency of key.
+	 *
+	 * @param key key
+	 * @return estimated frequency (0 ~ 15)
+	 */
+	int frequency( Object key ) {
+		int hash  = spread( key.hashCode() );
+		int start = ( hash & 3 ) << 2;
+		int freq  = Integer.MAX_VALUE;
+		for( int i = 0; i < 4; i++ ) {
+			int index = indexOf( hash, i );
+			int count = (int) ( (table[index] >>> ((start + i) << 2)) & 0xfL );
+			freq = Math.min( freq, count );
+		}
+		return freq;
+	}
+
+	/**
+	 * increase frequency of key.
+	 *
+	 * @param key key
+	 */
+	void increment( Object key ) {
+		int     hash  = spread( key.hashCode() );
+		int     start = ( hash & 3 ) << 2;
+		boolean added = false;
+		for( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf(hash, i), start + i );
+		}
+		if( added && ++size == sampleSize )
+			reset();
+	}
+
+	void clear() {
+		for( int i = 0; i < table.length; i++ )
+			table[ i ] = 0L;
+		size = 0;
+	}
+
+	private boolean incrementAt( int index, int counter ) {
+		int  offset = counter << 2;
+		long mask   = 0xfL << offset;
+		if( (table[index] & mask) != mask ) {
+			table[ index ] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	/** halve all counters */
+	private void reset() {
+		int odd = 0;
+		for( int i = 0; i < table.length; i++ ) {
+			odd += Long.bitCount( table[i] & ONE_MASK );
+			table[ i ] = ( table[i] >>> 1 ) & RESET_MASK;
+		}
+		size = ( size >>> 1 ) - ( odd >>> 2 );
+	}
+
+	private int indexOf( int item, int i ) {
+		long hash = ( item + SEED[i] ) * SEED[ i ];
+		hash += hash >>> 32;
+		return (int) hash & tableMask;
+	}
+
+	private int spread( int x ) {
+		x = ( (x >>> 16) ^ x ) * 0x45d9f3b;
+		x = ( (x >>> 16) ^ x ) * 0x45d9f3b;
+		return ( x >>> 16 ) ^ x;
+	}
+
+}
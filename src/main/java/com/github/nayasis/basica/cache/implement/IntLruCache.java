@@ -0,0 +1,157 @@
+package com.github.nayasis.basica.cache.implement;
+
+import java.util.function.IntFunction;
+
+/**
+ * LRU Cache specialized for int key
+ *
+ * <pre>
+ * keys are not boxed and no node is allocated per entry. (see {@link PrimitiveLruCache})
+ * so {@link #get(int)} and {@link #put(int, Object)} of existing key allocate nothing.
+ *
+ * like {@link LruCache}, it is not thread-safe.
+ * </pre>
+ *
+ * @param <V> Value type parameter
+ */
+public class IntLruCache<V> extends PrimitiveLruCache<Integer,V> {
+
+	private static final long serialVersionUID = 2374093386104521127L;
+
+	private int[] keys;
+
+	public IntLruCache( int capacity ) {
+		setCapacity( capacity );
+	}
+
+	public IntLruCache() {
+		this( 128 );
+	}
+
+	public boolean contains( int key ) {
+		expire();
+		return indexOf( key ) != NIL;
+	}
+
+	public void put( int key, V value ) {
+		put( key, value, false );
+	}
+
+	public void putIfAbsent( int key, V value ) {
+		put( key, value, true );
+	}
+
+	public V get( int key ) {
+		expire();
+		return hit( indexOf(key) );
+	}
+
+	/**
+	 * get value, loading and caching it if absent.
+	 *
+	 * @param key		key
+	 * @param loader	function to load value for key
+	 * @return cached or loaded value
+	 */
+	public V get( int key, IntFunction<? extends V> loader ) {
+		expire();
+		int e = indexOf( key );
+		if( e != NIL ) return hit( e );
+		recordAccess( false );
+		long start = System.nanoTime();
+		V    value;
+		try {
+			value = loader.apply( key );
+		} catch( RuntimeException | Error t ) {
+			recordLoad( false, start );
+			throw t;
+		}
+		recordLoad( true, start );
+		put( key, value );
+		return value;
+	}
+
+	public void clear( int key ) {
+		int e = indexOf( key );
+		if( e != NIL )
+			remove( e );
+	}
+
+	@Override
+	public boolean contains( Integer key ) {
+		return contains( key.intValue() );
+	}
+
+	@Override
+	public void put( Integer key, V value ) {
+		put( key.intValue(), value );
+	}
+
+	@Override
+	public void putIfAbsent( Integer key, V value ) {
+		putIfAbsent( key.intValue(), value );
+	}
+
+	@Override
+	public V get( Integer key ) {
+		return get( key.intValue() );
+	}
+
+	@Override
+	public void clear( Integer key ) {
+		clear( key.intValue() );
+	}
+
+	private void put( int key, V value, boolean onlyIfAbsent ) {
+		long now = expire();
+		int  e   = indexOf( key );
+		if( e != NIL ) {
+			if( ! onlyIfAbsent )
+				update( e, value, now );
+			return;
+		}
+		e = allocate( value, now );
+		keys[ e ] = key;
+		index( e );
+	}
+
+	private int indexOf( int key ) {
+		int mask = table.length - 1;
+		for( int slot = hash(key) & mask; ; slot = (slot + 1) & mask ) {
+			int e = table[ slot ];
+			if( e == 0 ) return NIL;
+			if( keys[e - 1] == key ) return e - 1;
+		}
+	}
+
+	private int hash( int key ) {
+		int h = key * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	@Override
+	void newKeys( int capacity ) {
+		keys = new int[ capacity ];
+	}
+
+	@Override
+	Object keys() {
+		return keys;
+	}
+
+	@Override
+	void copyKey( Object keys, int from, int to ) {
+		this.keys[ to ] = ( (int[]) keys )[ from ];
+	}
+
+	@Override
+	int hashAt( int e ) {
+		return hash( keys[e] );
+	}
+
+	@Override
+	Integer keyAt( int e ) {
+		return keys[ e ];
+	}
+
+}
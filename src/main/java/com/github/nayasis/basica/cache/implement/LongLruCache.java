@@ -0,0 +1,157 @@
+package com.github.nayasis.basica.cache.implement;
+
+import java.util.function.LongFunction;
+
+/**
+ * LRU Cache specialized for long key
+ *
+ * <pre>
+ * keys are not boxed and no node is allocated per entry. (see {@link PrimitiveLruCache})
+ * so {@link #get(long)} and {@link #put(long, Object)} of existing key allocate nothing.
+ *
+ * like {@link LruCache}, it is not thread-safe.
+ * </pre>
+ *
+ * @param <V> Value type parameter
+ */
+public class LongLruCache<V> extends PrimitiveLruCache<Long,V> {
+
+	private static final long serialVersionUID = -8420631770930215384L;
+
+	private long[] keys;
+
+	public LongLruCache( int capacity ) {
+		setCapacity( capacity );
+	}
+
+	public LongLruCache() {
+		this( 128 );
+	}
+
+	public boolean contains( long key ) {
+		expire();
+		return indexOf( key ) != NIL;
+	}
+
+	public void put( long key, V value ) {
+		put( key, value, false );
+	}
+
+	public void putIfAbsent( long key, V value ) {
+		put( key, value, true );
+	}
+
+	public V get( long key ) {
+		expire();
+		return hit( indexOf(key) );
+	}
+
+	/**
+	 * get value, loading and caching it if absent.
+	 *
+	 * @param key		key
+	 * @param loader	function to load value for key
+	 * @return cached or loaded value
+	 */
+	public V get( long key, LongFunction<? extends V> loader ) {
+		expire();
+		int e = indexOf( key );
+		if( e != NIL ) return hit( e );
+		recordAccess( false );
+		long start = System.nanoTime();
+		V    value;
+		try {
+			value = loader.apply( key );
+		} catch( RuntimeException | Error t ) {
+			recordLoad( false, start );
+			throw t;
+		}
+		recordLoad( true, start );
+		put( key, value );
+		return value;
+	}
+
+	public void clear( long key ) {
+		int e = indexOf( key );
+		if( e != NIL )
+			remove( e );
+	}
+
+	@Override
+	public boolean contains( Long key ) {
+		return contains( key.longValue() );
+	}
+
+	@Override
+	public void put( Long key, V value ) {
+		put( key.longValue(), value );
+	}
+
+	@Override
+	public void putIfAbsent( Long key, V value ) {
+		putIfAbsent( key.longValue(), value );
+	}
+
+	@Override
+	public V get( Long key ) {
+		return get( key.longValue() );
+	}
+
+	@Override
+	public void clear( Long key ) {
+		clear( key.longValue() );
+	}
+
+	private void put( long key, V value, boolean onlyIfAbsent ) {
+		long now = expire();
+		int  e   = indexOf( key );
+		if( e != NIL ) {
+			if( ! onlyIfAbsent )
+				update( e, value, now );
+			return;
+		}
+		e = allocate( value, now );
+		keys[ e ] = key;
+		index( e );
+	}
+
+	private int indexOf( long key ) {
+		int mask = table.length - 1;
+		for( int slot = hash(key) & mask; ; slot = (slot + 1) & mask ) {
+			int e = table[ slot ];
+			if( e == 0 ) return NIL;
+			if( keys[e - 1] == key ) return e - 1;
+		}
+	}
+
+	private int hash( long key ) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) ( h ^ (h >>> 32) );
+	}
+
+	@Override
+	void newKeys( int capacity ) {
+		keys = new long[ capacity ];
+	}
+
+	@Override
+	Object keys() {
+		return keys;
+	}
+
+	@Override
+	void copyKey( Object keys, int from, int to ) {
+		this.keys[ to ] = ( (long[]) keys )[ from ];
+	}
+
+	@Override
+	int hashAt( int e ) {
+		return hash( keys[e] );
+	}
+
+	@Override
+	Long keyAt( int e ) {
+		return keys[ e ];
+	}
+
+}
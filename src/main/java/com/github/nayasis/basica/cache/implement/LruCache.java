@@ -1,26 +1,46 @@
 package com.github.nayasis.basica.cache.implement;
 
 import com.github.nayasis.basica.cache.Cache;
-import com.github.nayasis.basica.etc.StopWatch;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import com.github.nayasis.basica.cache.StatsCounter;
+import com.github.nayasis.basica.cache.Weigher;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Simple LRU Cache
  *
+ * <pre>
+ * when flush cycle is set, entries are linked in write order.
+ * because every entry lives for the same cycle, expired entries are always
+ * at the head of the queue, so each operation sweeps them in amortized O(1).
+ * </pre>
+ *
  * @param <K> Key type parameter
  * @param <V> Value type parameter
  */
 public class LruCache<K,V> implements Cache<K,V>, Serializable {
 
-	protected Map<K,V>         map            = null;
-	protected Map<K, StopWatch> creationTimes  = new HashMap<>();
-	private   int              flushCycle     = Integer.MAX_VALUE;
-	private   boolean          hasFlushCycle  = false;
+	protected Map<K,Node<K,V>>              map            = null;
+	private   int                           flushCycle     = Integer.MAX_VALUE;
+	private   long                          flushNanos     = Long.MAX_VALUE;
+	private   boolean                       hasFlushCycle  = false;
+	private   Weigher<? super K,? super V>  weigher        = null;
+	private   long                          maximumWeight  = Long.MAX_VALUE;
+	private   long                          weight         = 0;
+
+	/** sentinel of write-ordered queue */
+	private transient Node<K,V>    head  = newHead();
+	private transient StatsCounter stats = null;
 
 	public LruCache( int capacity ) {
 		setCapacity( capacity );
@@ -30,85 +50,182 @@ public class LruCache<K,V> implements Cache<K,V>, Serializable {
 		setCapacity( 128 );
 	}
 
+	/**
+	 * order of eviction.
+	 *
+	 * @return true if entries are evicted by access order, false if by insertion order.
+	 */
+	protected boolean accessOrder() {
+		return true;
+	}
+
 	@Override
 	public int size() {
+		expire();
 		return map.size();
 	}
 
 	@Override
 	public void setCapacity( int capacity ) {
-		map = new LinkedHashMap<K,V>( capacity, .75F, true ) {
+		if( map != null ) clear();
+		weigher       = null;
+		maximumWeight = Long.MAX_VALUE;
+		map = new LinkedHashMap<K,Node<K,V>>( capacity, .75F, accessOrder() ) {
 			private static final long serialVersionUID = 8870565267049463277L;
 			@Override
-			protected boolean removeEldestEntry( Map.Entry<K,V> eldest ) {
-				return size() > capacity;
+			protected boolean removeEldestEntry( Map.Entry<K,Node<K,V>> eldest ) {
+				if( weigher != null || size() <= capacity ) return false;
+				remove( eldest.getValue() );
+				recordEviction( EvictionCause.CAPACITY );
+				return true;
 			}
 		};
 	}
 
+	/**
+	 * bound cache by total weight of entries instead of entry count.
+	 *
+	 * entries already cached are kept within maximum weight.
+	 *
+	 * @param maximumWeight	maximum total weight
+	 * @param weigher		weight calculator of entry
+	 */
+	@Override
+	public void setMaximumWeight( long maximumWeight, Weigher<? super K,? super V> weigher ) {
+		if( maximumWeight <= 0 )
+			throw new IllegalArgumentException( "maximum weight must be positive. (maximumWeight: " + maximumWeight + ")" );
+		if( weigher == null )
+			throw new IllegalArgumentException( "weigher must not be null." );
+		this.weigher       = weigher;
+		this.maximumWeight = maximumWeight;
+		this.weight        = 0;
+		for( Node<K,V> node : map.values() ) {
+			node.weight = weigh( node.key, node.value );
+			weight += node.weight;
+		}
+		evictByWeight();
+	}
+
+	@Override
+	public long weight() {
+		return weigher == null ? size() : weight;
+	}
+
 	@Override
 	public void setFlushCycle( int seconds ) {
 		this.flushCycle    = seconds;
+		this.flushNanos    = seconds * 1_000_000_000L;
 		this.hasFlushCycle = seconds != Integer.MAX_VALUE;
+		// entries written before flush cycle is set, start their cycle from now.
+		long now = System.nanoTime();
+		for( Node<K,V> node = head.next; node != head; node = node.next )
+			node.writeTime = now;
 	}
 
 	@Override
 	public boolean contains( K key ) {
-		checkFlushTime( key );
+		expire();
 		return map.containsKey( key );
 	}
 
-	private void checkFlushTime( K key ) {
-		if( ! hasFlushCycle ) return;
-		if( getWatcher(key).elapsedSeconds() >= flushCycle )
-			clear( key );
+	@Override
+	public void put( K key, V value ) {
+		put( key, value, false );
 	}
 
 	@Override
-	public void put( K key, V value ) {
-		map.put( key, value );
-		resetAccessTime( key );
+	public void putIfAbsent( K key, V value ) {
+		put( key, value, true );
+	}
+
+	private void put( K key, V value, boolean onlyIfAbsent ) {
+
+		long now = expire();
+
+		Node<K,V> node = map.get( key );
+
+		if( node == null ) {
+			node = new Node<>( key, value );
+			map.put( key, node );
+		} else if( onlyIfAbsent ) {
+			return;
+		} else {
+			node.value = value;
+			unlink( node );
+		}
+
+		node.writeTime = now;
+		linkLast( node );
+
+		if( weigher != null ) {
+			weight -= node.weight;
+			node.weight = weigh( key, value );
+			weight += node.weight;
+			evictByWeight();
+		}
+
 	}
 
-	private StopWatch getWatcher( K key ) {
-		if( ! creationTimes.containsKey( key ) ) {
-			creationTimes.put( key, new StopWatch().start() );
+	@Override
+	public V get( K key ) {
+		expire();
+		Node<K,V> node = map.get( key );
+		recordAccess( node != null );
+		return node == null ? null : node.value;
+	}
+
+	@Override
+	public V get( K key, Function<? super K,? extends V> loader ) {
+		expire();
+		Node<K,V> node = map.get( key );
+		recordAccess( node != null );
+		if( node != null ) return node.value;
+		long start = System.nanoTime();
+		V    value;
+		try {
+			value = loader.apply( key );
+		} catch( RuntimeException | Error e ) {
+			recordLoad( false, start );
+			throw e;
 		}
-		return creationTimes.get( key );
+		recordLoad( true, start );
+		put( key, value );
+		return value;
 	}
 
-	private void resetAccessTime( K key ) {
-		if( ! hasFlushCycle ) return;
-		getWatcher( key ).reset();
+	@Override
+	public void setRecordStats( boolean enable ) {
+		this.stats = enable ? new StatsCounter() : null;
 	}
 
 	@Override
-	public void putIfAbsent( K key, V value ) {
-		map.putIfAbsent( key, value );
-		resetAccessTime( key );
+	public boolean isRecordStats() {
+		return stats != null;
 	}
 
 	@Override
-	public V get( K key ) {
-		checkFlushTime( key );
-		return map.get( key );
+	public CacheStats stats() {
+		return stats == null ? CacheStats.EMPTY : stats.snapshot( size(), weight() );
 	}
 
 	@Override
 	public void clear( K key )	{
-		map.remove( key );
-		creationTimes.remove( key );
+		Node<K,V> node = map.remove( key );
+		if( node != null )
+			remove( node );
 	}
 
 	@Override
 	public void clear() {
 		map.clear();
-		creationTimes.clear();
+		head   = newHead();
+		weight = 0;
 	}
 
 	@Override
 	public Set<K> keySet() {
-		return map.keySet();
+		expire();
+		return Collections.unmodifiableSet( map.keySet() );
 	}
 
 	@Override
@@ -125,4 +242,121 @@ public class LruCache<K,V> implements Cache<K,V>, Serializable {
 		});
 	}
 
-}
\ No newline at end of file
+	/**
+	 * remove expired entries from head of write-ordered queue.
+	 *
+	 * @return current time in nanoseconds (0 if flush cycle is not set)
+	 */
+	private long expire() {
+		if( ! hasFlushCycle ) return 0L;
+		long now = System.nanoTime();
+		for( Node<K,V> node = head.next; node != head && now - node.writeTime >= flushNanos; node = head.next ) {
+			map.remove( node.key );
+			remove( node );
+			recordEviction( EvictionCause.EXPIRED );
+		}
+		return now;
+	}
+
+	private int weigh( K key, V value ) {
+		int weight = weigher.weigh( key, value );
+		if( weight < 0 )
+			throw new IllegalStateException( "weight must not be negative. (key: " + key + ", weight: " + weight + ")" );
+		return weight;
+	}
+
+	/**
+	 * evict eldest entries until total weight is under maximum weight.
+	 */
+	private void evictByWeight() {
+		Iterator<Node<K,V>> nodes = map.values().iterator();
+		while( weight > maximumWeight && nodes.hasNext() ) {
+			Node<K,V> node = nodes.next();
+			nodes.remove();
+			remove( node );
+			recordEviction( EvictionCause.WEIGHT );
+		}
+	}
+
+	private void recordAccess( boolean hit ) {
+		if( stats == null ) return;
+		if( hit ) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+		}
+	}
+
+	private void recordLoad( boolean success, long start ) {
+		if( stats == null ) return;
+		if( success ) {
+			stats.recordLoadSuccess( System.nanoTime() - start );
+		} else {
+			stats.recordLoadFailure( System.nanoTime() - start );
+		}
+	}
+
+	private void recordEviction( EvictionCause cause ) {
+		if( stats != null )
+			stats.recordEviction( cause );
+	}
+
+	/** detach node already removed from map */
+	private void remove( Node<K,V> node ) {
+		unlink( node );
+		weight -= node.weight;
+	}
+
+	private void linkLast( Node<K,V> node ) {
+		Node<K,V> last = head.prev;
+		node.prev = last;
+		node.next = head;
+		last.next = node;
+		head.prev = node;
+	}
+
+	private void unlink( Node<K,V> node ) {
+		if( node.prev == null ) return;
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = null;
+		node.next = null;
+	}
+
+	private Node<K,V> newHead() {
+		Node<K,V> head = new Node<>( null, null );
+		head.prev = head;
+		head.next = head;
+		return head;
+	}
+
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		head = newHead();
+		long now = System.nanoTime();
+		for( Node<K,V> node : map.values() ) {
+			node.writeTime = now;
+			linkLast( node );
+		}
+	}
+
+	protected static class Node<K,V> implements Serializable {
+
+		private static final long serialVersionUID = -6640152281623227014L;
+
+		final K    key;
+		V          value;
+		long       writeTime;
+		int        weight;
+
+		transient Node<K,V> prev;
+		transient Node<K,V> next;
+
+		Node( K key, V value ) {
+			this.key   = key;
+			this.value = value;
+		}
+
+	}
+
+}
@@ -0,0 +1,604 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import com.github.nayasis.basica.cache.Serializer;
+import com.github.nayasis.basica.cache.StatsCounter;
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+import com.github.nayasis.basica.file.Files;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache storing entries in memory-mapped file
+ *
+ * <pre>
+ * entries are appended to data file as log records, and survive restart.
+ * index (offset of every live record) is written to "{data file}.idx" on {@link #flush()} and {@link #close()},
+ * so that next startup reloads index without scanning data file.
+ * if index is missing or older than data file (ex. process was killed), data file is scanned instead.
+ * every record has checksum, so scanning stops at the first broken record (ex. torn by crash while compacting)
+ * and drops records after it.
+ *
+ * when data file is full, live records are compacted to the front,
+ * and eldest entries are evicted if it is still not enough. (entries are evicted in write order)
+ * entry evicted or expired without compaction leaves tombstone record, so it is not restored by scan.
+ *
+ * MappedFileCache&lt;String,String&gt; cache = new MappedFileCache&lt;&gt;( "/cache/data", Serializers.string(), Serializers.string(), 64 * 1024 * 1024 );
+ * ...
+ * cache.close();
+ * </pre>
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ */
+@Slf4j
+public class MappedFileCache<K,V> implements Cache<K,V>, Closeable {
+
+	private static final int MAGIC         = 0x4E434143;
+	private static final int VERSION       = 2;
+	private static final int HEADER        = 24;
+	private static final int RECORD_HEADER = 20;
+	private static final int CHECKSUM      = 16;
+	private static final int NULL_VALUE    = -1;
+	private static final int TOMBSTONE     = -2;
+
+	private final Path             path;
+	private final Path             indexPath;
+	private final Serializer<K>    keySerializer;
+	private final Serializer<V>    valueSerializer;
+	private final int              maxBytes;
+	private final FileChannel      channel;
+	private final MappedByteBuffer buffer;
+	private final Map<K,Slot>      map = new LinkedHashMap<>();
+
+	private int          capacity   = Integer.MAX_VALUE;
+	private long         flushMills = Long.MAX_VALUE;
+	private int          end;
+	private long         generation;
+	private boolean      dirty      = false;
+	private StatsCounter stats      = null;
+
+	/**
+	 * open cache file (created if not exists).
+	 *
+	 * @param path				data file path
+	 * @param keySerializer		key serializer
+	 * @param valueSerializer	value serializer
+	 * @param maxBytes			maximum size of data file
+	 * @throws UncheckedIOException if file is not accessible or is not cache file.
+	 */
+	public MappedFileCache( Object path, Serializer<K> keySerializer, Serializer<V> valueSerializer, int maxBytes ) throws UncheckedIOException {
+
+		if( maxBytes <= HEADER + RECORD_HEADER )
+			throw new IllegalArgumentException( "maximum bytes is too small. (maxBytes: " + maxBytes + ")" );
+
+		this.path            = Files.toPath( path );
+		this.indexPath       = Paths.get( this.path.toString() + ".idx" );
+		this.keySerializer   = keySerializer;
+		this.valueSerializer = valueSerializer;
+		this.maxBytes        = maxBytes;
+
+		FileChannel channel = null;
+		try {
+			if( this.path.getParent() != null )
+				Files.makeDir( this.path.getParent() );
+			channel = FileChannel.open( this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+			long size = channel.size();
+			if( size > maxBytes )
+				throw new UncheckedIOException( "cache file is larger than maximum bytes. (path: {}, size: {}, maxBytes: {})", this.path, size, maxBytes );
+			this.buffer  = channel.map( FileChannel.MapMode.READ_WRITE, 0, maxBytes );
+			this.channel = channel;
+			open();
+		} catch( IOException e ) {
+			closeQuietly( channel );
+			throw new UncheckedIOException( e, "fail to open cache file. (path: {})", path );
+		} catch( RuntimeException | Error e ) {
+			closeQuietly( channel );
+			throw e;
+		}
+
+	}
+
+	private void open() {
+		if( buffer.getInt(0) == MAGIC ) {
+			if( buffer.getInt(4) != VERSION )
+				throw new UncheckedIOException( "unsupported cache file version. (path: {}, version: {})", this.path, buffer.getInt(4) );
+			end        = buffer.getInt( 8 );
+			generation = buffer.getLong( 12 );
+			if( ! loadIndex() )
+				scan();
+		} else if( buffer.getInt(0) == 0 ) {
+			buffer.putInt( 0, MAGIC );
+			buffer.putInt( 4, VERSION );
+			end = HEADER;
+			writeHeader();
+		} else {
+			throw new UncheckedIOException( "not a cache file. (path: {})", this.path );
+		}
+	}
+
+	private void closeQuietly( FileChannel channel ) {
+		if( channel == null ) return;
+		try {
+			channel.close();
+		} catch( IOException e ) {
+			log.warn( "fail to close cache file. (path: {})", path, e );
+		}
+	}
+
+	@Override
+	public synchronized int size() {
+		expire();
+		return map.size();
+	}
+
+	/**
+	 * limit entry count.
+	 *
+	 * entry count is not limited by default. (limited only by file size)
+	 *
+	 * @param capacity max entry count
+	 */
+	@Override
+	public synchronized void setCapacity( int capacity ) {
+		if( capacity <= 0 )
+			throw new IllegalArgumentException( "capacity must be positive. (capacity: " + capacity + ")" );
+		this.capacity = capacity;
+		while( map.size() > capacity )
+			evictEldest( EvictionCause.CAPACITY );
+	}
+
+	/**
+	 * set flush cycle.
+	 *
+	 * write time of entry is kept in file, so entries expire across restart.
+	 *
+	 * @param seconds flush cycle
+	 */
+	@Override
+	public synchronized void setFlushCycle( int seconds ) {
+		this.flushMills = seconds == Integer.MAX_VALUE ? Long.MAX_VALUE : seconds * 1_000L;
+	}
+
+	/**
+	 * get bytes occupied by live records.
+	 *
+	 * @return used bytes
+	 */
+	@Override
+	public synchronized long weight() {
+		return liveBytes();
+	}
+
+	@Override
+	public synchronized boolean contains( K key ) {
+		return getSlot( key ) != null;
+	}
+
+	@Override
+	public synchronized void put( K key, V value ) {
+		put( key, value, false );
+	}
+
+	@Override
+	public synchronized void putIfAbsent( K key, V value ) {
+		put( key, value, true );
+	}
+
+	private void put( K key, V value, boolean onlyIfAbsent ) {
+
+		if( onlyIfAbsent && getSlot(key) != null ) return;
+
+		byte[] keyBytes   = keySerializer.serialize( key );
+		byte[] valueBytes = value == null ? null : valueSerializer.serialize( value );
+
+		Slot prev = map.remove( key );
+
+		int length = RECORD_HEADER + keyBytes.length + ( valueBytes == null ? 0 : valueBytes.length );
+		if( length > maxBytes - HEADER ) {
+			if( prev != null ) {
+				ensureSpace( RECORD_HEADER + keyBytes.length );
+				append( keyBytes, null, TOMBSTONE, System.currentTimeMillis() );
+			}
+			recordEviction( EvictionCause.WEIGHT );
+			return;
+		}
+
+		while( map.size() >= capacity )
+			evictEldest( EvictionCause.CAPACITY );
+		ensureSpace( length );
+
+		long now  = System.currentTimeMillis();
+		int  at   = append( keyBytes, valueBytes, valueBytes == null ? NULL_VALUE : valueBytes.length, now );
+		map.put( key, new Slot(at, keyBytes.length, valueBytes == null ? NULL_VALUE : valueBytes.length, now) );
+
+	}
+
+	@Override
+	public synchronized V get( K key ) {
+		Slot slot = getSlot( key );
+		recordAccess( slot != null );
+		if( slot == null || slot.valueLength == NULL_VALUE ) return null;
+		return valueSerializer.deserialize( read(slot.offset + RECORD_HEADER + slot.keyLength, slot.valueLength) );
+	}
+
+	@Override
+	public synchronized void clear( K key ) {
+		if( map.remove(key) == null ) return;
+		byte[] keyBytes = keySerializer.serialize( key );
+		ensureSpace( RECORD_HEADER + keyBytes.length );
+		append( keyBytes, null, TOMBSTONE, System.currentTimeMillis() );
+	}
+
+	@Override
+	public synchronized void clear() {
+		map.clear();
+		end = HEADER;
+		markDirty();
+		writeHeader();
+	}
+
+	@Override
+	public synchronized Set<K> keySet() {
+		expire();
+		return Collections.unmodifiableSet( new LinkedHashSet<>(map.keySet()) );
+	}
+
+	@Override
+	public void putAll( Map<K,V> map ) {
+		map.forEach( this::put );
+	}
+
+	@Override
+	public void putAll( Cache<K,V> cache ) {
+		cache.keySet().forEach( key -> {
+			put( key, cache.get(key) );
+		});
+	}
+
+	@Override
+	public synchronized void setRecordStats( boolean enable ) {
+		this.stats = enable ? new StatsCounter() : null;
+	}
+
+	@Override
+	public synchronized boolean isRecordStats() {
+		return stats != null;
+	}
+
+	@Override
+	public synchronized CacheStats stats() {
+		return stats == null ? CacheStats.EMPTY : stats.snapshot( size(), weight() );
+	}
+
+	/**
+	 * write index file and force data file to storage.
+	 *
+	 * @throws UncheckedIOException if fail to write index file.
+	 */
+	public synchronized void flush() throws UncheckedIOException {
+		if( ! dirty ) return;
+		buffer.force();
+		Path temp = Paths.get( indexPath.toString() + ".tmp" );
+		try( DataOutputStream out = new DataOutputStream(java.nio.file.Files.newOutputStream(temp)) ) {
+			out.writeInt( MAGIC );
+			out.writeLong( generation );
+			out.writeInt( end );
+			out.writeInt( map.size() );
+			for( Slot slot : map.values() )
+				out.writeInt( slot.offset );
+		} catch( IOException e ) {
+			throw new UncheckedIOException( e, "fail to write index file. (path: {})", indexPath );
+		}
+		try {
+			java.nio.file.Files.move( temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} catch( IOException e ) {
+			throw new UncheckedIOException( e, "fail to write index file. (path: {})", indexPath );
+		}
+		dirty = false;
+	}
+
+	/**
+	 * flush and close file.
+	 *
+	 * memory mapping is released when cache is garbage collected.
+	 *
+	 * @throws UncheckedIOException if fail to write index file.
+	 */
+	@Override
+	public synchronized void close() throws UncheckedIOException {
+		if( ! channel.isOpen() ) return;
+		try {
+			flush();
+		} finally {
+			closeQuietly( channel );
+		}
+	}
+
+	private Slot getSlot( K key ) {
+		Slot slot = map.get( key );
+		if( slot != null && isExpired(slot, System.currentTimeMillis()) ) {
+			map.remove( key );
+			evict( slot, EvictionCause.EXPIRED );
+			return null;
+		}
+		return slot;
+	}
+
+	private boolean isExpired( Slot slot, long now ) {
+		return flushMills != Long.MAX_VALUE && now - slot.writeTime >= flushMills;
+	}
+
+	/** remove expired entries from head of write-ordered index */
+	private void expire() {
+		if( flushMills == Long.MAX_VALUE ) return;
+		long         now     = System.currentTimeMillis();
+		List<byte[]> expired = new ArrayList<>();
+		Iterator<Slot> slots = map.values().iterator();
+		while( slots.hasNext() ) {
+			Slot slot = slots.next();
+			if( ! isExpired(slot, now) ) break;
+			slots.remove();
+			// keys are read before appending any tombstone, because compaction moves live records over expired ones.
+			expired.add( keyOf(slot) );
+		}
+		for( byte[] key : expired )
+			evict( key, EvictionCause.EXPIRED );
+	}
+
+	private void evictEldest( EvictionCause cause ) {
+		evict( removeEldest(), cause );
+	}
+
+	private Slot removeEldest() {
+		Iterator<Slot> slots = map.values().iterator();
+		Slot eldest = slots.next();
+		slots.remove();
+		return eldest;
+	}
+
+	/**
+	 * record eviction and write tombstone of evicted entry,
+	 * so that scanning after unclean shutdown does not restore it.
+	 *
+	 * @param slot	slot already removed from index
+	 * @param cause	cause of eviction
+	 */
+	private void evict( Slot slot, EvictionCause cause ) {
+		evict( keyOf(slot), cause );
+	}
+
+	/**
+	 * record eviction and write tombstone of evicted key.
+	 *
+	 * @param key	serialized key of entry already removed from index
+	 * @param cause	cause of eviction
+	 */
+	private void evict( byte[] key, EvictionCause cause ) {
+		recordEviction( cause );
+		ensureSpace( RECORD_HEADER + key.length );
+		append( key, null, TOMBSTONE, System.currentTimeMillis() );
+	}
+
+	/** serialized key of record (valid until next compaction) */
+	private byte[] keyOf( Slot slot ) {
+		return read( slot.offset + RECORD_HEADER, slot.keyLength );
+	}
+
+	/**
+	 * make room to append record, compacting file and evicting eldest entries if necessary.
+	 *
+	 * @param length record length
+	 */
+	private void ensureSpace( int length ) {
+		if( end + length <= maxBytes ) return;
+		long live = liveBytes();
+		// evicted records are dropped by compaction, so they need no tombstone.
+		while( HEADER + live + length > maxBytes && ! map.isEmpty() ) {
+			live -= removeEldest().length();
+			recordEviction( EvictionCause.WEIGHT );
+		}
+		compact();
+	}
+
+	/**
+	 * move live records to front of file.
+	 *
+	 * index is in write order that is same as offset order, so records always move forward.
+	 * if process is killed while compacting, records after the moved ones remain as they were,
+	 * and record torn in the middle is detected by checksum on next scan.
+	 */
+	private void compact() {
+		markDirty();
+		int position = HEADER;
+		for( Slot slot : map.values() ) {
+			int length = slot.length();
+			if( slot.offset != position ) {
+				byte[] record = read( slot.offset, length );
+				write( position, record );
+				slot.offset = position;
+			}
+			position += length;
+		}
+		end = position;
+		writeHeader();
+	}
+
+	private int append( byte[] key, byte[] value, int valueLength, long writeTime ) {
+		markDirty();
+		int at = end;
+		ByteBuffer record = ByteBuffer.allocate( RECORD_HEADER + key.length + ( value == null ? 0 : value.length ) );
+		record.putInt( key.length ).putInt( valueLength ).putLong( writeTime ).putInt( 0 ).put( key );
+		if( value != null )
+			record.put( value );
+		record.putInt( CHECKSUM, checksum(record.array()) );
+		write( at, record.array() );
+		end = at + record.capacity();
+		writeHeader();
+		return at;
+	}
+
+	/** CRC32 of record except checksum field */
+	private int checksum( byte[] record ) {
+		CRC32 crc = new CRC32();
+		crc.update( record, 0, CHECKSUM );
+		crc.update( record, RECORD_HEADER, record.length - RECORD_HEADER );
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * check if record is complete.
+	 *
+	 * @param offset	offset of record
+	 * @return false if record exceeds end of data or checksum is not matched.
+	 */
+	private boolean isValid( int offset ) {
+		if( offset + RECORD_HEADER > end ) return false;
+		int keyLength   = buffer.getInt( offset );
+		int valueLength = buffer.getInt( offset + 4 );
+		if( keyLength < 0 || valueLength < TOMBSTONE ) return false;
+		long length = (long) RECORD_HEADER + keyLength + Math.max( valueLength, 0 );
+		if( offset + length > end ) return false;
+		return checksum( read(offset, (int) length) ) == buffer.getInt( offset + CHECKSUM );
+	}
+
+	private long liveBytes() {
+		long bytes = 0;
+		for( Slot slot : map.values() )
+			bytes += slot.length();
+		return bytes;
+	}
+
+	/**
+	 * load index file.
+	 *
+	 * @return false if index file is missing or stale.
+	 */
+	private boolean loadIndex() {
+		if( ! Files.exists(indexPath) ) return false;
+		try( DataInputStream in = new DataInputStream(new BufferedInputStream(java.nio.file.Files.newInputStream(indexPath))) ) {
+			if( in.readInt() != MAGIC || in.readLong() != generation || in.readInt() != end ) return false;
+			int count = in.readInt();
+			for( int i = 0; i < count; i++ )
+				load( in.readInt() );
+			return true;
+		} catch( IOException | RuntimeException e ) {
+			log.warn( "fail to load index file, so scan data file instead. (path: {})", indexPath, e );
+			map.clear();
+			return false;
+		}
+	}
+
+	/** rebuild index by scanning every record in data file, truncating it at the first broken record */
+	private void scan() {
+		int offset = HEADER;
+		while( offset < end ) {
+			if( ! isValid(offset) ) {
+				log.warn( "drop broken records of cache file. (path: {}, offset: {}, end: {})", path, offset, end );
+				markDirty();
+				end = offset;
+				writeHeader();
+				break;
+			}
+			offset += load( offset ).length();
+		}
+		log.debug( "rebuild index of cache file. (path: {}, entries: {})", path, map.size() );
+	}
+
+	private Slot load( int offset ) {
+		int  keyLength   = buffer.getInt( offset );
+		int  valueLength = buffer.getInt( offset + 4 );
+		long writeTime   = buffer.getLong( offset + 8 );
+		K    key         = keySerializer.deserialize( read(offset + RECORD_HEADER, keyLength) );
+		Slot slot        = new Slot( offset, keyLength, valueLength, writeTime );
+		map.remove( key );
+		if( valueLength != TOMBSTONE )
+			map.put( key, slot );
+		return slot;
+	}
+
+	private void markDirty() {
+		if( dirty ) return;
+		dirty = true;
+		generation++;
+		writeHeader();
+	}
+
+	private void writeHeader() {
+		buffer.putInt( 8, end );
+		buffer.putLong( 12, generation );
+	}
+
+	private byte[] read( int offset, int length ) {
+		byte[] bytes = new byte[ length ];
+		ByteBuffer view = buffer.duplicate();
+		view.position( offset );
+		view.get( bytes );
+		return bytes;
+	}
+
+	private void write( int offset, byte[] bytes ) {
+		ByteBuffer view = buffer.duplicate();
+		view.position( offset );
+		view.put( bytes );
+	}
+
+	private void recordAccess( boolean hit ) {
+		if( stats == null ) return;
+		if( hit ) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+		}
+	}
+
+	private void recordEviction( EvictionCause cause ) {
+		if( stats != null )
+			stats.recordEviction( cause );
+	}
+
+	/** index entry of live record */
+	private static final class Slot {
+
+		int        offset;
+		final int  keyLength;
+		final int  valueLength;
+		final long writeTime;
+
+		Slot( int offset, int keyLength, int valueLength, long writeTime ) {
+			this.offset      = offset;
+			this.keyLength   = keyLength;
+			this.valueLength = valueLength;
+			this.writeTime   = writeTime;
+		}
+
+		int length() {
+			return RECORD_HEADER + keyLength + Math.max( valueLength, 0 );
+		}
+
+	}
+
+}
@@ -0,0 +1,478 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import com.github.nayasis.basica.cache.Serializer;
+import com.github.nayasis.basica.cache.Serializers;
+import com.github.nayasis.basica.cache.StatsCounter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Thread-safe LRU Cache keeping values out of heap
+ *
+ * <pre>
+ * values are serialized into direct memory allocated in slabs,
+ * so that large payloads do not stay on heap and do not inflate GC pause.
+ * only keys and small index entries (block address and length) stay on heap.
+ *
+ * each slab is split into fixed size blocks, and a value is stored in chain of blocks.
+ * first 4 bytes of block points to next block, so any freed block can be reused by any value.
+ * when memory is full, least recently used entries are evicted until value fits.
+ * when flush cycle is set, expired entries are swept from head of write-ordered queue. (same as {@link LruCache})
+ *
+ * Cache&lt;String,byte[]&gt; cache = new OffHeapCache&lt;&gt;( Serializers.bytes(), 64 * 1024 * 1024 );
+ * Cache&lt;String,MyBean&gt; beans = new OffHeapCache&lt;&gt;( Serializers.java(), 64 * 1024 * 1024 );
+ * </pre>
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ */
+public class OffHeapCache<K,V> implements Cache<K,V> {
+
+	public static final int DEFAULT_BLOCK_SIZE = 512;
+	public static final int DEFAULT_SLAB_SIZE  = 4 * 1024 * 1024;
+
+	private static final int NIL     = -1;
+	private static final int POINTER = 4;
+
+	private final Serializer<V>       serializer;
+	private final long                maxBytes;
+	private final int                 blockSize;
+	private final int                 slabSize;
+	private final int                 blocksPerSlab;
+	private final int                 maxSlabs;
+	private final List<ByteBuffer>    slabs      = new ArrayList<>();
+	private final Map<K,Entry<K>>     map;
+	/** sentinel of write-ordered queue */
+	private final Entry<K>            head       = newHead();
+
+	private int          capacity;
+	private long         flushNanos = Long.MAX_VALUE;
+	private int          freeHead   = NIL;
+	private int          freeBlocks = 0;
+	private StatsCounter stats      = null;
+
+	/**
+	 * constructor
+	 *
+	 * @param serializer	value serializer
+	 * @param maxBytes		maximum bytes of direct memory
+	 * @param blockSize		size of block (value occupies 4 bytes less than block size per block)
+	 * @param slabSize		size of direct memory allocated at once
+	 */
+	public OffHeapCache( Serializer<V> serializer, long maxBytes, int blockSize, int slabSize ) {
+		if( serializer == null )
+			throw new IllegalArgumentException( "serializer must not be null." );
+		if( blockSize <= POINTER )
+			throw new IllegalArgumentException( "block size must be greater than " + POINTER + ". (blockSize: " + blockSize + ")" );
+		if( slabSize < blockSize )
+			throw new IllegalArgumentException( "slab size must not be less than block size. (slabSize: " + slabSize + ", blockSize: " + blockSize + ")" );
+		if( maxBytes < slabSize )
+			throw new IllegalArgumentException( "maximum bytes must not be less than slab size. (maxBytes: " + maxBytes + ", slabSize: " + slabSize + ")" );
+		this.serializer    = serializer;
+		this.blockSize     = blockSize;
+		this.slabSize      = slabSize;
+		this.blocksPerSlab = slabSize / blockSize;
+		this.maxSlabs      = (int) Math.min( maxBytes / slabSize, Integer.MAX_VALUE / blocksPerSlab );
+		this.maxBytes      = (long) maxSlabs * slabSize;
+		this.capacity      = Integer.MAX_VALUE;
+		this.map           = new LinkedHashMap<>( 256, .75F, true );
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param serializer	value serializer
+	 * @param maxBytes		maximum bytes of direct memory
+	 */
+	public OffHeapCache( Serializer<V> serializer, long maxBytes ) {
+		this( serializer, maxBytes, DEFAULT_BLOCK_SIZE, (int) Math.min(DEFAULT_SLAB_SIZE, maxBytes) );
+	}
+
+	/**
+	 * create byte array cache.
+	 *
+	 * @param maxBytes	maximum bytes of direct memory
+	 * @param <K>		Key type parameter
+	 * @return cache
+	 */
+	public static <K> OffHeapCache<K,byte[]> ofBytes( long maxBytes ) {
+		return new OffHeapCache<>( Serializers.bytes(), maxBytes );
+	}
+
+	@Override
+	public synchronized int size() {
+		expire();
+		return map.size();
+	}
+
+	/**
+	 * limit entry count.
+	 *
+	 * entry count is not limited by default. (limited only by memory)
+	 *
+	 * @param capacity max entry count
+	 */
+	@Override
+	public synchronized void setCapacity( int capacity ) {
+		if( capacity <= 0 )
+			throw new IllegalArgumentException( "capacity must be positive. (capacity: " + capacity + ")" );
+		this.capacity = capacity;
+		Iterator<Entry<K>> entries = map.values().iterator();
+		while( map.size() > capacity && entries.hasNext() ) {
+			Entry<K> entry = entries.next();
+			entries.remove();
+			remove( entry );
+			recordEviction( EvictionCause.CAPACITY );
+		}
+	}
+
+	@Override
+	public synchronized void setFlushCycle( int seconds ) {
+		this.flushNanos = seconds == Integer.MAX_VALUE ? Long.MAX_VALUE : seconds * 1_000_000_000L;
+		long now = System.nanoTime();
+		for( Entry<K> entry = head.next; entry != head; entry = entry.next )
+			entry.writeTime = now;
+	}
+
+	/**
+	 * get maximum bytes of direct memory.
+	 *
+	 * @return maximum bytes
+	 */
+	public long maxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * get bytes of direct memory allocated.
+	 *
+	 * @return allocated bytes
+	 */
+	public synchronized long allocatedBytes() {
+		return (long) slabs.size() * slabSize;
+	}
+
+	/**
+	 * get bytes of direct memory occupied by values. (including block pointers and unused tail of last block)
+	 *
+	 * @return used bytes
+	 */
+	public synchronized long usedBytes() {
+		return ( (long) slabs.size() * blocksPerSlab - freeBlocks ) * blockSize;
+	}
+
+	/**
+	 * get bytes of direct memory occupied by values.
+	 *
+	 * @return used bytes
+	 * @see #usedBytes()
+	 */
+	@Override
+	public long weight() {
+		return usedBytes();
+	}
+
+	@Override
+	public synchronized boolean contains( K key ) {
+		return getEntry( key ) != null;
+	}
+
+	@Override
+	public synchronized void put( K key, V value ) {
+		put( key, value, false );
+	}
+
+	@Override
+	public synchronized void putIfAbsent( K key, V value ) {
+		put( key, value, true );
+	}
+
+	private void put( K key, V value, boolean onlyIfAbsent ) {
+
+		if( onlyIfAbsent && getEntry(key) != null ) return;
+
+		byte[] bytes = value == null ? null : serializer.serialize( value );
+
+		Entry<K> prev = map.remove( key );
+		if( prev != null )
+			remove( prev );
+
+		int blocks = bytes == null ? 0 : blocksOf( bytes.length );
+		if( blocks > (long) maxSlabs * blocksPerSlab ) {
+			recordEviction( EvictionCause.WEIGHT );
+			return;
+		}
+
+		while( map.size() >= capacity )
+			evictEldest( EvictionCause.CAPACITY );
+		while( ! reserve(blocks) )
+			evictEldest( EvictionCause.WEIGHT );
+
+		Entry<K> entry = new Entry<>( key );
+		entry.writeTime = System.nanoTime();
+		if( bytes != null ) {
+			entry.length = bytes.length;
+			entry.blocks = blocks;
+			entry.head   = write( bytes, blocks );
+		}
+		map.put( key, entry );
+		linkLast( entry );
+
+	}
+
+	@Override
+	public synchronized V get( K key ) {
+		Entry<K> entry = getEntry( key );
+		recordAccess( entry != null );
+		if( entry == null || entry.length == NIL ) return null;
+		return serializer.deserialize( read(entry) );
+	}
+
+	@Override
+	public synchronized void clear( K key ) {
+		Entry<K> entry = map.remove( key );
+		if( entry != null )
+			remove( entry );
+	}
+
+	/**
+	 * clear all entries.
+	 *
+	 * direct memory already allocated is kept to be reused.
+	 */
+	@Override
+	public synchronized void clear() {
+		map.clear();
+		head.prev  = head;
+		head.next  = head;
+		freeHead   = NIL;
+		freeBlocks = 0;
+		for( int slab = slabs.size() - 1; slab >= 0; slab-- )
+			pushFreeBlocks( slab );
+	}
+
+	@Override
+	public synchronized Set<K> keySet() {
+		expire();
+		return Collections.unmodifiableSet( new LinkedHashSet<>(map.keySet()) );
+	}
+
+	@Override
+	public void putAll( Map<K,V> map ) {
+		map.forEach( this::put );
+	}
+
+	@Override
+	public void putAll( Cache<K,V> cache ) {
+		cache.keySet().forEach( key -> {
+			put( key, cache.get(key) );
+		});
+	}
+
+	@Override
+	public synchronized void setRecordStats( boolean enable ) {
+		this.stats = enable ? new StatsCounter() : null;
+	}
+
+	@Override
+	public synchronized boolean isRecordStats() {
+		return stats != null;
+	}
+
+	@Override
+	public synchronized CacheStats stats() {
+		return stats == null ? CacheStats.EMPTY : stats.snapshot( size(), weight() );
+	}
+
+	private Entry<K> getEntry( K key ) {
+		Entry<K> entry = map.get( key );
+		if( entry != null && isExpired(entry, System.nanoTime()) ) {
+			map.remove( key );
+			remove( entry );
+			recordEviction( EvictionCause.EXPIRED );
+			return null;
+		}
+		return entry;
+	}
+
+	private boolean isExpired( Entry<K> entry, long now ) {
+		return flushNanos != Long.MAX_VALUE && now - entry.writeTime >= flushNanos;
+	}
+
+	/**
+	 * remove expired entries from head of write-ordered queue.
+	 *
+	 * every entry lives for the same cycle, so expired entries are always at the head.
+	 */
+	private void expire() {
+		if( flushNanos == Long.MAX_VALUE ) return;
+		long now = System.nanoTime();
+		for( Entry<K> entry = head.next; entry != head && isExpired(entry, now); entry = head.next ) {
+			map.remove( entry.key );
+			remove( entry );
+			recordEviction( EvictionCause.EXPIRED );
+		}
+	}
+
+	private void evictEldest( EvictionCause cause ) {
+		Iterator<Entry<K>> entries = map.values().iterator();
+		Entry<K> entry = entries.next();
+		entries.remove();
+		remove( entry );
+		recordEviction( cause );
+	}
+
+	/** detach entry already removed from map, and free its blocks */
+	private void remove( Entry<K> entry ) {
+		free( entry );
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+	}
+
+	private void linkLast( Entry<K> entry ) {
+		Entry<K> last = head.prev;
+		entry.prev = last;
+		entry.next = head;
+		last.next  = entry;
+		head.prev  = entry;
+	}
+
+	private Entry<K> newHead() {
+		Entry<K> head = new Entry<>( null );
+		head.prev = head;
+		head.next = head;
+		return head;
+	}
+
+	private int blocksOf( int length ) {
+		int payload = blockSize - POINTER;
+		return Math.max( 1, (length + payload - 1) / payload );
+	}
+
+	/**
+	 * make sure free blocks are enough, allocating new slab if possible.
+	 *
+	 * @param blocks	block count required
+	 * @return true if free blocks are enough
+	 */
+	private boolean reserve( int blocks ) {
+		while( freeBlocks < blocks ) {
+			if( slabs.size() >= maxSlabs ) return false;
+			slabs.add( ByteBuffer.allocateDirect(slabSize) );
+			pushFreeBlocks( slabs.size() - 1 );
+		}
+		return true;
+	}
+
+	private void pushFreeBlocks( int slab ) {
+		for( int i = blocksPerSlab - 1; i >= 0; i-- ) {
+			int block = slab * blocksPerSlab + i;
+			setNext( block, freeHead );
+			freeHead = block;
+			freeBlocks++;
+		}
+	}
+
+	private int write( byte[] bytes, int blocks ) {
+		int payload = blockSize - POINTER;
+		int head    = freeHead;
+		int block   = head;
+		int offset  = 0;
+		for( int i = 0; i < blocks; i++ ) {
+			ByteBuffer buffer = slice( block );
+			int        next   = buffer.getInt();
+			int        length = Math.min( payload, bytes.length - offset );
+			buffer.put( bytes, offset, length );
+			offset += length;
+			if( i == blocks - 1 ) {
+				freeHead = next;
+				setNext( block, NIL );
+			} else {
+				block = next;
+			}
+		}
+		freeBlocks -= blocks;
+		return head;
+	}
+
+	private byte[] read( Entry<K> entry ) {
+		byte[] bytes   = new byte[ entry.length ];
+		int    payload = blockSize - POINTER;
+		int    offset  = 0;
+		for( int block = entry.head; block != NIL && offset < bytes.length; ) {
+			ByteBuffer buffer = slice( block );
+			int        next   = buffer.getInt();
+			int        length = Math.min( payload, bytes.length - offset );
+			buffer.get( bytes, offset, length );
+			offset += length;
+			block = next;
+		}
+		return bytes;
+	}
+
+	/** return blocks of entry to free list */
+	private void free( Entry<K> entry ) {
+		if( entry.blocks == 0 ) return;
+		int tail = entry.head;
+		while( getNext(tail) != NIL )
+			tail = getNext( tail );
+		setNext( tail, freeHead );
+		freeHead    = entry.head;
+		freeBlocks += entry.blocks;
+	}
+
+	private ByteBuffer slice( int block ) {
+		ByteBuffer buffer = slabs.get( block / blocksPerSlab ).duplicate();
+		int        offset = ( block % blocksPerSlab ) * blockSize;
+		buffer.limit( offset + blockSize ).position( offset );
+		return buffer;
+	}
+
+	private int getNext( int block ) {
+		return slabs.get( block / blocksPerSlab ).getInt( (block % blocksPerSlab) * blockSize );
+	}
+
+	private void setNext( int block, int next ) {
+		slabs.get( block / blocksPerSlab ).putInt( (block % blocksPerSlab) * blockSize, next );
+	}
+
+	private void recordAccess( boolean hit ) {
+		if( stats == null ) return;
+		if( hit ) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+		}
+	}
+
+	private void recordEviction( EvictionCause cause ) {
+		if( stats != null )
+			stats.recordEviction( cause );
+	}
+
+	/** index entry kept on heap (linked in write order) */
+	private static final class Entry<K> {
+		final K  key;
+		int      head   = NIL;
+		int      length = NIL;
+		int      blocks = 0;
+		long     writeTime;
+		Entry<K> prev;
+		Entry<K> next;
+		Entry( K key ) {
+			this.key = key;
+		}
+	}
+
+}
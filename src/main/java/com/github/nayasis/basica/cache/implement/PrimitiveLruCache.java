@@ -0,0 +1,359 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import com.github.nayasis.basica.cache.StatsCounter;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base of LRU Cache specialized for primitive key
+ *
+ * <pre>
+ * keys are not boxed and no node is allocated per entry.
+ *   - entries are kept in parallel arrays sized by capacity.
+ *   - hash table is open addressing (linear probing) pointing entry index.
+ *   - LRU order and write order (for flush cycle) are linked by entry index.
+ *
+ * subclass keeps key array, and looks up entry index by primitive key.
+ * like {@link LruCache}, it is not thread-safe.
+ * </pre>
+ *
+ * @param <K> boxed key type parameter
+ * @param <V> Value type parameter
+ */
+abstract class PrimitiveLruCache<K,V> implements Cache<K,V>, Serializable {
+
+	private static final long serialVersionUID = -6310957284108834471L;
+
+	static final int NIL = -1;
+
+	int      capacity;
+	int      size;
+	private int     flushCycle = Integer.MAX_VALUE;
+	private long    flushNanos = Long.MAX_VALUE;
+	private int     free;
+
+	Object[] values;
+	private long[]  writeTimes;
+
+	/** access order links (index of capacity is sentinel) */
+	private int[]   prev, next;
+	/** write order links (index of capacity is sentinel) */
+	private int[]   writePrev, writeNext;
+	/** hash table storing entry index + 1 (0 is empty) */
+	int[]    table;
+
+	private transient StatsCounter stats = null;
+
+	/** allocate key array */
+	abstract void newKeys( int capacity );
+
+	/** get key array */
+	abstract Object keys();
+
+	/** copy key of entry from other key array */
+	abstract void copyKey( Object keys, int from, int to );
+
+	/** hash of key stored in entry */
+	abstract int hashAt( int e );
+
+	/** boxed key stored in entry */
+	abstract K keyAt( int e );
+
+	@Override
+	public int size() {
+		expire();
+		return size;
+	}
+
+	/**
+	 * set capacity.
+	 *
+	 * most recently used entries are kept within new capacity.
+	 *
+	 * @param capacity max entry count
+	 */
+	@Override
+	public void setCapacity( int capacity ) {
+
+		if( capacity <= 0 )
+			throw new IllegalArgumentException( "capacity must be positive. (capacity: " + capacity + ")" );
+
+		if( values == null ) {
+			init( capacity );
+			return;
+		}
+
+		int      prevCapacity   = this.capacity;
+		int      prevSize       = this.size;
+		Object   prevKeys       = keys();
+		Object[] prevValues     = this.values;
+		long[]   prevWriteTimes = this.writeTimes;
+		int[]    prevNext       = this.next;
+		int[]    prevWriteNext  = this.writeNext;
+
+		init( capacity );
+
+		// skip eldest entries exceeding new capacity
+		int skip = Math.max( 0, prevSize - capacity );
+		int[] remap = new int[ prevCapacity ];
+		for( int e = prevNext[prevCapacity]; e != prevCapacity; e = prevNext[e] ) {
+			if( skip-- > 0 ) {
+				remap[ e ] = NIL;
+				continue;
+			}
+			int entry = take( prevValues[e], prevWriteTimes[e] );
+			copyKey( prevKeys, e, entry );
+			index( entry );
+			linkLast( prev, next, entry );
+			remap[ e ] = entry;
+		}
+		for( int e = prevWriteNext[prevCapacity]; e != prevCapacity; e = prevWriteNext[e] ) {
+			if( remap[e] != NIL )
+				linkLast( writePrev, writeNext, remap[e] );
+		}
+
+	}
+
+	@Override
+	public void setFlushCycle( int seconds ) {
+		this.flushCycle = seconds;
+		this.flushNanos = seconds == Integer.MAX_VALUE ? Long.MAX_VALUE : seconds * 1_000_000_000L;
+		long now = System.nanoTime();
+		for( int e = writeNext[capacity]; e != capacity; e = writeNext[e] )
+			writeTimes[ e ] = now;
+	}
+
+	@Override
+	public void clear() {
+		init( capacity );
+	}
+
+	/**
+	 * get keys in LRU order. (eldest first)
+	 *
+	 * @return keys
+	 */
+	@Override
+	public Set<K> keySet() {
+		expire();
+		Set<K> keys = new LinkedHashSet<>();
+		for( int e = next[capacity]; e != capacity; e = next[e] )
+			keys.add( keyAt(e) );
+		return Collections.unmodifiableSet( keys );
+	}
+
+	@Override
+	public void putAll( Map<K,V> map ) {
+		map.forEach( this::put );
+	}
+
+	@Override
+	public void putAll( Cache<K,V> cache ) {
+		cache.keySet().forEach( key -> {
+			put( key, cache.get(key) );
+		});
+	}
+
+	@Override
+	public void setRecordStats( boolean enable ) {
+		this.stats = enable ? new StatsCounter() : null;
+	}
+
+	@Override
+	public boolean isRecordStats() {
+		return stats != null;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats == null ? CacheStats.EMPTY : stats.snapshot( size(), weight() );
+	}
+
+	/**
+	 * get value of entry found, recording access.
+	 *
+	 * @param e	entry index (NIL if not found)
+	 * @return value of entry
+	 */
+	@SuppressWarnings("unchecked")
+	V hit( int e ) {
+		recordAccess( e != NIL );
+		if( e == NIL ) return null;
+		moveLast( prev, next, e );
+		return (V) values[ e ];
+	}
+
+	/** update value of existing entry */
+	void update( int e, V value, long now ) {
+		values[ e ]     = value;
+		writeTimes[ e ] = now;
+		moveLast( prev, next, e );
+		moveLast( writePrev, writeNext, e );
+	}
+
+	/**
+	 * allocate new entry, evicting LRU entry if cache is full.
+	 *
+	 * caller must set key of entry and call {@link #index(int)}.
+	 *
+	 * @return entry index
+	 */
+	int allocate( V value, long now ) {
+		if( size == capacity ) {
+			remove( next[capacity] );
+			recordEviction( EvictionCause.CAPACITY );
+		}
+		int e = take( value, now );
+		linkLast( prev, next, e );
+		linkLast( writePrev, writeNext, e );
+		return e;
+	}
+
+	/** put entry to hash table */
+	void index( int e ) {
+		int mask = table.length - 1;
+		int slot = hashAt( e ) & mask;
+		while( table[slot] != 0 )
+			slot = ( slot + 1 ) & mask;
+		table[ slot ] = e + 1;
+		size++;
+	}
+
+	void remove( int e ) {
+		deleteSlot( slotOf(e) );
+		unlink( prev, next, e );
+		unlink( writePrev, writeNext, e );
+		values[ e ] = null;
+		next[ e ]   = free;
+		free        = e;
+		size--;
+	}
+
+	/**
+	 * remove expired entries from head of write-ordered queue.
+	 *
+	 * @return current time in nanoseconds (0 if flush cycle is not set)
+	 */
+	long expire() {
+		if( flushNanos == Long.MAX_VALUE ) return 0L;
+		long now = System.nanoTime();
+		for( int e = writeNext[capacity]; e != capacity && now - writeTimes[e] >= flushNanos; e = writeNext[capacity] ) {
+			remove( e );
+			recordEviction( EvictionCause.EXPIRED );
+		}
+		return now;
+	}
+
+	void recordAccess( boolean hit ) {
+		if( stats == null ) return;
+		if( hit ) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+		}
+	}
+
+	void recordLoad( boolean success, long start ) {
+		if( stats == null ) return;
+		if( success ) {
+			stats.recordLoadSuccess( System.nanoTime() - start );
+		} else {
+			stats.recordLoadFailure( System.nanoTime() - start );
+		}
+	}
+
+	private void init( int capacity ) {
+		int length = Integer.highestOneBit( Math.max(capacity * 2 - 1, 1) ) << 1;
+		this.capacity   = capacity;
+		this.size       = 0;
+		this.values     = new Object[ capacity ];
+		this.writeTimes = new long[ capacity ];
+		this.prev       = new int[ capacity + 1 ];
+		this.next       = new int[ capacity + 1 ];
+		this.writePrev  = new int[ capacity + 1 ];
+		this.writeNext  = new int[ capacity + 1 ];
+		this.table      = new int[ length ];
+		newKeys( capacity );
+		prev[ capacity ]      = next[ capacity ]      = capacity;
+		writePrev[ capacity ] = writeNext[ capacity ] = capacity;
+		// free list linked by next
+		for( int i = 0; i < capacity - 1; i++ )
+			next[ i ] = i + 1;
+		next[ capacity - 1 ] = NIL;
+		free = 0;
+	}
+
+	/** take entry from free list (entry is neither indexed nor linked yet) */
+	private int take( Object value, long writeTime ) {
+		int e = free;
+		free = next[ e ];
+		values[ e ]     = value;
+		writeTimes[ e ] = writeTime;
+		return e;
+	}
+
+	/** find slot of entry without comparing key */
+	private int slotOf( int e ) {
+		int mask = table.length - 1;
+		int slot = hashAt( e ) & mask;
+		while( table[slot] != e + 1 )
+			slot = ( slot + 1 ) & mask;
+		return slot;
+	}
+
+	/** delete slot shifting following entries back, so that probing never meets hole. */
+	private void deleteSlot( int slot ) {
+		int mask = table.length - 1;
+		int gap  = slot;
+		for( int i = (slot + 1) & mask; table[i] != 0; i = (i + 1) & mask ) {
+			int home = hashAt( table[i] - 1 ) & mask;
+			if( ((i - home) & mask) >= ((i - gap) & mask) ) {
+				table[ gap ] = table[ i ];
+				gap = i;
+			}
+		}
+		table[ gap ] = 0;
+	}
+
+	private void linkLast( int[] prev, int[] next, int e ) {
+		int last = prev[ capacity ];
+		prev[ e ]        = last;
+		next[ e ]        = capacity;
+		next[ last ]     = e;
+		prev[ capacity ] = e;
+	}
+
+	private void unlink( int[] prev, int[] next, int e ) {
+		next[ prev[e] ] = next[ e ];
+		prev[ next[e] ] = prev[ e ];
+	}
+
+	private void moveLast( int[] prev, int[] next, int e ) {
+		if( prev[capacity] == e ) return;
+		unlink( prev, next, e );
+		linkLast( prev, next, e );
+	}
+
+	private void recordEviction( EvictionCause cause ) {
+		if( stats != null )
+			stats.recordEviction( cause );
+	}
+
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		// nano time is not valid in other JVM.
+		long now = System.nanoTime();
+		for( int e = writeNext[capacity]; e != capacity; e = writeNext[e] )
+			writeTimes[ e ] = now;
+	}
+
+}
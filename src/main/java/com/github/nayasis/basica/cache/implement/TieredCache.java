@@ -0,0 +1,341 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two level cache
+ *
+ * <pre>
+ * front cache (ex. {@link LruCache}) is read first,
+ * and entry missed in front cache is read through from back cache (ex. {@link MappedFileCache}) and promoted to front.
+ *
+ * writes go to front cache immediately, and are written behind to back cache in batches
+ * by background thread shared by all tiered caches. (several writes of same key are merged into one)
+ * if writing behind fails, unwritten entries are queued again and retried on next cycle.
+ *
+ * Cache&lt;String,String&gt; cache = new TieredCache&lt;&gt;(
+ *     new LruCache&lt;&gt;( 1000 ),
+ *     new MappedFileCache&lt;&gt;( "/cache/data", Serializers.string(), Serializers.string(), 64 * 1024 * 1024 )
+ * );
+ * ...
+ * cache.close(); // write pending entries to back cache and close it.
+ * </pre>
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ */
+@Slf4j
+public class TieredCache<K,V> implements Cache<K,V>, Closeable {
+
+	private static final long DEFAULT_WRITE_DELAY = 1_000;
+
+	private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor( runnable -> {
+		Thread thread = new Thread( runnable, "tiered-cache-writer" );
+		thread.setDaemon( true );
+		return thread;
+	});
+
+	private final Cache<K,V>               front;
+	private final Cache<K,V>               back;
+	private       Map<K,Pending<V>>        pending   = new LinkedHashMap<>();
+	private final ScheduledFuture<?>       schedule;
+	private final Object                   flushLock = new Object();
+
+	/** writes being applied to back cache */
+	private Map<K,Pending<V>> writing = Collections.emptyMap();
+
+	/**
+	 * constructor
+	 *
+	 * @param front			front cache (accessed under lock of this cache, so it need not be thread-safe)
+	 * @param back			back cache (accessed by caller and writer thread, so it must be thread-safe)
+	 * @param writeDelay	delay of write-behind in milliseconds
+	 */
+	public TieredCache( Cache<K,V> front, Cache<K,V> back, long writeDelay ) {
+		this.front    = front;
+		this.back     = back;
+		this.schedule = WRITER.scheduleWithFixedDelay( this::flushQuietly, writeDelay, writeDelay, TimeUnit.MILLISECONDS );
+	}
+
+	/**
+	 * constructor writing behind every second.
+	 *
+	 * @param front	front cache
+	 * @param back	back cache (must be thread-safe)
+	 */
+	public TieredCache( Cache<K,V> front, Cache<K,V> back ) {
+		this( front, back, DEFAULT_WRITE_DELAY );
+	}
+
+	public Cache<K,V> front() {
+		return front;
+	}
+
+	public Cache<K,V> back() {
+		return back;
+	}
+
+	/**
+	 * get entry count of back cache including entries waiting to be written.
+	 *
+	 * @return entry count
+	 */
+	@Override
+	public int size() {
+		return keySet().size();
+	}
+
+	/**
+	 * set capacity of front cache.
+	 *
+	 * @param capacity max entry count
+	 */
+	@Override
+	public synchronized void setCapacity( int capacity ) {
+		front.setCapacity( capacity );
+	}
+
+	@Override
+	public synchronized void setFlushCycle( int seconds ) {
+		front.setFlushCycle( seconds );
+		back.setFlushCycle( seconds );
+	}
+
+	@Override
+	public void setRecordStats( boolean enable ) {
+		synchronized( this ) {
+			front.setRecordStats( enable );
+		}
+		back.setRecordStats( enable );
+	}
+
+	@Override
+	public synchronized boolean isRecordStats() {
+		return front.isRecordStats();
+	}
+
+	/**
+	 * get statistics of front cache.
+	 *
+	 * statistics of back cache can be get by {@link #back()}.
+	 *
+	 * @return statistics of front cache
+	 */
+	@Override
+	public synchronized CacheStats stats() {
+		return front.stats();
+	}
+
+	@Override
+	public boolean contains( K key ) {
+		synchronized( this ) {
+			if( front.contains(key) ) return true;
+			Pending<V> write = pendingOf( key );
+			if( write != null ) return ! write.removed;
+		}
+		return back.contains( key );
+	}
+
+	@Override
+	public synchronized void put( K key, V value ) {
+		front.put( key, value );
+		pending.put( key, new Pending<>(value, false) );
+	}
+
+	@Override
+	public void putIfAbsent( K key, V value ) {
+		if( contains(key) ) return;
+		put( key, value );
+	}
+
+	@Override
+	public V get( K key ) {
+
+		synchronized( this ) {
+			V value = front.get( key );
+			if( value != null || front.contains(key) ) return value;
+			Pending<V> write = pendingOf( key );
+			if( write != null ) {
+				if( write.removed ) return null;
+				front.put( key, write.value );
+				return write.value;
+			}
+		}
+
+		V value = back.get( key );
+		if( value == null && ! back.contains(key) ) return null;
+
+		synchronized( this ) {
+			// keep newer value written while reading back cache
+			if( pendingOf(key) != null || front.contains(key) ) return get( key );
+			front.put( key, value );
+		}
+		return value;
+
+	}
+
+	@Override
+	public synchronized void clear( K key ) {
+		front.clear( key );
+		pending.put( key, new Pending<>(null, true) );
+	}
+
+	/**
+	 * clear both of front and back cache.
+	 */
+	@Override
+	public void clear() {
+		// wait for write-behind in progress, so that it does not restore entries after clearing.
+		synchronized( flushLock ) {
+			synchronized( this ) {
+				front.clear();
+				pending.clear();
+			}
+			back.clear();
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		Set<K> keys = new LinkedHashSet<>( back.keySet() );
+		synchronized( this ) {
+			keys.addAll( front.keySet() );
+			for( Map<K,Pending<V>> writes : Arrays.asList(writing, pending) ) {
+				writes.forEach( (key, write) -> {
+					if( write.removed ) {
+						keys.remove( key );
+					} else {
+						keys.add( key );
+					}
+				});
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	public void putAll( Map<K,V> map ) {
+		map.forEach( this::put );
+	}
+
+	@Override
+	public void putAll( Cache<K,V> cache ) {
+		cache.keySet().forEach( key -> {
+			put( key, cache.get(key) );
+		});
+	}
+
+	/**
+	 * write pending entries to back cache.
+	 *
+	 * if writing fails, entries not written yet are queued again (unless newer write of same key is queued).
+	 */
+	public void flush() {
+		synchronized( flushLock ) {
+			Map<K,Pending<V>> writes;
+			synchronized( this ) {
+				if( pending.isEmpty() ) return;
+				writes  = pending;
+				writing = writes;
+				pending = new LinkedHashMap<>();
+			}
+			// writes are read by other threads while flushing, so they are not modified here.
+			int written = 0;
+			try {
+				for( Map.Entry<K,Pending<V>> entry : writes.entrySet() ) {
+					if( entry.getValue().removed ) {
+						back.clear( entry.getKey() );
+					} else {
+						back.put( entry.getKey(), entry.getValue().value );
+					}
+					written++;
+				}
+			} finally {
+				synchronized( this ) {
+					if( written < writes.size() )
+						requeue( writes, written );
+					writing = Collections.emptyMap();
+				}
+			}
+		}
+	}
+
+	/**
+	 * queue entries failed to be written again, ahead of newer writes queued while flushing.
+	 *
+	 * @param writes	entries of flush
+	 * @param written	count of entries written successfully
+	 */
+	private void requeue( Map<K,Pending<V>> writes, int written ) {
+		Map<K,Pending<V>> requeued = new LinkedHashMap<>();
+		int index = 0;
+		for( Map.Entry<K,Pending<V>> entry : writes.entrySet() ) {
+			if( index++ >= written && ! pending.containsKey(entry.getKey()) )
+				requeued.put( entry.getKey(), entry.getValue() );
+		}
+		requeued.putAll( pending );
+		pending = requeued;
+	}
+
+	private Pending<V> pendingOf( K key ) {
+		Pending<V> write = pending.get( key );
+		return write != null ? write : writing.get( key );
+	}
+
+	/**
+	 * stop writing behind, write pending entries and close back cache (if closeable).
+	 */
+	@Override
+	public void close() {
+		schedule.cancel( false );
+		try {
+			// waits for write-behind in progress
+			flush();
+		} finally {
+			if( back instanceof Closeable ) {
+				try {
+					( (Closeable) back ).close();
+				} catch( IOException e ) {
+					log.warn( "fail to close back cache.", e );
+				}
+			}
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch( Exception e ) {
+			log.warn( "fail to write behind to back cache.", e );
+		}
+	}
+
+	/** write waiting to be applied to back cache */
+	private static final class Pending<V> {
+
+		final V       value;
+		final boolean removed;
+
+		Pending( V value, boolean removed ) {
+			this.value   = value;
+			this.removed = removed;
+		}
+
+	}
+
+}
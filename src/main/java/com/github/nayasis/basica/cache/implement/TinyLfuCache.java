@@ -0,0 +1,452 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import com.github.nayasis.basica.cache.StatsCounter;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Scan-resistant cache using W-TinyLFU policy
+ *
+ * <pre>
+ * new entry enters small window LRU (1% of capacity) first.
+ * entry pushed out of window competes with victim of main area,
+ * and only the one accessed more frequently (estimated by {@link FrequencySketch}) remains.
+ *
+ * main area is segmented LRU.
+ *   - probation : entries admitted from window
+ *   - protected : entries hit again in probation (80% of main area)
+ *
+ * so that a scan of one-off keys passes through the window without flushing working set.
+ * like {@link LruCache}, it is not thread-safe.
+ * </pre>
+ *
+ * @param <K> Key type parameter
+ * @param <V> Value type parameter
+ */
+public class TinyLfuCache<K,V> implements Cache<K,V>, Serializable {
+
+	private static final long serialVersionUID = 1931768014318335417L;
+
+	private static final byte WINDOW    = 0;
+	private static final byte PROBATION = 1;
+	private static final byte PROTECTED = 2;
+
+	private int  capacity;
+	private int  flushCycle    = Integer.MAX_VALUE;
+	private long flushNanos    = Long.MAX_VALUE;
+
+	private transient Map<K,Node<K,V>> map;
+	private transient FrequencySketch  sketch;
+	private transient int              windowCapacity;
+	private transient int              protectedCapacity;
+	private transient int              windowSize;
+	private transient int              protectedSize;
+
+	private transient Node<K,V> window;
+	private transient Node<K,V> probation;
+	private transient Node<K,V> protect;
+	private transient Node<K,V> writeHead;
+
+	private transient StatsCounter stats;
+
+	public TinyLfuCache( int capacity ) {
+		setCapacity( capacity );
+	}
+
+	public TinyLfuCache() {
+		this( 128 );
+	}
+
+	@Override
+	public int size() {
+		expire();
+		return map.size();
+	}
+
+	/**
+	 * set capacity.
+	 *
+	 * entries already cached are kept within new capacity.
+	 *
+	 * @param capacity max entry count
+	 */
+	@Override
+	public void setCapacity( int capacity ) {
+
+		if( capacity <= 0 )
+			throw new IllegalArgumentException( "capacity must be positive. (capacity: " + capacity + ")" );
+
+		Map<K,V> prev = map == null ? null : entries();
+
+		this.capacity          = capacity;
+		this.windowCapacity    = Math.max( 1, capacity / 100 );
+		this.protectedCapacity = (int) ( (capacity - windowCapacity) * 0.8 );
+		this.map               = new HashMap<>();
+		this.sketch            = new FrequencySketch( capacity );
+		this.windowSize        = 0;
+		this.protectedSize     = 0;
+		this.window            = newHead();
+		this.probation         = newHead();
+		this.protect           = newHead();
+		this.writeHead         = newHead();
+
+		if( prev != null )
+			putAll( prev );
+
+	}
+
+	@Override
+	public void setFlushCycle( int seconds ) {
+		this.flushCycle = seconds;
+		this.flushNanos = seconds == Integer.MAX_VALUE ? Long.MAX_VALUE : seconds * 1_000_000_000L;
+		long now = System.nanoTime();
+		for( Node<K,V> node = writeHead.writeNext; node != writeHead; node = node.writeNext )
+			node.writeTime = now;
+	}
+
+	@Override
+	public boolean contains( K key ) {
+		expire();
+		return map.containsKey( key );
+	}
+
+	@Override
+	public void put( K key, V value ) {
+		put( key, value, false );
+	}
+
+	@Override
+	public void putIfAbsent( K key, V value ) {
+		put( key, value, true );
+	}
+
+	private void put( K key, V value, boolean onlyIfAbsent ) {
+
+		long now = expire();
+
+		Node<K,V> node = map.get( key );
+
+		if( node != null ) {
+			if( onlyIfAbsent ) return;
+			node.value     = value;
+			node.writeTime = now;
+			unlinkWrite( node );
+			linkLastWrite( node );
+			sketch.increment( key );
+			onHit( node );
+			return;
+		}
+
+		sketch.increment( key );
+
+		node = new Node<>( key, value );
+		node.queue     = WINDOW;
+		node.writeTime = now;
+		map.put( key, node );
+		linkLast( window, node );
+		linkLastWrite( node );
+		windowSize++;
+
+		evict();
+
+	}
+
+	@Override
+	public V get( K key ) {
+		expire();
+		sketch.increment( key );
+		Node<K,V> node = map.get( key );
+		recordAccess( node != null );
+		if( node == null ) return null;
+		onHit( node );
+		return node.value;
+	}
+
+	@Override
+	public V get( K key, Function<? super K,? extends V> loader ) {
+		expire();
+		sketch.increment( key );
+		Node<K,V> node = map.get( key );
+		recordAccess( node != null );
+		if( node != null ) {
+			onHit( node );
+			return node.value;
+		}
+		long start = System.nanoTime();
+		V    value;
+		try {
+			value = loader.apply( key );
+		} catch( RuntimeException | Error e ) {
+			recordLoad( false, start );
+			throw e;
+		}
+		recordLoad( true, start );
+		put( key, value );
+		return value;
+	}
+
+	@Override
+	public void setRecordStats( boolean enable ) {
+		this.stats = enable ? new StatsCounter() : null;
+	}
+
+	@Override
+	public boolean isRecordStats() {
+		return stats != null;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return stats == null ? CacheStats.EMPTY : stats.snapshot( size(), weight() );
+	}
+
+	@Override
+	public void clear( K key ) {
+		Node<K,V> node = map.remove( key );
+		if( node != null )
+			remove( node );
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+		sketch.clear();
+		windowSize    = 0;
+		protectedSize = 0;
+		window        = newHead();
+		probation     = newHead();
+		protect       = newHead();
+		writeHead     = newHead();
+	}
+
+	@Override
+	public Set<K> keySet() {
+		expire();
+		return Collections.unmodifiableSet( map.keySet() );
+	}
+
+	@Override
+	public void putAll( Map<K,V> map ) {
+		map.forEach( this::put );
+	}
+
+	@Override
+	public void putAll( Cache<K,V> cache ) {
+		cache.keySet().forEach( key -> {
+			put( key, cache.get(key) );
+		});
+	}
+
+	private void onHit( Node<K,V> node ) {
+		switch( node.queue ) {
+			case WINDOW :
+				unlink( node );
+				linkLast( window, node );
+				break;
+			case PROBATION :
+				unlink( node );
+				node.queue = PROTECTED;
+				linkLast( protect, node );
+				protectedSize++;
+				if( protectedSize > protectedCapacity ) {
+					Node<K,V> demoted = protect.next;
+					unlink( demoted );
+					demoted.queue = PROBATION;
+					linkLast( probation, demoted );
+					protectedSize--;
+				}
+				break;
+			case PROTECTED :
+				unlink( node );
+				linkLast( protect, node );
+				break;
+		}
+	}
+
+	/**
+	 * move entries overflowed from window to main area,
+	 * admitting only if it is used more frequently than victim of main area.
+	 */
+	private void evict() {
+
+		int mainCapacity = capacity - windowCapacity;
+
+		while( windowSize > windowCapacity ) {
+
+			Node<K,V> candidate = window.next;
+			unlink( candidate );
+			windowSize--;
+
+			int mainSize = map.size() - windowSize - 1;
+
+			if( mainSize < mainCapacity ) {
+				admit( candidate );
+				continue;
+			}
+
+			Node<K,V> victim = probation.next != probation ? probation.next : protect.next;
+
+			if( victim != protect && sketch.frequency(candidate.key) > sketch.frequency(victim.key) ) {
+				map.remove( victim.key );
+				remove( victim );
+				admit( candidate );
+			} else {
+				map.remove( candidate.key );
+				unlinkWrite( candidate );
+			}
+			recordEviction( EvictionCause.CAPACITY );
+
+		}
+
+	}
+
+	private void admit( Node<K,V> node ) {
+		node.queue = PROBATION;
+		linkLast( probation, node );
+	}
+
+	private void remove( Node<K,V> node ) {
+		unlink( node );
+		unlinkWrite( node );
+		if( node.queue == WINDOW ) {
+			windowSize--;
+		} else if( node.queue == PROTECTED ) {
+			protectedSize--;
+		}
+	}
+
+	/**
+	 * remove expired entries from head of write-ordered queue.
+	 *
+	 * @return current time in nanoseconds (0 if flush cycle is not set)
+	 */
+	private long expire() {
+		if( flushNanos == Long.MAX_VALUE ) return 0L;
+		long now = System.nanoTime();
+		for( Node<K,V> node = writeHead.writeNext; node != writeHead && now - node.writeTime >= flushNanos; node = writeHead.writeNext ) {
+			map.remove( node.key );
+			remove( node );
+			recordEviction( EvictionCause.EXPIRED );
+		}
+		return now;
+	}
+
+	private void recordAccess( boolean hit ) {
+		if( stats == null ) return;
+		if( hit ) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+		}
+	}
+
+	private void recordLoad( boolean success, long start ) {
+		if( stats == null ) return;
+		if( success ) {
+			stats.recordLoadSuccess( System.nanoTime() - start );
+		} else {
+			stats.recordLoadFailure( System.nanoTime() - start );
+		}
+	}
+
+	private void recordEviction( EvictionCause cause ) {
+		if( stats != null )
+			stats.recordEviction( cause );
+	}
+
+	private Map<K,V> entries() {
+		Map<K,V> entries = new LinkedHashMap<>();
+		putEntries( entries, protect );
+		putEntries( entries, probation );
+		putEntries( entries, window );
+		return entries;
+	}
+
+	private void putEntries( Map<K,V> entries, Node<K,V> head ) {
+		for( Node<K,V> node = head.next; node != head; node = node.next )
+			entries.put( node.key, node.value );
+	}
+
+	private Node<K,V> newHead() {
+		Node<K,V> head = new Node<>( null, null );
+		head.prev      = head;
+		head.next      = head;
+		head.writePrev = head;
+		head.writeNext = head;
+		return head;
+	}
+
+	private void linkLast( Node<K,V> head, Node<K,V> node ) {
+		Node<K,V> last = head.prev;
+		node.prev = last;
+		node.next = head;
+		last.next = node;
+		head.prev = node;
+	}
+
+	private void unlink( Node<K,V> node ) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = null;
+		node.next = null;
+	}
+
+	private void linkLastWrite( Node<K,V> node ) {
+		Node<K,V> last = writeHead.writePrev;
+		node.writePrev = last;
+		node.writeNext = writeHead;
+		last.writeNext = node;
+		writeHead.writePrev = node;
+	}
+
+	private void unlinkWrite( Node<K,V> node ) {
+		node.writePrev.writeNext = node.writeNext;
+		node.writeNext.writePrev = node.writePrev;
+		node.writePrev = null;
+		node.writeNext = null;
+	}
+
+	private void writeObject( ObjectOutputStream out ) throws IOException {
+		out.defaultWriteObject();
+		out.writeObject( entries() );
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		setCapacity( capacity );
+		putAll( (Map<K,V>) in.readObject() );
+	}
+
+	private static final class Node<K,V> {
+
+		final K key;
+		V       value;
+		long    writeTime;
+		byte    queue;
+
+		Node<K,V> prev;
+		Node<K,V> next;
+		Node<K,V> writePrev;
+		Node<K,V> writeNext;
+
+		Node( K key, V value ) {
+			this.key   = key;
+			this.value = value;
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.github.nayasis.basica.cache.jmx;
+
+import java.util.Map;
+
+/**
+ * JMX view of named cache
+ */
+public interface CacheMXBean {
+
+	String getName();
+
+	String getType();
+
+	int getSize();
+
+	long getWeight();
+
+	boolean isRecordStats();
+
+	void setRecordStats( boolean enable );
+
+	long getHitCount();
+
+	long getMissCount();
+
+	double getHitRate();
+
+	long getLoadSuccessCount();
+
+	long getLoadFailureCount();
+
+	/**
+	 * get average time to load value.
+	 *
+	 * @return average load time in nanoseconds
+	 */
+	double getAverageLoadPenalty();
+
+	long getEvictionCount();
+
+	/**
+	 * get eviction count by cause.
+	 *
+	 * @return eviction count by name of {@link com.github.nayasis.basica.cache.EvictionCause}
+	 */
+	Map<String,Long> getEvictionCounts();
+
+	void clear();
+
+}
@@ -0,0 +1,124 @@
+package com.github.nayasis.basica.cache.jmx;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link CacheMXBean} implementation
+ *
+ * it refers cache weakly, so that registering to JMX does not keep cache alive.
+ */
+class CacheMonitor implements CacheMXBean {
+
+	private final String                   name;
+	private final String                   type;
+	private final WeakReference<Cache<?,?>> cache;
+
+	CacheMonitor( String name, Cache<?,?> cache ) {
+		this.name  = name;
+		this.type  = cache.getClass().getSimpleName();
+		this.cache = new WeakReference<>( cache );
+	}
+
+	Cache<?,?> cache() {
+		return cache.get();
+	}
+
+	boolean isCollected() {
+		return cache.get() == null;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	@Override
+	public int getSize() {
+		Cache<?,?> cache = cache();
+		return cache == null ? 0 : cache.size();
+	}
+
+	@Override
+	public long getWeight() {
+		Cache<?,?> cache = cache();
+		return cache == null ? 0 : cache.weight();
+	}
+
+	@Override
+	public boolean isRecordStats() {
+		Cache<?,?> cache = cache();
+		return cache != null && cache.isRecordStats();
+	}
+
+	@Override
+	public void setRecordStats( boolean enable ) {
+		Cache<?,?> cache = cache();
+		if( cache != null )
+			cache.setRecordStats( enable );
+	}
+
+	@Override
+	public long getHitCount() {
+		return stats().getHitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return stats().getMissCount();
+	}
+
+	@Override
+	public double getHitRate() {
+		return stats().getHitRate();
+	}
+
+	@Override
+	public long getLoadSuccessCount() {
+		return stats().getLoadSuccessCount();
+	}
+
+	@Override
+	public long getLoadFailureCount() {
+		return stats().getLoadFailureCount();
+	}
+
+	@Override
+	public double getAverageLoadPenalty() {
+		return stats().getAverageLoadPenalty();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return stats().getEvictionCount();
+	}
+
+	@Override
+	public Map<String,Long> getEvictionCounts() {
+		Map<String,Long> counts = new LinkedHashMap<>();
+		stats().getEvictionCounts().forEach( (cause, count) -> counts.put(cause.name(), count) );
+		return counts;
+	}
+
+	@Override
+	public void clear() {
+		Cache<?,?> cache = cache();
+		if( cache != null )
+			cache.clear();
+	}
+
+	private CacheStats stats() {
+		Cache<?,?> cache = cache();
+		return cache == null ? CacheStats.EMPTY : cache.stats();
+	}
+
+}
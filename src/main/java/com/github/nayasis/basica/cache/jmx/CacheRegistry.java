@@ -0,0 +1,126 @@
+package com.github.nayasis.basica.cache.jmx;
+
+import com.github.nayasis.basica.cache.Cache;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of named caches exposed as JMX MBean.
+ *
+ * <pre>
+ * private static final Cache&lt;String,Pattern&gt; CACHE = CacheRegistry.register( "Pattern", new ConcurrentLruCache&lt;&gt;(128) );
+ *
+ * // turn on statistics (or set "RecordStats" attribute in JConsole)
+ * CACHE.setRecordStats( true );
+ *
+ * ObjectName : com.github.nayasis.basica:type=Cache,name="Pattern"
+ * </pre>
+ */
+@Slf4j
+@UtilityClass
+public class CacheRegistry {
+
+	/** JMX domain of cache MBean */
+	public final String DOMAIN = "com.github.nayasis.basica";
+
+	private final Map<String,CacheMonitor> monitors = new ConcurrentHashMap<>();
+
+	/**
+	 * register cache with name.
+	 *
+	 * <pre>
+	 * cache registered with same name already is replaced.
+	 * cache is referred weakly, so it is unregistered lazily after garbage collected.
+	 * </pre>
+	 *
+	 * @param name	cache name
+	 * @param cache	cache
+	 * @param <C>	cache type
+	 * @return cache itself
+	 */
+	public <C extends Cache<?,?>> C register( String name, C cache ) {
+		purge();
+		CacheMonitor monitor = new CacheMonitor( name, cache );
+		monitors.put( name, monitor );
+		try {
+			MBeanServer server     = ManagementFactory.getPlatformMBeanServer();
+			ObjectName  objectName = objectName( name );
+			if( server.isRegistered(objectName) )
+				server.unregisterMBean( objectName );
+			server.registerMBean( monitor, objectName );
+		} catch( JMException | SecurityException e ) {
+			log.warn( "fail to register cache MBean. (name: {})", name, e );
+		}
+		return cache;
+	}
+
+	/**
+	 * unregister cache.
+	 *
+	 * @param name	cache name
+	 */
+	public void unregister( String name ) {
+		monitors.remove( name );
+		unregisterMBean( name );
+	}
+
+	private void unregisterMBean( String name ) {
+		try {
+			MBeanServer server     = ManagementFactory.getPlatformMBeanServer();
+			ObjectName  objectName = objectName( name );
+			if( server.isRegistered(objectName) )
+				server.unregisterMBean( objectName );
+		} catch( JMException | SecurityException e ) {
+			log.warn( "fail to unregister cache MBean. (name: {})", name, e );
+		}
+	}
+
+	/**
+	 * get registered cache.
+	 *
+	 * @param name	cache name
+	 * @return cache (null if not registered or garbage collected)
+	 */
+	public Cache<?,?> get( String name ) {
+		CacheMonitor monitor = monitors.get( name );
+		return monitor == null ? null : monitor.cache();
+	}
+
+	/**
+	 * get names of registered caches.
+	 *
+	 * @return cache names in ascending order
+	 */
+	public Set<String> names() {
+		purge();
+		return new TreeSet<>( monitors.keySet() );
+	}
+
+	/**
+	 * get JMX object name of cache.
+	 *
+	 * @param name	cache name
+	 * @return object name
+	 * @throws JMException if name is malformed
+	 */
+	public ObjectName objectName( String name ) throws JMException {
+		return new ObjectName( DOMAIN + ":type=Cache,name=" + ObjectName.quote(name) );
+	}
+
+	private void purge() {
+		monitors.forEach( (name, monitor) -> {
+			if( monitor.isCollected() && monitors.remove(name, monitor) )
+				unregisterMBean( name );
+		});
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.github.nayasis.basica.cache.simulator;
+
+import com.github.nayasis.basica.base.Strings;
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.implement.FifoCache;
+import com.github.nayasis.basica.cache.implement.LruCache;
+import com.github.nayasis.basica.cache.implement.TinyLfuCache;
+import com.github.nayasis.basica.file.Files;
+import com.github.nayasis.basica.model.NList;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Hit ratio simulator replaying recorded key trace against cache policies.
+ *
+ * <pre>
+ * HitRatioSimulator simulator = new HitRatioSimulator( 1000 );
+ *
+ * // trace file contains one key per line.
+ * NList result = simulator.replayFile( "/log/trace.txt" );
+ *
+ * System.out.println( result );
+ *
+ * +---------+----------+----------+--------+----------+
+ * | policy  | capacity | requests | hits   | hitRatio |
+ * +---------+----------+----------+--------+----------+
+ * | LRU     | 1000     | 100000   | 41200  | 0.4120   |
+ * | FIFO    | 1000     | 100000   | 39811  | 0.3981   |
+ * | TinyLFU | 1000     | 100000   | 58533  | 0.5853   |
+ * +---------+----------+----------+--------+----------+
+ * </pre>
+ */
+public class HitRatioSimulator {
+
+	private final int                                         capacity;
+	private final Map<String,Supplier<Cache<Object,Boolean>>> policies = new LinkedHashMap<>();
+
+	/**
+	 * create simulator comparing LRU, FIFO and TinyLFU policies.
+	 *
+	 * @param capacity cache capacity
+	 */
+	public HitRatioSimulator( int capacity ) {
+		this.capacity = capacity;
+		policy( "LRU",     () -> new LruCache<>(capacity)     );
+		policy( "FIFO",    () -> new FifoCache<>(capacity)    );
+		policy( "TinyLFU", () -> new TinyLfuCache<>(capacity) );
+	}
+
+	/**
+	 * add policy to simulate.
+	 *
+	 * @param name	policy name
+	 * @param cache	supplier creating empty cache (capacity must be set already)
+	 * @return self instance
+	 */
+	public HitRatioSimulator policy( String name, Supplier<Cache<Object,Boolean>> cache ) {
+		policies.put( name, cache );
+		return this;
+	}
+
+	/**
+	 * clear all policies.
+	 *
+	 * @return self instance
+	 */
+	public HitRatioSimulator clearPolicy() {
+		policies.clear();
+		return this;
+	}
+
+	/**
+	 * replay key trace against every policy.
+	 *
+	 * @param trace	keys requested in order
+	 * @return simulation result per policy
+	 */
+	public NList replay( Iterable<?> trace ) {
+		return replay( name -> trace.iterator() );
+	}
+
+	/**
+	 * replay key trace file against every policy.
+	 *
+	 * trace file is read again for each policy, so it does not need to fit in memory.
+	 *
+	 * @param path	trace file path containing one key per line (blank line is ignored)
+	 * @return simulation result per policy
+	 */
+	public NList replayFile( Object path ) {
+		NList result = new NList();
+		for( String name : policies.keySet() ) {
+			try( Stream<String> lines = Files.lines(path) ) {
+				Iterator<?> trace = lines.map( String::trim ).filter( Strings::isNotEmpty ).iterator();
+				result.addRows( replay(name, trace) );
+			}
+		}
+		return result;
+	}
+
+	private NList replay( Function<String,Iterator<?>> trace ) {
+		NList result = new NList();
+		for( String name : policies.keySet() ) {
+			result.addRows( replay(name, trace.apply(name)) );
+		}
+		return result;
+	}
+
+	private NList replay( String name, Iterator<?> trace ) {
+
+		Cache<Object,Boolean> cache = policies.get( name ).get();
+
+		long requests = 0;
+		long hits     = 0;
+
+		while( trace.hasNext() ) {
+			Object key = trace.next();
+			requests++;
+			if( cache.get(key) != null ) {
+				hits++;
+			} else {
+				cache.put( key, Boolean.TRUE );
+			}
+		}
+
+		NList row = new NList();
+		row.addData( "policy",   name     );
+		row.addData( "capacity", capacity );
+		row.addData( "requests", requests );
+		row.addData( "hits",     hits     );
+		row.addData( "hitRatio", String.format(Locale.ROOT, "%.4f", requests == 0 ? 0. : (double) hits / requests) );
+		return row;
+
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.github.nayasis.basica.compress;
+
+/**
+ * Compression codec
+ */
+public enum Codec {
+
+    /** GZIP format (RFC 1952) */
+    GZIP,
+
+    /** ZLIB wrapped deflate format (RFC 1950) */
+    DEFLATE,
+
+    /**
+     * LZ4 frame format (requires commons-compress)
+     *
+     * <p>commons-compress implements LZ4 in pure Java, so it is used for interoperability with LZ4 tools,
+     * not for speed. (it is much slower than GZIP, and level is ignored)</p>
+     */
+    LZ4,
+
+    /** Zstandard format (requires commons-compress and zstd-jni) */
+    ZSTD;
+
+    /** default compression level of codec */
+    public static final int DEFAULT_LEVEL = -1;
+
+    /**
+     * check if codec can be used in current classpath.
+     *
+     * @return true if codec is available
+     */
+    public boolean isAvailable() {
+        switch( this ) {
+            case GZIP :
+            case DEFLATE :
+                return true;
+            default :
+                try {
+                    return CommonsCompress.isAvailable( this );
+                } catch( Throwable e ) {
+                    return false;
+                }
+        }
+    }
+
+    /**
+     * check if codec can be used in current classpath.
+     *
+     * @throws NoClassDefFoundError if required library does not exist.
+     */
+    void checkAvailable() throws NoClassDefFoundError {
+        if( isAvailable() ) return;
+        StringBuilder errorMessage = new StringBuilder()
+            .append( "you must import [Apache Common Compress Library] to use " ).append( this ).append( " codec.\n" )
+            .append( "\t- Maven dependency is like below.\n" )
+            .append( "\t\t<dependency>\n" )
+            .append( "\t\t  <groupId>org.apache.commons</groupId>\n" )
+            .append( "\t\t  <artifactId>commons-compress</artifactId>\n" )
+            .append( "\t\t  <version>1.21</version>\n" )
+            .append( "\t\t</dependency>\n" );
+        if( this == ZSTD ) {
+            errorMessage
+                .append( "\t\t<dependency>\n" )
+                .append( "\t\t  <groupId>com.github.luben</groupId>\n" )
+                .append( "\t\t  <artifactId>zstd-jni</artifactId>\n" )
+                .append( "\t\t</dependency>\n" );
+        }
+        throw new NoClassDefFoundError( errorMessage.toString() );
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.nayasis.basica.compress;
+
+import lombok.experimental.UtilityClass;
+import org.apache.commons.compress.compressors.lz4.BlockLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream.BlockSize;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codecs provided by Apache Commons Compress
+ *
+ * <pre>
+ * commons-compress is optional dependency, so classes of it are touched only inside this class.
+ * (availability must be checked by {@link Codec#checkAvailable()} before using this class)
+ * </pre>
+ */
+@UtilityClass
+class CommonsCompress {
+
+    /**
+     * LZ4 parameters skipping lazy matching, which costs much time for little gain in pure Java LZ77 matcher.
+     * (block size is kept default, because commons-compress 1.21 fails to write 64KB block without lazy matching)
+     */
+    private final FramedLZ4CompressorOutputStream.Parameters LZ4_PARAMETERS = new FramedLZ4CompressorOutputStream.Parameters(
+        BlockSize.M4, true, false, false, BlockLZ4CompressorOutputStream.createParameterBuilder().withLazyMatching( false ).build()
+    );
+
+    public boolean isAvailable( Codec codec ) {
+        switch( codec ) {
+            case LZ4  : return FramedLZ4CompressorOutputStream.class != null;
+            case ZSTD : return ZstdUtils.isZstdCompressionAvailable();
+            default   : return false;
+        }
+    }
+
+    public OutputStream compress( OutputStream out, Codec codec, int level ) throws IOException {
+        switch( codec ) {
+            case LZ4  : return new FramedLZ4CompressorOutputStream( out, LZ4_PARAMETERS );
+            case ZSTD : return level == Codec.DEFAULT_LEVEL ? new ZstdCompressorOutputStream( out ) : new ZstdCompressorOutputStream( out, level );
+            default   : throw new IllegalArgumentException( "unsupported codec : " + codec );
+        }
+    }
+
+    public InputStream decompress( InputStream in, Codec codec ) throws IOException {
+        switch( codec ) {
+            case LZ4  : return new FramedLZ4CompressorInputStream( in, true );
+            case ZSTD : return new ZstdCompressorInputStream( in );
+            default   : throw new IllegalArgumentException( "unsupported codec : " + codec );
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.github.nayasis.basica.compress;
+
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Byte and stream compressor
+ *
+ * <pre>
+ * GZIP and DEFLATE use pooled {@link java.util.zip.Deflater} and {@link java.util.zip.Inflater}.
+ * LZ4 and ZSTD need Apache Commons Compress (and zstd-jni for ZSTD) in classpath.
+ * (LZ4 of commons-compress is pure Java and slower than GZIP, so use it only for compatibility with LZ4 data)
+ *
+ * byte[] zipped = Compressor.compress( bytes, Codec.GZIP );
+ * byte[] origin = Compressor.decompress( zipped, Codec.GZIP );
+ *
+ * try( OutputStream out = Compressor.compress( new FileOutputStream(file), Codec.LZ4 ) ) {
+ *     out.write( bytes );
+ * }
+ * </pre>
+ */
+@UtilityClass
+public class Compressor {
+
+    private final int BUFFER_SIZE = 8192;
+
+    /**
+     * compress bytes.
+     *
+     * @param bytes bytes to compress
+     * @param codec compression codec
+     * @return compressed bytes
+     */
+    public byte[] compress( byte[] bytes, Codec codec ) {
+        return compress( bytes, codec, Codec.DEFAULT_LEVEL );
+    }
+
+    /**
+     * compress bytes.
+     *
+     * @param bytes bytes to compress
+     * @param codec compression codec
+     * @param level compression level (GZIP/DEFLATE : 0~9, ZSTD : 1~22, -1 : default, ignored in LZ4)
+     * @return compressed bytes
+     */
+    public byte[] compress( byte[] bytes, Codec codec, int level ) {
+        if( bytes == null ) return null;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream( Math.max(64, bytes.length / 2) );
+        try( OutputStream out = compress(buffer, codec, level) ) {
+            out.write( bytes );
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * decompress bytes.
+     *
+     * @param bytes compressed bytes
+     * @param codec compression codec
+     * @return decompressed bytes
+     */
+    public byte[] decompress( byte[] bytes, Codec codec ) {
+        if( bytes == null ) return null;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream( Math.max(64, bytes.length * 3) );
+        try( InputStream in = decompress(new ByteArrayInputStream(bytes), codec) ) {
+            byte[] chunk = new byte[ BUFFER_SIZE ];
+            int read;
+            while( (read = in.read(chunk)) != -1 ) {
+                buffer.write( chunk, 0, read );
+            }
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * wrap output stream to compress written data.
+     *
+     * @param out   output stream to write compressed data
+     * @param codec compression codec
+     * @return compressing output stream (closing it closes given output stream)
+     */
+    public OutputStream compress( OutputStream out, Codec codec ) {
+        return compress( out, codec, Codec.DEFAULT_LEVEL );
+    }
+
+    /**
+     * wrap output stream to compress written data.
+     *
+     * @param out   output stream to write compressed data
+     * @param codec compression codec
+     * @param level compression level (GZIP/DEFLATE : 0~9, ZSTD : 1~22, -1 : default, ignored in LZ4)
+     * @return compressing output stream (closing it closes given output stream)
+     */
+    public OutputStream compress( OutputStream out, Codec codec, int level ) {
+        try {
+            switch( codec ) {
+                case GZIP    : return new PooledDeflaterOutputStream( out, level, true );
+                case DEFLATE : return new PooledDeflaterOutputStream( out, level, false );
+                default      :
+                    codec.checkAvailable();
+                    return CommonsCompress.compress( out, codec, level );
+            }
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * wrap input stream to decompress read data.
+     *
+     * @param in    input stream of compressed data
+     * @param codec compression codec
+     * @return decompressing input stream (closing it closes given input stream)
+     */
+    public InputStream decompress( InputStream in, Codec codec ) {
+        try {
+            switch( codec ) {
+                case GZIP    : return new PooledInflaterInputStream( in, true );
+                case DEFLATE : return new PooledInflaterInputStream( in, false );
+                default      :
+                    codec.checkAvailable();
+                    return CommonsCompress.decompress( in, codec );
+            }
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.nayasis.basica.compress;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Pool of {@link Deflater} and {@link Inflater}
+ *
+ * <pre>
+ * creating Deflater allocates native zlib stream (about 256KB), and it is released only by end() or finalizer.
+ * so instances are reset and reused.
+ * </pre>
+ */
+@UtilityClass
+class DeflaterPool {
+
+    private final int MAX_IDLE = Math.max( 4, Runtime.getRuntime().availableProcessors() * 2 );
+
+    private final Map<Integer,Pool<Deflater>> DEFLATERS = new ConcurrentHashMap<>();
+    private final Pool<Inflater>              INFLATERS = new Pool<>();
+    private final Pool<Inflater>              INFLATERS_NOWRAP = new Pool<>();
+
+    /**
+     * borrow deflater.
+     *
+     * @param level     compression level (0~9, or -1 as default)
+     * @param nowrap    if true, ZLIB header and checksum are not used (for GZIP)
+     * @return deflater
+     */
+    public Deflater deflater( int level, boolean nowrap ) {
+        Deflater deflater = deflaters( level, nowrap ).poll();
+        return deflater != null ? deflater : new Deflater( level, nowrap );
+    }
+
+    /**
+     * return deflater to pool.
+     *
+     * @param deflater  deflater borrowed by {@link #deflater(int, boolean)}
+     * @param level     compression level
+     * @param nowrap    nowrap option
+     */
+    public void release( Deflater deflater, int level, boolean nowrap ) {
+        deflater.reset();
+        if( ! deflaters(level, nowrap).offer(deflater) )
+            deflater.end();
+    }
+
+    /**
+     * borrow inflater.
+     *
+     * @param nowrap    if true, ZLIB header and checksum are not used (for GZIP)
+     * @return inflater
+     */
+    public Inflater inflater( boolean nowrap ) {
+        Inflater inflater = ( nowrap ? INFLATERS_NOWRAP : INFLATERS ).poll();
+        return inflater != null ? inflater : new Inflater( nowrap );
+    }
+
+    /**
+     * return inflater to pool.
+     *
+     * @param inflater  inflater borrowed by {@link #inflater(boolean)}
+     * @param nowrap    nowrap option
+     */
+    public void release( Inflater inflater, boolean nowrap ) {
+        inflater.reset();
+        if( ! (nowrap ? INFLATERS_NOWRAP : INFLATERS).offer(inflater) )
+            inflater.end();
+    }
+
+    private Pool<Deflater> deflaters( int level, boolean nowrap ) {
+        return DEFLATERS.computeIfAbsent( nowrap ? -level - 100 : level, key -> new Pool<>() );
+    }
+
+    private static final class Pool<T> {
+
+        private final Queue<T>      idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            T item = idle.poll();
+            if( item != null ) size.decrementAndGet();
+            return item;
+        }
+
+        boolean offer( T item ) {
+            if( size.incrementAndGet() > MAX_IDLE ) {
+                size.decrementAndGet();
+                return false;
+            }
+            idle.offer( item );
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.nayasis.basica.compress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Deflater output stream returning its deflater to {@link DeflaterPool} when closed.
+ *
+ * <pre>
+ * if gzip is true, GZIP header and trailer (CRC32, ISIZE) are written around deflated data.
+ * </pre>
+ */
+class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+    private final int     level;
+    private final boolean gzip;
+    private final CRC32   crc;
+    private boolean       closed = false;
+
+    PooledDeflaterOutputStream( OutputStream out, int level, boolean gzip ) throws IOException {
+        super( out, DeflaterPool.deflater(level, gzip), 8192 );
+        this.level = level;
+        this.gzip  = gzip;
+        this.crc   = gzip ? new CRC32() : null;
+        if( ! gzip ) return;
+        try {
+            out.write( GZIP_HEADER );
+        } catch( IOException | RuntimeException e ) {
+            DeflaterPool.release( def, level, gzip );
+            throw e;
+        }
+    }
+
+    @Override
+    public void write( byte[] b, int off, int len ) throws IOException {
+        // deflater may be used by other stream after released.
+        ensureOpen();
+        super.write( b, off, len );
+        if( gzip ) crc.update( b, off, len );
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        super.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        ensureOpen();
+        if( def.finished() ) return;
+        super.finish();
+        if( gzip ) {
+            writeInt( (int) crc.getValue() );
+            writeInt( def.getTotalIn() );
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if( closed ) return;
+        try {
+            try {
+                finish();
+            } finally {
+                closed = true;
+                out.close();
+            }
+        } finally {
+            DeflaterPool.release( def, level, gzip );
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if( closed ) throw new IOException( "Stream closed" );
+    }
+
+    private void writeInt( int value ) throws IOException {
+        out.write( value        & 0xff );
+        out.write( (value >> 8)  & 0xff );
+        out.write( (value >> 16) & 0xff );
+        out.write( (value >> 24) & 0xff );
+    }
+
+}
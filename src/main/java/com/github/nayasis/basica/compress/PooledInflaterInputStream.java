@@ -0,0 +1,194 @@
+package com.github.nayasis.basica.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Inflater input stream returning its inflater to {@link DeflaterPool} when closed.
+ *
+ * <pre>
+ * if gzip is true, GZIP header and trailer (CRC32, ISIZE) around deflated data are read and verified,
+ * and concatenated GZIP members are read in sequence. (same as {@link java.util.zip.GZIPInputStream})
+ * </pre>
+ */
+class PooledInflaterInputStream extends InflaterInputStream {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final int FHCRC    = 2;
+    private static final int FEXTRA   = 4;
+    private static final int FNAME    = 8;
+    private static final int FCOMMENT = 16;
+
+    private final boolean gzip;
+    private final CRC32   crc;
+    private boolean       eos    = false;
+    private boolean       closed = false;
+
+    PooledInflaterInputStream( InputStream in, boolean gzip ) throws IOException {
+        super( in, DeflaterPool.inflater(gzip), 8192 );
+        this.gzip = gzip;
+        this.crc  = gzip ? new CRC32() : null;
+        if( ! gzip ) return;
+        try {
+            readHeader( in );
+        } catch( IOException | RuntimeException e ) {
+            DeflaterPool.release( inf, gzip );
+            throw e;
+        }
+    }
+
+    @Override
+    public int read( byte[] b, int off, int len ) throws IOException {
+        // inflater may be used by other stream after released.
+        ensureOpen();
+        if( ! gzip ) return super.read( b, off, len );
+        while( ! eos ) {
+            int read = super.read( b, off, len );
+            if( read != -1 ) {
+                crc.update( b, off, read );
+                return read;
+            }
+            eos = readTrailer();
+        }
+        return -1;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return eos ? 0 : super.available();
+    }
+
+    @Override
+    public long skip( long n ) throws IOException {
+        ensureOpen();
+        return super.skip( n );
+    }
+
+    @Override
+    public void close() throws IOException {
+        if( closed ) return;
+        closed = true;
+        try {
+            in.close();
+        } finally {
+            DeflaterPool.release( inf, gzip );
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if( closed ) throw new IOException( "Stream closed" );
+    }
+
+    /**
+     * read GZIP member header.
+     *
+     * @param in    input stream
+     * @return byte count of header
+     */
+    private int readHeader( InputStream in ) throws IOException {
+
+        CheckedInputStream checked = new CheckedInputStream( in, crc );
+        crc.reset();
+
+        if( readUShort(checked) != GZIP_MAGIC ) throw new ZipException( "Not in GZIP format" );
+        if( readUByte(checked) != Deflater.DEFLATED ) throw new ZipException( "Unsupported compression method" );
+
+        int flags = readUByte( checked );
+        skipBytes( checked, 6 );    // MTIME, XFL, OS
+        int length = 10;
+
+        if( (flags & FEXTRA) == FEXTRA ) {
+            int extra = readUShort( checked );
+            skipBytes( checked, extra );
+            length += extra + 2;
+        }
+        if( (flags & FNAME) == FNAME ) {
+            do { length++; } while( readUByte(checked) != 0 );
+        }
+        if( (flags & FCOMMENT) == FCOMMENT ) {
+            do { length++; } while( readUByte(checked) != 0 );
+        }
+        if( (flags & FHCRC) == FHCRC ) {
+            int expected = (int) crc.getValue() & 0xffff;
+            if( readUShort(in) != expected ) throw new ZipException( "Corrupt GZIP header" );
+            length += 2;
+        }
+
+        crc.reset();
+        return length;
+
+    }
+
+    /**
+     * read GZIP member trailer, and header of next member if exists.
+     *
+     * @return true if stream ends
+     */
+    private boolean readTrailer() throws IOException {
+
+        InputStream in = this.in;
+
+        // bytes remained in inflater buffer are read first.
+        int remaining = inf.getRemaining();
+        if( remaining > 0 ) {
+            in = new SequenceInputStream( new ByteArrayInputStream(buf, len - remaining, remaining), new FilterInputStream(in) {
+                @Override
+                public void close() {}
+            });
+        }
+
+        if( readUInt(in) != crc.getValue() || readUInt(in) != (inf.getBytesWritten() & 0xffffffffL) )
+            throw new ZipException( "Corrupt GZIP trailer" );
+
+        // concatenated member
+        if( this.in.available() > 0 || remaining > 26 ) {
+            int header;
+            try {
+                header = readHeader( in ) + 8;
+            } catch( IOException e ) {
+                // trailing garbage is ignored.
+                return true;
+            }
+            inf.reset();
+            if( remaining > header )
+                inf.setInput( buf, len - remaining + header, remaining - header );
+            return false;
+        }
+
+        return true;
+
+    }
+
+    private long readUInt( InputStream in ) throws IOException {
+        long low = readUShort( in );
+        return ( (long) readUShort(in) << 16 ) | low;
+    }
+
+    private int readUShort( InputStream in ) throws IOException {
+        int low = readUByte( in );
+        return ( readUByte(in) << 8 ) | low;
+    }
+
+    private int readUByte( InputStream in ) throws IOException {
+        int b = in.read();
+        if( b == -1 ) throw new EOFException();
+        return b;
+    }
+
+    private void skipBytes( InputStream in, int n ) throws IOException {
+        while( n-- > 0 )
+            readUByte( in );
+    }
+
+}
@@ -149,13 +149,14 @@ public class NListPrinter {
 
         double count = 0; StringBuilder sb = new StringBuilder();
 
-        for( int i = 0, iCnt = txt.length(); i < iCnt; i++ ) {
-            char c = txt.charAt( i );
+        for( int i = 0, iCnt = txt.length(); i < iCnt; ) {
+            int c = txt.codePointAt( i );
             count += Characters.getFontWidth( c );
             if( count > maxColumnWidth() ) {
                 return sb.toString();
             }
-            sb.append( c );
+            sb.appendCodePoint( c );
+            i += Character.charCount( c );
         }
 
         return sb.toString();
@@ -1,6 +1,7 @@
 package com.github.nayasis.basica.reflection;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.nayasis.basica.reflection.core.BeanMapper;
 import com.github.nayasis.basica.reflection.core.BeanMerger;
 import com.github.nayasis.basica.reflection.core.ClassReflector;
 import com.github.nayasis.basica.reflection.core.Cloner;
@@ -10,15 +11,21 @@ import com.github.nayasis.basica.reflection.helper.invoker.MethodInvoker;
 import com.github.nayasis.basica.reflection.helper.mapper.NObjectMapper;
 import com.github.nayasis.basica.exception.unchecked.JsonMappingException;
 import com.github.nayasis.basica.exception.unchecked.UncheckedClassCastException;
+import com.github.nayasis.basica.exception.unchecked.UncheckedIllegalAccessException;
 import com.github.nayasis.basica.model.NList;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Reflection Utility
@@ -92,20 +99,20 @@ public class Reflector {
     public String toString( Object bean ) {
     	NList result = new NList();
         for( Field field : ClassReflector.getFields(bean) ) {
-        	if( ! field.isAccessible() ) field.setAccessible( true );
 			String typeName = field.getType().getName();
         	result.addData( "field", field.getName() );
 			result.addData( "type", typeName );
         	try {
+        		Object value = ClassReflector.getAccessor( field ).get( bean );
         		switch( typeName ) {
         			case "[C" :
-        				result.addData( "value", "[" + new String( (char[]) field.get( bean ) ) + "]" );
+        				result.addData( "value", "[" + new String( (char[]) value ) + "]" );
         				break;
         			default :
-        				result.addData( "value", field.get( bean ) );
+        				result.addData( "value", value );
 
         		}
-        	} catch( IllegalArgumentException | IllegalAccessException e ) {
+        	} catch( IllegalArgumentException | UncheckedIllegalAccessException e ) {
         		result.addData( "value", e.getMessage() );
             }
         }
@@ -258,6 +265,10 @@ public class Reflector {
 	 * @return	bean filled by object's value
 	 */
 	public <T> T toBeanFrom( Object object, Class<T> toClass ) throws JsonMappingException {
+		if( object instanceof Map ) {
+			T bean = BeanMapper.toBean( (Map) object, toClass );
+			if( bean != null ) return bean;
+		}
 		return mapperNullable.toBeanFrom( object, toClass );
 	}
 
@@ -300,13 +311,71 @@ public class Reflector {
 		return toListFrom( json, Object.class );
 	}
 
+	/**
+	 * read json array as stream of element without loading whole array in memory.
+	 *
+	 * <pre>
+	 * try( Stream&lt;User&gt; users = Reflector.toStreamFrom( input, User.class ) ) {
+	 *     users.forEach( nlist::addRow );
+	 * }
+	 * </pre>
+	 *
+	 * @param input		json input stream
+	 * @param generic	element type
+	 * @param <T> element type
+	 * @return stream of element (must be closed to release input)
+	 */
+	public <T> Stream<T> toStreamFrom( InputStream input, Class<T> generic ) throws JsonMappingException {
+		return mapperNullable.toStreamFrom( input, generic );
+	}
+
+	/**
+	 * read json array as stream of element without loading whole array in memory.
+	 *
+	 * @param reader	json reader
+	 * @param generic	element type
+	 * @param <T> element type
+	 * @return stream of element (must be closed to release reader)
+	 */
+	public <T> Stream<T> toStreamFrom( Reader reader, Class<T> generic ) throws JsonMappingException {
+		return mapperNullable.toStreamFrom( reader, generic );
+	}
+
+	/**
+	 * read json array as stream of element without loading whole array in memory.
+	 *
+	 * @param path		json file path
+	 * @param generic	element type
+	 * @param <T> element type
+	 * @return stream of element (must be closed to release file)
+	 */
+	public <T> Stream<T> toStreamFrom( Path path, Class<T> generic ) throws JsonMappingException {
+		return mapperNullable.toStreamFrom( path, generic );
+	}
+
+	/**
+	 * read json array and pass each element to consumer without loading whole array in memory.
+	 *
+	 * @param path		json file path
+	 * @param generic	element type
+	 * @param consumer	element consumer
+	 * @param <T> element type
+	 */
+	public <T> void forEachFrom( Path path, Class<T> generic, Consumer<? super T> consumer ) throws JsonMappingException {
+		mapperNullable.forEachFrom( path, generic, consumer );
+	}
+
 	/**
 	 * Convert as Map from object
+	 * <pre>
+	 * flat bean is converted directly without Jackson. (see {@link BeanMapper})
+	 * </pre>
 	 * @param object	json text (type can be String, StringBuffer, StringBuilder), Map or bean to convert
 	 * @return	Map filled by object's value
 	 */
 	public Map toMapFrom( Object object ) throws JsonMappingException {
-		return mapperNullable.toMapFrom( object );
+		Map map = BeanMapper.toMap( object );
+		return map != null ? map : mapperNullable.toMapFrom( object );
 	}
 
 	/**
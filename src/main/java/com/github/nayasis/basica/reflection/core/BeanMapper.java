@@ -0,0 +1,233 @@
+package com.github.nayasis.basica.reflection.core;
+
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.github.nayasis.basica.base.Types;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Direct converter between flat bean and Map
+ *
+ * <pre>
+ * flat bean is converted by field accessors without Jackson round-trip, producing the same result of {@link JsonConverter}.
+ *
+ * bean is flat if
+ *  - it has no Jackson annotation in class, field and method.
+ *  - every property is String, number (except byte), boolean, byte, char or enum without Jackson annotation.
+ *
+ * if bean is not flat (or Map value needs type conversion), null is returned and caller must fall back to Jackson.
+ * </pre>
+ */
+@UtilityClass
+public class BeanMapper {
+
+    private final ConcurrentLruCache<Class,BeanPlan> CACHE_PLAN = CacheRegistry.register( "BeanMapper.plan", new ConcurrentLruCache<>(256) );
+
+    /** types converted to the same value by Jackson */
+    private final Set<Class<?>> IDENTICAL = new HashSet<>( Arrays.asList(
+        String.class, Boolean.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class
+    ));
+
+    private final int IDENTITY = 0;
+    private final int BYTE     = 1;
+    private final int CHAR     = 2;
+    private final int ENUM     = 3;
+
+    /**
+     * convert flat bean to Map.
+     *
+     * @param bean  bean
+     * @return map of property, or null if bean is not flat.
+     */
+    public Map<String,Object> toMap( Object bean ) {
+
+        if( bean == null ) return null;
+
+        BeanPlan plan = CACHE_PLAN.get( bean.getClass(), BeanPlan::new );
+        if( ! plan.flat ) return null;
+
+        Map<String,Object> map = new LinkedHashMap<>( plan.accessors.length * 4 / 3 + 1 );
+
+        for( int i = 0; i < plan.accessors.length; i++ ) {
+            Object value = plan.accessors[ i ].get( bean );
+            if( value != null ) {
+                switch( plan.kinds[i] ) {
+                    case BYTE : value = ( (Byte) value ).intValue();    break;
+                    case CHAR : value = value.toString();               break;
+                    case ENUM : value = ( (Enum) value ).name();        break;
+                }
+            }
+            map.put( plan.accessors[i].name(), value );
+        }
+
+        return map;
+
+    }
+
+    /**
+     * convert Map to flat bean.
+     *
+     * @param map   map of property
+     * @param klass class of bean
+     * @param <T>   type of bean
+     * @return bean, or null if bean is not flat or some value needs type conversion.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T toBean( Map<?,?> map, Class<T> klass ) {
+
+        if( map == null || klass == null ) return null;
+
+        BeanPlan plan = CACHE_PLAN.get( klass, BeanPlan::new );
+        if( ! plan.flat || plan.constructor == null ) return null;
+
+        T bean;
+        try {
+            bean = (T) plan.constructor.newInstance();
+        } catch( Exception e ) {
+            return null;
+        }
+
+        for( Map.Entry<?,?> entry : map.entrySet() ) {
+
+            if( ! (entry.getKey() instanceof String) ) return null;
+
+            Integer index = plan.index.get( entry.getKey() );
+            if( index == null ) continue;
+
+            FieldAccessor accessor = plan.accessors[ index ];
+            Object        value    = entry.getValue();
+
+            if( value == null ) {
+                accessor.set( bean, plan.defaults[index] );
+                continue;
+            }
+
+            Class<?> type = Types.wrap( accessor.type() );
+
+            switch( plan.kinds[index] ) {
+                case CHAR :
+                    if( value instanceof String && ((String) value).length() == 1 ) value = ((String) value).charAt( 0 );
+                    break;
+                case ENUM :
+                    if( value instanceof String ) {
+                        try {
+                            value = Enum.valueOf( (Class<Enum>) type, (String) value );
+                        } catch( IllegalArgumentException e ) {
+                            return null;
+                        }
+                    }
+                    break;
+            }
+
+            if( value.getClass() != type ) return null;
+
+            accessor.set( bean, value );
+
+        }
+
+        return bean;
+
+    }
+
+    private boolean isCandidate( Class<?> klass ) {
+        if( klass.isPrimitive() || klass.isArray() || klass.isInterface() || klass.isEnum() ) return false;
+        if( klass.isAnonymousClass() || klass.isLocalClass() || klass.isSynthetic() ) return false;
+        if( Map.class.isAssignableFrom(klass) || Collection.class.isAssignableFrom(klass) ) return false;
+        if( JsonSerializable.class.isAssignableFrom(klass) ) return false;
+        String name = klass.getName();
+        return ! name.startsWith( "java." ) && ! name.startsWith( "javax." );
+    }
+
+    private int kindOf( Class<?> type ) {
+        Class<?> wrapped = Types.wrap( type );
+        if( IDENTICAL.contains(wrapped) ) return IDENTITY;
+        if( wrapped == Byte.class )       return BYTE;
+        if( wrapped == Character.class )  return CHAR;
+        if( type.isEnum() && ! JacksonProperties.hasAnnotation(type) ) return ENUM;
+        return -1;
+    }
+
+    /**
+     * conversion plan of class built once
+     */
+    private class BeanPlan {
+
+        final boolean          flat;
+        /** properties ordered as Jackson does (parent class first) */
+        final FieldAccessor[]  accessors;
+        final int[]            kinds;
+        /** value set when Map value is null (Jackson sets default of primitive) */
+        final Object[]         defaults;
+        final Map<String,Integer> index = new HashMap<>();
+        final Constructor<?>   constructor;
+
+        BeanPlan( Class<?> klass ) {
+
+            List<Field> fields = new ArrayList<>();
+            boolean     flat   = isCandidate( klass ) && ! JacksonProperties.hasAnnotation( klass );
+
+            if( flat ) {
+                List<Class<?>> hierarchy = new ArrayList<>();
+                for( Class<?> c = klass; c != null && c != Object.class; c = c.getSuperclass() )
+                    hierarchy.add( 0, c );
+                for( Class<?> c : hierarchy ) {
+                    for( Field field : c.getDeclaredFields() ) {
+                        if( JacksonProperties.nameOf(field) == null ) continue;
+                        // duplicated name or unsupported type is left to Jackson.
+                        if( index.containsKey(field.getName()) || kindOf(field.getType()) < 0 ) {
+                            flat = false;
+                            break;
+                        }
+                        index.put( field.getName(), fields.size() );
+                        fields.add( field );
+                    }
+                }
+            }
+
+            this.flat      = flat;
+            this.accessors = new FieldAccessor[ flat ? fields.size() : 0 ];
+            this.kinds     = new int[ accessors.length ];
+            this.defaults  = new Object[ accessors.length ];
+
+            for( int i = 0; i < accessors.length; i++ ) {
+                Field field = fields.get( i );
+                accessors[ i ] = ClassReflector.getAccessor( field );
+                kinds[ i ]     = kindOf( field.getType() );
+                defaults[ i ]  = field.getType().isPrimitive() ? Array.get( Array.newInstance(field.getType(), 1), 0 ) : null;
+            }
+
+            this.constructor = flat ? constructorOf( klass ) : null;
+
+        }
+
+        private Constructor<?> constructorOf( Class<?> klass ) {
+            if( Modifier.isAbstract(klass.getModifiers()) ) return null;
+            try {
+                Constructor<?> constructor = klass.getDeclaredConstructor();
+                constructor.setAccessible( true );
+                return constructor;
+            } catch( NoSuchMethodException | SecurityException e ) {
+                return null;
+            }
+        }
+
+    }
+
+}
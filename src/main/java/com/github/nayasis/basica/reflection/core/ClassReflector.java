@@ -3,7 +3,8 @@ package com.github.nayasis.basica.reflection.core;
 import com.github.nayasis.basica.validation.Validator;
 import com.github.nayasis.basica.base.Classes;
 import com.github.nayasis.basica.base.Strings;
-import com.github.nayasis.basica.cache.implement.LruCache;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
 import com.github.nayasis.basica.exception.unchecked.UncheckedIllegalAccessException;
 import lombok.experimental.UtilityClass;
 
@@ -24,9 +25,11 @@ import java.util.stream.Collectors;
 @UtilityClass
 public class ClassReflector {
 
-    private final LruCache<Class,Set<Field>>       CACHE_FIELD       = new LruCache<>(256 );
-    private final LruCache<Class,Set<Method>>      CACHE_METHOD      = new LruCache<>(256 );
-    private final LruCache<Class,Set<Constructor>> CACHE_CONSTRUCTOR = new LruCache<>(256 );
+    private final ConcurrentLruCache<Class,Set<Field>>       CACHE_FIELD       = CacheRegistry.register( "ClassReflector.field",       new ConcurrentLruCache<>(256) );
+    private final ConcurrentLruCache<Class,Set<Method>>      CACHE_METHOD      = CacheRegistry.register( "ClassReflector.method",      new ConcurrentLruCache<>(256) );
+    private final ConcurrentLruCache<Class,Set<Constructor>> CACHE_CONSTRUCTOR = CacheRegistry.register( "ClassReflector.constructor", new ConcurrentLruCache<>(256) );
+    private final ConcurrentLruCache<Field,FieldAccessor>    CACHE_ACCESSOR    = CacheRegistry.register( "ClassReflector.accessor",    new ConcurrentLruCache<>(2048) );
+    private final ConcurrentLruCache<Class,FieldAccessor[]>  CACHE_ACCESSORS   = CacheRegistry.register( "ClassReflector.accessors",   new ConcurrentLruCache<>(256) );
 
     /**
      * set value to target instance's field.
@@ -36,13 +39,8 @@ public class ClassReflector {
      * @param value     value to modify
      */
     public void setValue( Object target, Field field, Object value ) {
-        execute( target, field, () -> {
-            if( Modifier.isStatic(field.getModifiers()) ){
-                field.set( null, value );
-            } else {
-                field.set( target, value );
-            }
-        });
+        if( target == null || field == null ) return;
+        getAccessor( field ).set( target, value );
     }
 
     /**
@@ -53,21 +51,37 @@ public class ClassReflector {
      * @param <T> This is the type parameter
      * @return  field's value
      */
-    @SuppressWarnings("unchecked")
     public <T> T getValue( Object target, Field field ) throws UncheckedIllegalAccessException {
+        if( target == null || field == null ) return null;
+        return getAccessor( field ).get( target );
+    }
 
-        final Object[] val = new Object[1];
+    /**
+     * get compiled accessor of field.
+     *
+     * @param field field
+     * @return cached accessor
+     */
+    public FieldAccessor getAccessor( Field field ) {
+        return CACHE_ACCESSOR.get( field, FieldAccessor::new );
+    }
 
-        execute( target, field, () -> {
-            if( Modifier.isStatic(field.getModifiers()) ){
-                val[0] = field.get( null );
-            } else {
-                val[0] = field.get( target );
+    /**
+     * get compiled accessors of instance fields in class.
+     *
+     * @param klass class
+     * @return cached accessors (static fields are excluded, and array must not be modified)
+     */
+    public FieldAccessor[] getAccessors( Class klass ) {
+        if( klass == null ) return new FieldAccessor[0];
+        return CACHE_ACCESSORS.get( klass, key -> {
+            List<FieldAccessor> accessors = new ArrayList<>();
+            for( Field field : getFields(key) ) {
+                if( isStatic(field) ) continue;
+                accessors.add( getAccessor(field) );
             }
+            return accessors.toArray( new FieldAccessor[0] );
         });
-
-        return val[0] == null ? null : (T) val[0];
-
     }
 
     /**
@@ -95,31 +109,6 @@ public class ClassReflector {
 
     }
 
-    private void execute( Object target, Field field, Runner runner ) throws UncheckedIllegalAccessException {
-
-        if( target == null || field == null ) return;
-
-        boolean inaccessible = ! field.isAccessible();
-
-        if( inaccessible )
-            field.setAccessible( true );
-
-        try {
-            runner.run();
-        } catch( IllegalAccessException e ) {
-            throw new UncheckedIllegalAccessException( e );
-        } finally {
-            if( inaccessible ) {
-                field.setAccessible( false );
-            }
-        }
-
-    }
-
-    private interface Runner {
-        void run() throws IllegalAccessException;
-    }
-
     /**
      * Get fields in object
      *
@@ -151,30 +140,25 @@ public class ClassReflector {
 
         if( klass == null ) return new HashSet<>();
 
-        if( CACHE_FIELD.contains(klass) )
-            return CACHE_FIELD.get( klass );
+        return CACHE_FIELD.get( klass, key -> {
 
-        Set<Field> fields = new HashSet<>();
+            Set<Field> fields = new HashSet<>();
 
-        addAll( fields, klass.getDeclaredFields() );
+            addAll( fields, key.getDeclaredFields() );
 
-        Class<?> parent = klass;
-        while ( (parent = parent.getSuperclass()) != Object.class && parent != null ) {
-            addAll( fields, parent.getDeclaredFields() );
-        }
+            Class<?> parent = key;
+            while ( (parent = parent.getSuperclass()) != Object.class && parent != null ) {
+                addAll( fields, parent.getDeclaredFields() );
+            }
 
-        CACHE_FIELD.putIfAbsent( klass, fields );
+            return fields;
 
-        return fields;
+        });
 
     }
 
     public Object getFieldIn( Field field, Object target ) {
-        try {
-            return field.get( target );
-        } catch ( IllegalAccessException e ) {
-            throw new UncheckedIllegalAccessException( e );
-        }
+        return getAccessor( field ).get( target );
     }
 
     private void addAll( Set<Field> set, Field[] fields ) {
@@ -234,21 +218,20 @@ public class ClassReflector {
 
         if( klass == null ) return new HashSet<>();
 
-        if( CACHE_METHOD.contains(klass) )
-            return CACHE_METHOD.get( klass );
+        return CACHE_METHOD.get( klass, key -> {
 
-        Set<Method> methods = new HashSet<>();
+            Set<Method> methods = new HashSet<>();
 
-        Classes.findParents(klass).forEach( parent -> {
-            methods.addAll( getMethods(parent) );
-        });
-        for( Method method : klass.getDeclaredMethods() ) {
-            methods.add( method );
-        }
+            Classes.findParents(key).forEach( parent -> {
+                methods.addAll( getMethods(parent) );
+            });
+            for( Method method : key.getDeclaredMethods() ) {
+                methods.add( method );
+            }
 
-        CACHE_METHOD.putIfAbsent( klass, methods );
+            return methods;
 
-        return methods;
+        });
 
     }
 
@@ -349,15 +332,13 @@ public class ClassReflector {
 
         if( klass == null ) return new HashSet<>();
 
-        if( CACHE_CONSTRUCTOR.contains(klass) )
-            return CACHE_CONSTRUCTOR.get( klass );
-
-        Set<Constructor> constructors = new HashSet<>();
-        for( Constructor constructor : klass.getDeclaredConstructors() ) {
-            constructors.add( constructor );
-        }
-        CACHE_CONSTRUCTOR.putIfAbsent( klass, constructors );
-        return constructors;
+        return CACHE_CONSTRUCTOR.get( klass, key -> {
+            Set<Constructor> constructors = new HashSet<>();
+            for( Constructor constructor : key.getDeclaredConstructors() ) {
+                constructors.add( constructor );
+            }
+            return constructors;
+        });
 
     }
 
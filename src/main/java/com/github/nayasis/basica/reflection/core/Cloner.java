@@ -1,7 +1,10 @@
 package com.github.nayasis.basica.reflection.core;
 
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.github.nayasis.basica.base.Classes;
 import com.github.nayasis.basica.base.Types;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
 import com.github.nayasis.basica.reflection.Reflector;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -9,13 +12,31 @@ import lombok.extern.slf4j.Slf4j;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @UtilityClass
 @Slf4j
 public class Cloner {
 
+    private final ConcurrentLruCache<Class,ClonePlan>   CACHE_PLAN      = CacheRegistry.register( "Cloner.plan",      new ConcurrentLruCache<>(256) );
+    private final ConcurrentLruCache<PlanKey,CopyPlan> CACHE_COPY_PLAN = CacheRegistry.register( "Cloner.copyPlan", new ConcurrentLruCache<>(256) );
+
+    /** types copied to the same value by Jackson */
+    private final Set<Class<?>> DIRECT = new HashSet<>( Arrays.asList(
+        String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        BigInteger.class, BigDecimal.class
+    ));
+
     /**
      * creates and returns a copy of object
      *
@@ -24,67 +45,102 @@ public class Cloner {
      * @return cloned object
      */
     public <T> T clone( T object ) {
-        return cloneObject( object, new HashMap<>() );
+        return cloneObject( object, new IdentityHashMap<>() );
     }
 
     @SuppressWarnings("unchecked")
     private <T> T cloneObject( T object, Map<Object,Object> cloned ) {
 
         if( object == null ) return null;
-        if( cloned.containsKey(object) ) return (T) cloned.get( object );
 
-        Class<?> klass = object.getClass();
+        ClonePlan plan = CACHE_PLAN.get( object.getClass(), ClonePlan::new );
+        if( plan.immutable ) return object;
+
+        Object clone = cloned.get( object );
+        if( clone != null ) return (T) clone;
 
-        if( Types.isImmutable(klass) ) {
-            return object;
-        } else if( Types.isEnum(klass) ) {
-            return object;
-        } else if( Types.isArray(klass) ) {
-            return cloneArray( object, cloned );
+        if( plan.array ) {
+            return (T) cloneArray( object, plan, cloned );
         }
 
-        Object clone = Classes.createInstance( klass );
+        clone = plan.instantiator.get();
         cloned.put( object, clone );
 
-        for( Field field : ClassReflector.getFields(klass) ) {
-
-            int modifiers = field.getModifiers();
-
-            if( Modifier.isStatic(modifiers) ) continue;
-
-            Object val      = ClassReflector.getValue( object, field );
-            Object cloneVal = cloneObject( val, cloned );
-            ClassReflector.setValue( clone, field, cloneVal );
+        FieldAccessor[] accessors = plan.accessors;
+        boolean[]       shallow   = plan.shallow;
 
+        for( int i = 0; i < accessors.length; i++ ) {
+            Object val = accessors[ i ].get( object );
+            accessors[ i ].set( clone, shallow[i] ? val : cloneObject(val, cloned) );
         }
 
         return (T) clone;
 
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T cloneArray( T object, Map<Object,Object> cloned ) {
-
-        Class<?> klass   = object.getClass();
-        Class<?> generic = klass.getComponentType();
+    private Object cloneArray( Object object, ClonePlan plan, Map<Object,Object> cloned ) {
 
-        int length = Array.getLength( object );
+        int    length = Array.getLength( object );
+        Object target = Array.newInstance( plan.klass.getComponentType(), length );
 
-        Object target = Array.newInstance( generic, length );
+        cloned.put( object, target );
 
         if( length > 0 ) {
-            if( Types.isImmutable(generic) ) {
+            if( plan.shallowArray ) {
                 System.arraycopy( object, 0, target, 0, length );
             } else {
+                Object[] source = (Object[]) object;
+                Object[] copied = (Object[]) target;
                 for( int i = 0; i < length; i++ ) {
-                    Object e = Array.get( object, i );
-                    Array.set( target, i, cloneObject(e,cloned) );
+                    copied[ i ] = cloneObject( source[i], cloned );
                 }
             }
         }
 
-        cloned.put( object, target );
-        return (T) target;
+        return target;
+
+    }
+
+    /**
+     * check if value of type can be shared with clone.
+     */
+    private boolean isShallow( Class<?> klass ) {
+        return klass.isPrimitive() || Types.isImmutable( klass ) || Types.isEnum( klass );
+    }
+
+    /**
+     * cloning plan of class built once
+     */
+    private class ClonePlan {
+
+        final Class<?>        klass;
+        final Supplier<?>     instantiator;
+        /** instance can be shared with clone */
+        final boolean         immutable;
+        final boolean         array;
+        /** elements of array can be copied without cloning */
+        final boolean         shallowArray;
+        final FieldAccessor[] accessors;
+        /** value of field can be copied without cloning */
+        final boolean[]       shallow;
+
+        ClonePlan( Class<?> klass ) {
+            this.klass        = klass;
+            this.immutable    = Types.isImmutable( klass ) || Types.isEnum( klass ) || isEnumConstant( klass );
+            this.array        = klass.isArray();
+            this.shallowArray = array && isShallow( klass.getComponentType() );
+            this.instantiator = immutable || array ? null : Classes.getInstantiator( klass );
+            this.accessors    = immutable || array ? new FieldAccessor[0] : ClassReflector.getAccessors( klass );
+            this.shallow      = new boolean[ accessors.length ];
+            for( int i = 0; i < accessors.length; i++ ) {
+                shallow[ i ] = isShallow( accessors[i].type() );
+            }
+        }
+
+        /** enum constant having body is instance of anonymous subclass. */
+        private boolean isEnumConstant( Class<?> klass ) {
+            return klass.getSuperclass() != null && klass.getSuperclass().isEnum();
+        }
 
     }
 
@@ -103,24 +159,15 @@ public class Cloner {
             return;
         }
 
-        Object  castedSource = castedSource( source, target );
-        boolean casted       = source != castedSource;
-
-        Map<String,Field> srcFields = new HashMap<>();
-        ClassReflector.getFields(source).forEach( field -> {
-            srcFields.put( field.getName(), field );
-        });
-
-        for ( Field trgField : ClassReflector.getFields(target) ) {
+        CopyPlan plan = CACHE_COPY_PLAN.get( new PlanKey(source.getClass(), target.getClass()), CopyPlan::new );
 
-            Field srcField = srcFields.get( trgField.getName() );
-
-            if( srcField == null ) continue;;
-            if( srcField == trgField && ClassReflector.isStatic(srcField) ) continue;
-
-            Object val = ClassReflector.getValue( castedSource, casted ? trgField : srcField );
-            ClassReflector.setValue( target, trgField, val );
+        // properties needing conversion are read from source converted to target class.
+        Object          from    = plan.convert ? Reflector.toBeanFrom( source, target.getClass() ) : source;
+        FieldAccessor[] readers = plan.convert ? plan.targets : plan.sources;
+        FieldAccessor[] writers = plan.targets;
 
+        for( int i = 0; i < writers.length; i++ ) {
+            writers[ i ].set( target, readers[i].get(from) );
         }
 
     }
@@ -166,14 +213,105 @@ public class Cloner {
         }
     }
 
-    private Object castedSource( Object source, Object target ) {
-        Class<?> sourceClass = source.getClass();
-        Class<?> targetClass = target.getClass();
-        if( Classes.hasExtend(targetClass,sourceClass) || Classes.hasExtend(sourceClass,targetClass) ) {
-            return source;
-        } else {
-            return Reflector.toBeanFrom( source, targetClass );
+    /**
+     * check if property can be copied between unrelated classes without conversion.
+     */
+    private boolean isDirect( Field source, Field target ) {
+        if( isTransient(source) || isTransient(target) ) return false;
+        Class<?> srcType = source.getType();
+        Class<?> trgType = target.getType();
+        if( ! isDirect(srcType) || Types.wrap(srcType) != Types.wrap(trgType) ) return false;
+        // null can not be set to primitive.
+        return srcType.isPrimitive() || ! trgType.isPrimitive();
+    }
+
+    private boolean isTransient( Field field ) {
+        return Modifier.isTransient( field.getModifiers() );
+    }
+
+    /**
+     * check if value of type is copied without change by Jackson.
+     * (other immutable types like Pattern or LocalDateTime may be changed by serialization)
+     */
+    private boolean isDirect( Class<?> type ) {
+        if( type.isEnum() ) return ! JacksonProperties.hasAnnotation( type );
+        return type.isPrimitive() || DIRECT.contains( type );
+    }
+
+    /**
+     * check if class is serialized by Jackson in its own way.
+     */
+    private boolean isCustomized( Class<?> klass ) {
+        return JsonSerializable.class.isAssignableFrom( klass ) || JacksonProperties.hasAnnotation( klass );
+    }
+
+    private class PlanKey {
+
+        final Class<?> source;
+        final Class<?> target;
+
+        PlanKey( Class<?> source, Class<?> target ) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals( Object other ) {
+            if( ! (other instanceof PlanKey) ) return false;
+            PlanKey key = (PlanKey) other;
+            return source == key.source && target == key.target;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + target.hashCode();
+        }
+
+    }
+
+    /**
+     * property mapping plan between source and target class built once
+     *
+     * <pre>
+     * properties are matched by field name.
+     * if classes are not in same hierarchy and some property needs type conversion
+     * (or either class has Jackson annotation), source is converted to target class by Jackson before copying. (same as former behavior)
+     * </pre>
+     */
+    private class CopyPlan {
+
+        final FieldAccessor[] sources;
+        final FieldAccessor[] targets;
+        /** source must be converted to target class */
+        final boolean         convert;
+
+        CopyPlan( PlanKey key ) {
+
+            Map<String,Field> srcFields = new HashMap<>();
+            for( FieldAccessor accessor : ClassReflector.getAccessors(key.source) ) {
+                srcFields.put( accessor.name(), accessor.field() );
+            }
+
+            boolean related = Classes.hasExtend( key.target, key.source ) || Classes.hasExtend( key.source, key.target );
+            boolean convert = ! related && ( isCustomized(key.source) || isCustomized(key.target) );
+
+            List<FieldAccessor> sources = new ArrayList<>();
+            List<FieldAccessor> targets = new ArrayList<>();
+
+            for( FieldAccessor target : ClassReflector.getAccessors(key.target) ) {
+                Field source = srcFields.get( target.name() );
+                if( source == null ) continue;
+                if( ! related && ! isDirect(source, target.field()) ) convert = true;
+                sources.add( ClassReflector.getAccessor(source) );
+                targets.add( target );
+            }
+
+            this.sources = sources.toArray( new FieldAccessor[0] );
+            this.targets = targets.toArray( new FieldAccessor[0] );
+            this.convert = convert;
+
         }
+
     }
 
 }
\ No newline at end of file
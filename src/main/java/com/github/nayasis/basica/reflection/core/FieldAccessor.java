@@ -0,0 +1,148 @@
+package com.github.nayasis.basica.reflection.core;
+
+import com.github.nayasis.basica.exception.unchecked.UncheckedIllegalAccessException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Compiled accessor of field
+ *
+ * <pre>
+ * getter and setter are compiled to {@link MethodHandle} once, so accessible flag of field is not toggled on every access.
+ * (use {@link ClassReflector#getAccessor(Field)} to get cached accessor)
+ *
+ * static field ignores target instance.
+ * if setter can not be compiled (ex. static final field), setting value throws {@link UncheckedIllegalAccessException}.
+ * </pre>
+ */
+public class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+    private static final MethodType SETTER_TYPE = MethodType.methodType( void.class, Object.class, Object.class );
+
+    private final Field        field;
+    private final boolean      isStatic;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    FieldAccessor( Field field ) {
+        this.field    = field;
+        this.isStatic = Modifier.isStatic( field.getModifiers() );
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        // accessible flag is set on private copy, because field given may be shared. (ex. cached by ClassReflector)
+        Field accessible = copyOf( field );
+        try {
+            accessible.setAccessible( true );
+        } catch( SecurityException e ) {
+            throw new UncheckedIllegalAccessException( e, "fail to access field({}) of class({})", field.getName(), field.getDeclaringClass() );
+        }
+        this.getter = compile( lookup, accessible, true );
+        // reflection does not allow modifying static final field either.
+        this.setter = isStatic && Modifier.isFinal( field.getModifiers() ) ? null : compile( lookup, accessible, false );
+    }
+
+    private Field copyOf( Field field ) {
+        try {
+            return field.getDeclaringClass().getDeclaredField( field.getName() );
+        } catch( NoSuchFieldException | SecurityException e ) {
+            throw new UncheckedIllegalAccessException( e, "fail to access field({}) of class({})", field.getName(), field.getDeclaringClass() );
+        }
+    }
+
+    private MethodHandle compile( MethodHandles.Lookup lookup, Field field, boolean get ) {
+        try {
+            MethodHandle handle = get ? lookup.unreflectGetter( field ) : lookup.unreflectSetter( field );
+            if( isStatic )
+                handle = MethodHandles.dropArguments( handle, 0, Object.class );
+            return handle.asType( get ? GETTER_TYPE : SETTER_TYPE );
+        } catch( IllegalAccessException e ) {
+            if( get )
+                throw new UncheckedIllegalAccessException( e, "fail to access field({}) of class({})", field.getName(), field.getDeclaringClass() );
+            return null;
+        }
+    }
+
+    /**
+     * get value of field.
+     *
+     * @param target    target instance (ignored if field is static)
+     * @param <T>       expected type of value
+     * @return value of field
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get( Object target ) {
+        try {
+            return (T) (Object) getter.invokeExact( target );
+        } catch( ClassCastException e ) {
+            throw illegalArgument( target );
+        } catch( RuntimeException | Error e ) {
+            throw e;
+        } catch( Throwable e ) {
+            throw new UncheckedIllegalAccessException( e );
+        }
+    }
+
+    /**
+     * set value to field.
+     *
+     * @param target    target instance (ignored if field is static)
+     * @param value     value to set
+     */
+    public void set( Object target, Object value ) {
+        if( setter == null )
+            throw new UncheckedIllegalAccessException( "field({}) of class({}) can not be modified", field.getName(), field.getDeclaringClass() );
+        try {
+            setter.invokeExact( target, value );
+        } catch( ClassCastException e ) {
+            throw illegalArgument( value );
+        } catch( NullPointerException e ) {
+            if( target == null && ! isStatic ) throw e;
+            throw illegalArgument( value );
+        } catch( RuntimeException | Error e ) {
+            throw e;
+        } catch( Throwable e ) {
+            throw new UncheckedIllegalAccessException( e );
+        }
+    }
+
+    private IllegalArgumentException illegalArgument( Object value ) {
+        return new IllegalArgumentException( String.format( "Can not access %s field %s.%s with %s",
+            field.getType().getName(), field.getDeclaringClass().getName(), field.getName(),
+            value == null ? "null value" : value.getClass().getName() ) );
+    }
+
+    public Field field() {
+        return field;
+    }
+
+    public String name() {
+        return field.getName();
+    }
+
+    public Class<?> type() {
+        return field.getType();
+    }
+
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * check if value can be set to field.
+     *
+     * @return true if field is modifiable.
+     */
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    @Override
+    public String toString() {
+        return field.toString();
+    }
+
+}
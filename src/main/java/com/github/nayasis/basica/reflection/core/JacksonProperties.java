@@ -0,0 +1,74 @@
+package com.github.nayasis.basica.reflection.core;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.experimental.UtilityClass;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Rules of how bean exposes its field as property to Jackson
+ *
+ * <pre>
+ * shared by direct paths bypassing Jackson (ex. {@link BeanMapper}, {@link Cloner}),
+ * so that they read the same properties as Jackson does.
+ * </pre>
+ */
+@UtilityClass
+public class JacksonProperties {
+
+    /**
+     * check if Jackson annotation exists in class, field or method of class hierarchy.
+     *
+     * @param klass class to check
+     * @return true if class is customized by Jackson annotation.
+     */
+    public boolean hasAnnotation( Class<?> klass ) {
+        for( Class<?> c = klass; c != null && c != Object.class && c != Enum.class; c = c.getSuperclass() ) {
+            if( hasAnnotation((AnnotatedElement) c) ) return true;
+            for( Field field : c.getDeclaredFields() ) {
+                if( hasAnnotation(field) ) return true;
+            }
+            for( Method method : c.getDeclaredMethods() ) {
+                if( hasAnnotation(method) ) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * check if Jackson annotation (or annotation bundling it) exists in element.
+     *
+     * @param element class, field or method
+     * @return true if Jackson annotation exists.
+     */
+    public boolean hasAnnotation( AnnotatedElement element ) {
+        for( Annotation annotation : element.getAnnotations() ) {
+            Class<?> type = annotation.annotationType();
+            if( type.getName().startsWith("com.fasterxml.jackson.") || type.isAnnotationPresent(JacksonAnnotationsInside.class) ) return true;
+        }
+        return false;
+    }
+
+    /**
+     * get property name of field.
+     *
+     * @param field field
+     * @return property name (renamed by {@link JsonProperty}), or null if field is not exposed as property.
+     */
+    public String nameOf( Field field ) {
+        int modifiers = field.getModifiers();
+        if( Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic() ) return null;
+        JsonIgnore ignore = field.getAnnotation( JsonIgnore.class );
+        if( ignore != null && ignore.value() ) return null;
+        JsonProperty property = field.getAnnotation( JsonProperty.class );
+        if( property != null && ! property.value().isEmpty() ) return property.value();
+        return field.getName();
+    }
+
+}
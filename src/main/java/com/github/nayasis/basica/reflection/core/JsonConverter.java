@@ -3,6 +3,7 @@ package com.github.nayasis.basica.reflection.core;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.type.CollectionType;
@@ -13,7 +14,13 @@ import com.github.nayasis.basica.base.Strings;
 import com.github.nayasis.basica.base.Types;
 import com.github.nayasis.basica.exception.unchecked.JsonMappingException;
 
+import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -21,6 +28,11 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Json Converter
@@ -386,6 +398,117 @@ public class JsonConverter {
 
     }
 
+    /**
+     * read json array as stream of element.
+     *
+     * <pre>
+     * element is bound one by one from token stream while stream is consumed,
+     * so memory use does not grow with size of array.
+     * if json is single value (not array), stream has only one element.
+     *
+     * stream must be closed to release input.
+     *
+     * try( Stream&lt;User&gt; users = converter.toStreamFrom( input, User.class ) ) {
+     *     users.forEach( user -&gt; ... );
+     * }
+     * </pre>
+     *
+     * @param input json input stream
+     * @param type  element type
+     * @param <T>   element type
+     * @return stream of element
+     * @throws JsonMappingException  when json parsing error raised
+     */
+    public <T> Stream<T> toStreamFrom( InputStream input, Class<T> type ) throws JsonMappingException {
+        try {
+            return toStream( objectMapper.readerFor(type).readValues(input) );
+        } catch( IOException e ) {
+            closeQuietly( input );
+            throw new JsonMappingException( e );
+        }
+    }
+
+    /**
+     * read json array as stream of element.
+     *
+     * @param reader    json reader
+     * @param type      element type
+     * @param <T>       element type
+     * @return stream of element (must be closed to release reader)
+     * @throws JsonMappingException  when json parsing error raised
+     * @see #toStreamFrom(InputStream, Class)
+     */
+    public <T> Stream<T> toStreamFrom( Reader reader, Class<T> type ) throws JsonMappingException {
+        try {
+            return toStream( objectMapper.readerFor(type).readValues(reader) );
+        } catch( IOException e ) {
+            closeQuietly( reader );
+            throw new JsonMappingException( e );
+        }
+    }
+
+    /**
+     * read json array as stream of element.
+     *
+     * @param path  json file path
+     * @param type  element type
+     * @param <T>   element type
+     * @return stream of element (must be closed to release file)
+     * @throws JsonMappingException  when json parsing error raised
+     * @see #toStreamFrom(InputStream, Class)
+     */
+    public <T> Stream<T> toStreamFrom( Path path, Class<T> type ) throws JsonMappingException {
+        try {
+            return toStreamFrom( new BufferedInputStream(Files.newInputStream(path)), type );
+        } catch( IOException e ) {
+            throw new JsonMappingException( e );
+        }
+    }
+
+    /**
+     * read json array and pass each element to consumer.
+     *
+     * @param path      json file path
+     * @param type      element type
+     * @param consumer  element consumer
+     * @param <T>       element type
+     * @throws JsonMappingException  when json parsing error raised
+     */
+    public <T> void forEachFrom( Path path, Class<T> type, Consumer<? super T> consumer ) throws JsonMappingException {
+        try( Stream<T> stream = toStreamFrom(path, type) ) {
+            stream.forEach( consumer );
+        }
+    }
+
+    private <T> Stream<T> toStream( MappingIterator<T> iterator ) {
+        Iterator<T> elements = new Iterator<T>() {
+            public boolean hasNext() {
+                try {
+                    return iterator.hasNextValue();
+                } catch( IOException e ) {
+                    throw new JsonMappingException( e );
+                }
+            }
+            public T next() {
+                try {
+                    return iterator.nextValue();
+                } catch( IOException e ) {
+                    throw new JsonMappingException( e );
+                }
+            }
+        };
+        return StreamSupport.stream( Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false )
+            .onClose( () -> closeQuietly(iterator) );
+    }
+
+    private void closeQuietly( Closeable closeable ) {
+        try {
+            closeable.close();
+        } catch( IOException e ) {
+            // nothing to do
+        }
+    }
+
     /**
      * convert as Map from source
      *
@@ -1,7 +1,8 @@
 package com.github.nayasis.basica.reflection.core;
 
 import com.github.nayasis.basica.base.Classes;
-import com.github.nayasis.basica.cache.implement.LruCache;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -16,7 +17,7 @@ import java.util.Map;
  */
 public class UnmodifiableChecker {
 
-    private static LruCache<Class,Boolean> CACHE = new LruCache<>( 64 );
+    private static ConcurrentLruCache<Class,Boolean> CACHE = CacheRegistry.register( "UnmodifiableChecker", new ConcurrentLruCache<>(64) );
 
     @SuppressWarnings("unchecked")
     public static boolean isUnmodifiable( Map map ) {
@@ -25,17 +26,20 @@ public class UnmodifiableChecker {
 
         Class<? extends Map> klass = map.getClass();
 
-        if( ! CACHE.contains(klass) ) {
-            Map instance = Classes.createInstance( klass );
-            try {
-                instance.putAll( new HashMap() );
-                CACHE.putIfAbsent( klass, Boolean.FALSE );
-            } catch( Exception e ) {
-                CACHE.putIfAbsent( klass, Boolean.TRUE );
-            }
+        Boolean cached = CACHE.get( klass );
+        if( cached != null ) return cached;
+
+        boolean unmodifiable;
+        Map instance = Classes.createInstance( klass );
+        try {
+            instance.putAll( new HashMap() );
+            unmodifiable = false;
+        } catch( Exception e ) {
+            unmodifiable = true;
         }
+        CACHE.putIfAbsent( klass, unmodifiable );
 
-        return CACHE.get( klass );
+        return unmodifiable;
 
     }
 
@@ -46,17 +50,20 @@ public class UnmodifiableChecker {
 
         Class<? extends Collection> klass = collection.getClass();
 
-        if( ! CACHE.contains(klass) ) {
-            Collection instance = Classes.createInstance( klass );
-            try {
-                instance.addAll( Collections.emptyList() );
-                CACHE.putIfAbsent( klass, Boolean.FALSE );
-            } catch( Exception e ) {
-                CACHE.putIfAbsent( klass, Boolean.TRUE );
-            }
+        Boolean cached = CACHE.get( klass );
+        if( cached != null ) return cached;
+
+        boolean unmodifiable;
+        Collection instance = Classes.createInstance( klass );
+        try {
+            instance.addAll( Collections.emptyList() );
+            unmodifiable = false;
+        } catch( Exception e ) {
+            unmodifiable = true;
         }
+        CACHE.putIfAbsent( klass, unmodifiable );
 
-        return CACHE.get( klass );
+        return unmodifiable;
 
     }
 
@@ -19,6 +19,8 @@ package com.github.nayasis.basica.resource.matcher;
 import com.github.nayasis.basica.validation.Assert;
 import com.github.nayasis.basica.base.Strings;
 import com.github.nayasis.basica.base.Types;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,8 +29,8 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringTokenizer;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -80,7 +82,15 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/". */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
-	private static final int CACHE_TURNOFF_THRESHOLD = 65536;
+	private static final int CACHE_CAPACITY = 4096;
+
+	/** shared by all instances, keyed by pattern and tokenizing options */
+	private static final ConcurrentLruCache<PatternKey, String[]> tokenizedPatternCache =
+			CacheRegistry.register("AntPathMatcher.tokenizedPattern", new ConcurrentLruCache<>(CACHE_CAPACITY));
+
+	/** shared by all instances, keyed by pattern and case sensitivity */
+	static final ConcurrentLruCache<PatternKey, AntPathStringMatcher> stringMatcherCache =
+			CacheRegistry.register("AntPathMatcher.stringMatcher", new ConcurrentLruCache<>(CACHE_CAPACITY));
 
 	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
@@ -94,11 +104,7 @@ public class AntPathMatcher implements PathMatcher {
 
 	private boolean trimTokens = false;
 
-	private volatile Boolean cachePatterns;
-
-	private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<>(256);
-
-	final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<>(256);
+	private volatile boolean cachePatterns = true;
 
 
 	/**
@@ -149,13 +155,11 @@ public class AntPathMatcher implements PathMatcher {
 
 	/**
 	 * Specify whether to cache parsed pattern metadata for patterns passed
-	 * into this matcher's {@link #match} method. A value of {@code true}
-	 * activates an unlimited pattern cache; a value of {@code false} turns
+	 * into this matcher's {@link #match} method. A value of {@code false} turns
 	 * the pattern cache off completely.
-	 * <p>Default is for the cache to be on, but with the variant to automatically
-	 * turn it off when encountering too many patterns to cache at runtime
-	 * (the threshold is 65536), assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>Default is for the cache to be on. The cache is shared by all instances
+	 * and bounded by LRU eviction (4096 patterns), so arbitrary permutations of
+	 * patterns can not grow it without limit.
 	 * @since 4.0.1
 	 * @see #getStringMatcher(String)
 	 */
@@ -163,12 +167,6 @@ public class AntPathMatcher implements PathMatcher {
 		this.cachePatterns = cachePatterns;
 	}
 
-	private void deactivatePatternCache() {
-		this.cachePatterns = false;
-		this.tokenizedPatternCache.clear();
-		this.stringMatcherCache.clear();
-	}
-
 
 	@Override
 	public boolean isPattern(String path) {
@@ -382,23 +380,14 @@ public class AntPathMatcher implements PathMatcher {
 	 * @return the tokenized pattern parts
 	 */
 	protected String[] tokenizePattern(String pattern) {
-		String[] tokenized = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			tokenized = this.tokenizedPatternCache.get(pattern);
+		if (!this.cachePatterns) {
+			return tokenizePath(pattern);
 		}
+		PatternKey key = new PatternKey(pattern, this.pathSeparator, this.trimTokens);
+		String[] tokenized = tokenizedPatternCache.get(key);
 		if (tokenized == null) {
 			tokenized = tokenizePath(pattern);
-			if (cachePatterns == null && this.tokenizedPatternCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return tokenized;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.tokenizedPatternCache.put(pattern, tokenized);
-			}
+			tokenizedPatternCache.put(key, tokenized);
 		}
 		return tokenized;
 	}
@@ -454,32 +443,21 @@ public class AntPathMatcher implements PathMatcher {
 	 * <p>The default implementation checks this AntPathMatcher's internal cache
 	 * (see {@link #setCachePatterns}), creating a new AntPathStringMatcher instance
 	 * if no cached copy is found.
-	 * <p>When encountering too many patterns to cache at runtime (the threshold is 65536),
-	 * it turns the default cache off, assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>The cache is shared by all instances and keeps recently used 4096 patterns.
 	 * <p>This method may be overridden to implement a custom cache strategy.
 	 * @param pattern the pattern to match against (never {@code null})
 	 * @return a corresponding AntPathStringMatcher (never {@code null})
 	 * @see #setCachePatterns
 	 */
 	protected AntPathStringMatcher getStringMatcher(String pattern) {
-		AntPathStringMatcher matcher = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			matcher = this.stringMatcherCache.get(pattern);
+		if (!this.cachePatterns) {
+			return new AntPathStringMatcher(pattern, this.caseSensitive);
 		}
+		PatternKey key = new PatternKey(pattern, null, this.caseSensitive);
+		AntPathStringMatcher matcher = stringMatcherCache.get(key);
 		if (matcher == null) {
 			matcher = new AntPathStringMatcher(pattern, this.caseSensitive);
-			if (cachePatterns == null && this.stringMatcherCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return matcher;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.stringMatcherCache.put(pattern, matcher);
-			}
+			stringMatcherCache.put(key, matcher);
 		}
 		return matcher;
 	}
@@ -921,6 +899,43 @@ public class AntPathMatcher implements PathMatcher {
 	}
 
 
+	/**
+	 * Key of shared pattern caches: pattern with the options it was parsed by.
+	 */
+	static final class PatternKey {
+
+		private final String pattern;
+
+		private final String pathSeparator;
+
+		private final boolean option;
+
+		PatternKey(String pattern, String pathSeparator, boolean option) {
+			this.pattern = pattern;
+			this.pathSeparator = pathSeparator;
+			this.option = option;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof PatternKey)) {
+				return false;
+			}
+			PatternKey key = (PatternKey) other;
+			return this.option == key.option && this.pattern.equals(key.pattern) &&
+					Objects.equals(this.pathSeparator, key.pathSeparator);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * this.pattern.hashCode() + Objects.hashCode(this.pathSeparator)) + (this.option ? 1 : 0);
+		}
+	}
+
+
 	/**
 	 * A simple cache for patterns that depend on the configured path separator.
 	 */
@@ -25,14 +25,36 @@ public class CharactersTest {
 
     @Test
     public void isHalfWidth() {
+        Assertions.assertTrue( Characters.isHalfWidth('A') );
+        Assertions.assertTrue( Characters.isHalfWidth('\n') );
+        Assertions.assertTrue( Characters.isHalfWidth('ﾌ') );
+        Assertions.assertTrue( ! Characters.isHalfWidth('フ') );
+        Assertions.assertTrue( ! Characters.isHalfWidth('정') );
     }
 
     @Test
     public void getFontWidth() {
+        Characters.fullwidth( 2 );
+        try {
+            Assertions.assertEquals( 1, Characters.getFontWidth('A') );
+            Assertions.assertEquals( 2, Characters.getFontWidth('정') );
+            Assertions.assertEquals( 2, Characters.getFontWidth("😀".codePointAt(0)) );
+            Assertions.assertEquals( 2, Characters.getFontWidth("𠀀".codePointAt(0)) );
+            Assertions.assertEquals( 0, Characters.getFontWidth('\u200D') );
+            Assertions.assertEquals( 5, Characters.getFontWidth("A정😀\uFE0F"), 0.001 );
+            Assertions.assertEquals( 5, Strings.getDisplayLength("가나A") );
+        } finally {
+            Characters.fullwidth( 1 );
+        }
     }
 
     @Test
     public void isKorean() {
+        Assertions.assertTrue( Characters.isKorean('정') );
+        Assertions.assertTrue( Characters.isKorean('ㄱ') );
+        Assertions.assertTrue( Characters.isKorean('ﾡ') );
+        Assertions.assertTrue( ! Characters.isKorean('か') );
+        Assertions.assertTrue( ! Characters.isKorean('A') );
     }
 
     @Test
@@ -54,6 +76,12 @@ public class CharactersTest {
 
     @Test
     public void isCJK() {
+        Assertions.assertTrue( Characters.isCJK('鄭') );
+        Assertions.assertTrue( Characters.isCJK('か') );
+        Assertions.assertTrue( Characters.isCJK('정') );
+        Assertions.assertTrue( Characters.isCJK("𠀀".codePointAt(0)) );
+        Assertions.assertTrue( ! Characters.isCJK('A') );
+        Assertions.assertTrue( ! Characters.isCJK('é') );
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.github.nayasis.basica.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LevenshteinTest {
+
+    @Test
+    public void distance() {
+
+        assertEquals( 3,  Levenshtein.distance( "kitten", "sitting" ) );
+        assertEquals( 3,  Levenshtein.distance( "kitten", "sitting", 3 ) );
+        assertEquals( -1, Levenshtein.distance( "kitten", "sitting", 2 ) );
+        assertEquals( 0,  Levenshtein.distance( "", null ) );
+        assertEquals( 3,  Levenshtein.distance( "abc", "" ) );
+        assertEquals( 1,  Levenshtein.distance( "한글", "한굴" ) );
+
+    }
+
+    @Test
+    public void sameAsFullMatrix() {
+
+        Random random = new Random( 11 );
+
+        for( int n = 0; n < 3000; n++ ) {
+            // cover both of bit-parallel (<= 64) and banded (> 64) calculation
+            int    length = n % 3 == 0 ? 60 + random.nextInt(40) : random.nextInt(12);
+            String one    = random( random, length );
+            String other  = mutate( random, one, random.nextInt(8) );
+            int    expect = fullMatrix( one, other );
+            int    max    = random.nextInt( 10 );
+            assertEquals( expect, Levenshtein.distance(one, other), one + " / " + other );
+            assertEquals( expect <= max ? expect : -1, Levenshtein.distance(one, other, max), one + " / " + other + " / " + max );
+        }
+
+    }
+
+    @Test
+    public void similarity() {
+        assertEquals( 1.0, Strings.similarity( "ABC", "abc" ) );
+        assertEquals( 0.5, Strings.similarity( "abcd", "ab" ) );
+        assertTrue(  Strings.isSimilar( "abcd", "ab", 0.5 ) );
+        assertFalse( Strings.isSimilar( "abcd", "ab", 0.51 ) );
+    }
+
+    @Test
+    public void bkTree() {
+
+        Random       random = new Random( 13 );
+        List<String> words  = new ArrayList<>();
+        for( int i = 0; i < 2000; i++ )
+            words.add( random(random, 3 + random.nextInt(6)) );
+
+        BkTree tree = new BkTree( words );
+        assertEquals( new HashSet<>(words).size(), tree.size() );
+
+        for( int i = 0; i < 100; i++ ) {
+            String query = mutate( random, words.get(random.nextInt(words.size())), 2 );
+            int    max   = random.nextInt( 4 );
+            HashSet<String> expected = new HashSet<>();
+            for( String word : words ) {
+                if( fullMatrix(query, word) <= max ) expected.add( word );
+            }
+            assertEquals( expected, new HashSet<>(tree.search(query, max)), query + " / " + max );
+        }
+
+    }
+
+    @Test
+    public void searchWithHugeDistance() {
+
+        BkTree tree = new BkTree( Arrays.asList("book", "books", "cake", "boo") );
+
+        assertEquals( 4, tree.search("bo0k", Integer.MAX_VALUE).size() );
+        assertEquals( 4, tree.search("bo0k", Integer.MAX_VALUE - 1).size() );
+
+    }
+
+    private String random( Random random, int length ) {
+        String chars = "abcde가";
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < length; i++ )
+            sb.append( chars.charAt(random.nextInt(chars.length())) );
+        return sb.toString();
+    }
+
+    private String mutate( Random random, String text, int count ) {
+        StringBuilder sb = new StringBuilder( text );
+        for( int i = 0; i < count; i++ ) {
+            int pos = sb.length() == 0 ? 0 : random.nextInt( sb.length() );
+            switch( random.nextInt(3) ) {
+                case 0 : sb.insert( pos, 'x' ); break;
+                case 1 : if( sb.length() > 0 ) sb.deleteCharAt( pos ); break;
+                default: if( sb.length() > 0 ) sb.setCharAt( pos, 'y' );
+            }
+        }
+        return sb.toString();
+    }
+
+    private int fullMatrix( String a, String b ) {
+        int[][] d = new int[ a.length() + 1 ][ b.length() + 1 ];
+        for( int i = 0; i <= a.length(); i++ ) d[i][0] = i;
+        for( int j = 0; j <= b.length(); j++ ) d[0][j] = j;
+        for( int i = 1; i <= a.length(); i++ ) {
+            for( int j = 1; j <= b.length(); j++ ) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min( Math.min(d[i - 1][j], d[i][j - 1]) + 1, d[i - 1][j - 1] + cost );
+            }
+        }
+        return d[ a.length() ][ b.length() ];
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.nayasis.basica.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LikePatternTest {
+
+    @Test
+    public void matches() {
+
+        assertTrue(  LikePattern.of( "%BCD_F%" ).matches( "ABCDEFG" ) );
+        assertTrue(  LikePattern.of( "%" ).matches( "" ) );
+        assertTrue(  LikePattern.of( "" ).matches( null ) );
+        assertFalse( LikePattern.of( "_" ).matches( "" ) );
+        assertTrue(  LikePattern.of( "a%a" ).matches( "aa" ) );
+        assertFalse( LikePattern.of( "a%a" ).matches( "a" ) );
+        assertTrue(  LikePattern.of( "AB\\%" ).matches( "AB%" ) );
+        assertFalse( LikePattern.of( "AB\\%" ).matches( "AB%C" ) );
+        assertTrue(  LikePattern.of( "A\\B%" ).matches( "A\\BC" ) );
+        assertTrue(  LikePattern.of( "%.*%" ).matches( "a.*b" ) );
+        assertFalse( LikePattern.of( "%.*%" ).matches( "ab" ) );
+
+        assertSame( LikePattern.of("%BCD_F%"), LikePattern.of("%BCD_F%") );
+
+    }
+
+    @Test
+    public void sameAsRegex() {
+
+        Random random = new Random( 5 );
+        String chars  = "ab%_\\";
+
+        for( int i = 0; i < 20_000; i++ ) {
+            String pattern = random( random, chars, random.nextInt(8) );
+            String value   = random( random, "ab%_\\", random.nextInt(10) );
+            assertEquals( toRegex(pattern).matcher(value).matches(), new LikePattern(pattern).matches(value), value + " like " + pattern );
+        }
+
+    }
+
+    @Test
+    public void sameAsRegexInRows() {
+
+        String pattern = "ROW-%-ABC_EFG-3";
+
+        for( int i = 0; i < 1000; i++ ) {
+            String value = "ROW-" + i + "-ABCDEFG-" + ( i % 7 );
+            assertEquals( toRegex(pattern).matcher(value).matches(), Strings.like(value, pattern), value );
+        }
+
+    }
+
+    private String random( Random random, String chars, int length ) {
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < length; i++ )
+            sb.append( chars.charAt(random.nextInt(chars.length())) );
+        return sb.toString();
+    }
+
+    private Pattern toRegex( String pattern ) {
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < pattern.length(); i++ ) {
+            char c = pattern.charAt( i );
+            if( c == '\\' && i + 1 < pattern.length() && "_%".indexOf(pattern.charAt(i + 1)) >= 0 ) {
+                sb.append( Pattern.quote(String.valueOf(pattern.charAt(++i))) );
+            } else if( c == '_' ) {
+                sb.append( '.' );
+            } else if( c == '%' ) {
+                sb.append( ".*" );
+            } else {
+                sb.append( Pattern.quote(String.valueOf(c)) );
+            }
+        }
+        return Pattern.compile( sb.toString(), Pattern.DOTALL );
+    }
+
+}
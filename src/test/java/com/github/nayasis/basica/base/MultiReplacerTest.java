@@ -0,0 +1,107 @@
+package com.github.nayasis.basica.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MultiReplacerTest {
+
+    @Test
+    public void leftmostLongest() {
+
+        MultiReplacer replacer = new MultiReplacer( new HashMap<String,String>() {{
+            put( "a",   "1" );
+            put( "ab",  "2" );
+            put( "abc", "3" );
+            put( "bcd", "4" );
+            put( "한글", "K" );
+        }});
+
+        assertEquals( "3d",    replacer.replace("abcd") );
+        assertEquals( "2x",    replacer.replace("abx") );
+        assertEquals( "x4",    replacer.replace("xbcd") );
+        assertEquals( "1K2",   replacer.replace("a한글ab") );
+        assertEquals( "zzz",   replacer.replace("zzz") );
+        assertEquals( "",      replacer.replace("") );
+
+        String text = "nothing";
+        Assertions.assertSame( text, replacer.replace(text) );
+
+    }
+
+    @Test
+    public void notRescanReplaced() {
+        MultiReplacer replacer = new MultiReplacer( new HashMap<String,String>() {{
+            put( "a", "b" );
+            put( "b", "a" );
+        }});
+        assertEquals( "b=a", replacer.replace("a=b") );
+    }
+
+    @Test
+    public void emptyWord() {
+        Assertions.assertThrows( IllegalArgumentException.class, () -> new MultiReplacer(new HashMap<String,String>() {{
+            put( "", "a" );
+        }}));
+    }
+
+    @Test
+    public void sameAsNaiveScan() {
+
+        Random random = new Random( 3 );
+
+        for( int n = 0; n < 200; n++ ) {
+
+            Map<String,String> words = new HashMap<>();
+            for( int i = 0, size = 1 + random.nextInt(8); i < size; i++ )
+                words.put( randomText(random, 1 + random.nextInt(4)), String.valueOf(i) );
+
+            // large dictionary goes without dense transition table.
+            if( n % 10 == 0 ) {
+                for( int i = 0; i < 1500; i++ )
+                    words.put( "x" + i + "y", "#" );
+            }
+
+            MultiReplacer replacer = new MultiReplacer( words );
+
+            for( int i = 0; i < 50; i++ ) {
+                String text = randomText( random, random.nextInt(30) );
+                assertEquals( naive(text, words), replacer.replace(text), text + " : " + words.keySet() );
+            }
+
+        }
+
+    }
+
+    private String randomText( Random random, int length ) {
+        String chars = "abc가나";
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < length; i++ )
+            sb.append( chars.charAt(random.nextInt(chars.length())) );
+        return sb.toString();
+    }
+
+    private String naive( String text, Map<String,String> words ) {
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < text.length(); ) {
+            String longest = null;
+            for( String word : words.keySet() ) {
+                if( text.startsWith(word, i) && (longest == null || word.length() > longest.length()) )
+                    longest = word;
+            }
+            if( longest == null ) {
+                sb.append( text.charAt(i++) );
+            } else {
+                sb.append( words.get(longest) );
+                i += longest.length();
+            }
+        }
+        return sb.toString();
+    }
+
+}
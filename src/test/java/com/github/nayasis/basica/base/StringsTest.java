@@ -10,8 +10,12 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -116,6 +120,9 @@ public class StringsTest {
         assertEquals( testString01, Strings.unzip( Strings.zip( testString01 ) ) );
         assertEquals( testString02, Strings.unzip( Strings.zip( testString02 ) ) );
 
+        String multiline = "first line\r\nsecond line\n\n마지막 줄\n";
+        assertEquals( multiline, Strings.unzip( Strings.zip( multiline, StandardCharsets.UTF_8 ), StandardCharsets.UTF_8 ) );
+
     }
 
     @Test
@@ -261,6 +268,48 @@ public class StringsTest {
 
     }
 
+    @Test
+    public void lazySplit() {
+
+        Random   random = new Random( 17 );
+        String[] seps   = { ",", "\\s*,\\s*", "(\\+(\\^)?|\\|)", "(?=a)", "", " ,|" };
+
+        for( int i = 0; i < 2000; i++ ) {
+            String chars = "ab ,|+^\t";
+            StringBuilder sb = new StringBuilder();
+            for( int n = random.nextInt(20); n > 0; n-- )
+                sb.append( chars.charAt(random.nextInt(chars.length())) );
+            String text = sb.toString();
+            String sep  = seps[ i % seps.length ];
+            boolean include = random.nextBoolean();
+            assertEquals( Strings.split(text, sep, include), toList(Strings.splitAsStream(text, sep, include)), text + " / " + sep );
+            assertEquals( Strings.tokenize(text, sep, include), toList(Strings.tokenizeAsStream(text, sep, include)), text + " / " + sep );
+        }
+
+        CharSlice slice = Strings.tokenizeAsStream( new StringBuilder("key = value"), "=" ).skip( 1 ).findFirst().get().trim();
+        assertEquals( "value", slice.toString() );
+        assertEquals( "value".hashCode(), slice.hashCode() );
+        Assertions.assertTrue( slice.contentEquals("value") );
+
+    }
+
+    @Test
+    public void lazySplitRows() {
+
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < 2000; i++ )
+            sb.append( "ROW" ).append( i ).append( ",name-" ).append( i % 97 ).append( ",A" ).append( i % 13 ).append( '\n' );
+        String text = sb.toString();
+
+        assertEquals( Strings.tokenize(text, ",\n"), toList(Strings.tokenizeAsStream(text, ",\n")) );
+        assertEquals( Strings.split(text, "[,\n]"), toList(Strings.splitAsStream(text, "[,\n]")) );
+
+    }
+
+    private List<String> toList( Stream<CharSlice> stream ) {
+        return stream.map( CharSlice::toString ).collect( Collectors.toList() );
+    }
+
     @Test
     public void camel() {
 
@@ -281,9 +330,28 @@ public class StringsTest {
         assertEquals( word01, Strings.restoreXss( word02 ) );
         assertEquals( word03, Strings.restoreXss( word03 ) );
         assertEquals( word04, Strings.restoreXss( word04 ) );
+        assertEquals( word03, Strings.restoreXss( Strings.clearXss(word03) ) );
+        assertEquals( "&lt&#3", Strings.restoreXss( "&lt&#3" ) );
 
     }
 
+    @Test
+    public void escape() {
+
+        assertEquals( "{\\\"a\\\":\\\"b\\\\\\/c\\n\\u0001\\\"}", Strings.escape( "{\"a\":\"b\\/c\n\u0001\"}" ) );
+        assertEquals( "\"a\"\tb\\", Strings.unescape( "\\\"a\\\"\\tb\\\\" ) );
+
+    }
+
+    @Test
+    public void replaceAll() {
+        Map<String,String> words = new HashMap<>();
+        words.put( "a", "b" );
+        words.put( "b", "a" );
+        words.put( "ab", "[ab]" );
+        assertEquals( "b=a [ab]", Strings.replaceAll( "a=b ab", words ) );
+    }
+
     @Test
     public void mask() {
 
@@ -309,6 +377,16 @@ public class StringsTest {
         Characters.fullwidth( 2.0 );
         assertEquals( 9, Strings.getDisplayLength( value ) );
 
+        // surrogate pair is one character, and combining mark has no width on both paths.
+        String emoji = "e\u0301😀";
+        Characters.fullwidth( 1.0 );
+        assertEquals( 2, Strings.getDisplayLength( emoji ) );
+        assertEquals( "e\u0301😀 |", Strings.dprpad( emoji, 3, ' ' ) + "|" );
+
+        Characters.fullwidth( 2.0 );
+        assertEquals( 3, Strings.getDisplayLength( emoji ) );
+        Characters.fullwidth( 1.0 );
+
     }
 
     @Test
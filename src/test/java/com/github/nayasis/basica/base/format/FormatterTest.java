@@ -1,16 +1,23 @@
 package com.github.nayasis.basica.base.format;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.nayasis.basica.base.format.ExtractPattern;
 import com.github.nayasis.basica.base.format.Formatter;
 import com.github.nayasis.basica.model.NMap;
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
+@Slf4j
 public class FormatterTest {
 
     Formatter formatter = new Formatter();
@@ -60,6 +67,131 @@ public class FormatterTest {
     }
 
 
+    @Test
+    public void template() {
+
+        FormatTemplate template = formatter.template( Formatter.PATTERN_BASIC, "{}st, {{escaped}}, {:%3d}nd" );
+
+        Assertions.assertEquals( 2, template.size() );
+        Assertions.assertEquals( "1st, {escaped},   2nd", template.format(1, 2) );
+        Assertions.assertEquals( "nullst, {escaped}, nullnd", template.format(new Object[] {null}) );
+        Assertions.assertSame( template, formatter.template(Formatter.PATTERN_BASIC, "{}st, {{escaped}}, {:%3d}nd") );
+
+        NMap parameter = new NMap( "{'name':'abc', 'age':2}" );
+        Assertions.assertEquals( "abc is 2", formatter.format("{name} is {age}", parameter) );
+        Assertions.assertEquals( "민준은 영철이", formatter.format("{}는 {}가", "민준", "영철") );
+        Assertions.assertEquals( "{name} is ", formatter.format("{{name}} is {name}", 1) );
+
+    }
+
+    @Test
+    public void templateFollowsPattern() {
+
+        ExtractPattern pattern = new ExtractPattern( "@\\{([^\\s\\{\\}]*?)\\}" ).replacer( Formatter.PATTERN_BASIC.replacer() );
+        FormatTemplate before  = formatter.template( pattern, "@{name}@" );
+
+        // instances of same settings share template
+        ExtractPattern same = new ExtractPattern( pattern.pattern().pattern() ).replacer( pattern.replacer() );
+        Assertions.assertSame( before, formatter.template(same, "@{name}@") );
+
+        // template is parsed again after pattern is changed
+        pattern.escapeChar( '@' );
+        Assertions.assertNotSame( before, formatter.template(pattern, "@{name}@") );
+        Assertions.assertEquals( 0, formatter.template(pattern, "@@{name}@").size() );
+
+    }
+
+    @Test
+    public void formatToAppendable() {
+
+        StringWriter writer = new StringWriter();
+        formatter.formatTo( writer, "{}는 [{}]가", "민준", "영철" );
+        Assertions.assertEquals( "민준은 [영철]가", writer.toString() );
+
+        CharBuffer buffer = CharBuffer.allocate( 32 );
+        formatter.formatTo( buffer, "PRE {name} POST", new NMap("{'name':'abc'}") );
+        buffer.flip();
+        Assertions.assertEquals( "PRE abc POST", buffer.toString() );
+
+        StringBuilder sb = new StringBuilder();
+        formatter.bindParam( sb, Formatter.PATTERN_SHARP, "A #{a} B #{b}", new NMap("{'a':1,'b':2}"), (key, userFormat, param) -> String.valueOf(param.get(key)), false );
+        Assertions.assertEquals( "A 1 B 2", sb.toString() );
+
+    }
+
+    @Test
+    public void beanParameter() {
+
+        Person person = new Person( "nayasis", 45, new Address("Seoul", "Gangnam") );
+
+        Assertions.assertEquals( "nayasis (45) lives in Seoul", formatter.format("{name} ({age}) lives in {address.city}", person) );
+        Assertions.assertEquals( "[] [null]", formatter.format("[{address.zip}] [{parent}]", person) );
+        Assertions.assertEquals( "[]", formatter.format("[{parent.name}]", person) );
+
+        NMap parameter = new NMap();
+        parameter.put( "person", person );
+        parameter.put( "address.city", "Busan" );
+        Assertions.assertEquals( "Gangnam / Busan", formatter.format("{person.address.street} / {address.city}", parameter) );
+
+    }
+
+    @Test
+    public void beanPropertyNamedLikeJackson() {
+
+        Member member = new Member( "nayasis", "secret", "child" );
+
+        Assertions.assertEquals( "nayasis / child", formatter.format("{nick} / {role}", member) );
+        Assertions.assertEquals( "[] []", formatter.format("[{userName}] [{password}]", member) );
+
+    }
+
+    @Test
+    public void scannerEqualsRegex() {
+
+        Random random = new Random( 7 );
+        String chars  = "{}#$ a:%\t\\";
+
+        for( ExtractPattern scanner : new ExtractPattern[] {Formatter.PATTERN_BASIC, Formatter.PATTERN_SHARP, Formatter.PATTERN_DOLLAR} ) {
+            ExtractPattern regex = toRegex( scanner );
+            for( int i = 0; i < 20_000; i++ ) {
+                StringBuilder format = new StringBuilder();
+                for( int len = random.nextInt(16); len > 0; len-- )
+                    format.append( chars.charAt(random.nextInt(chars.length())) );
+                Assertions.assertEquals( toDebug(regex, format), toDebug(scanner, format), format.toString() );
+            }
+        }
+
+        Assertions.assertEquals( "{} [a] {b} }", toDebug(Formatter.PATTERN_BASIC, "{{}} {a} {{b}} }}") );
+        Assertions.assertEquals( "{ [name] #{} [age|%3d]", toDebug(Formatter.PATTERN_SHARP, "{{ #{name} #{{}} #{age:%3d}") );
+
+    }
+
+    @Test
+    public void scannerSameAsRegexInLongFormat() {
+
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < 50; i++ )
+            sb.append( "name is {name}, age is {age:%3d}, {{escaped}} and {} of long literal text. " );
+
+        Assertions.assertEquals( toDebug(toRegex(Formatter.PATTERN_BASIC), sb), toDebug(Formatter.PATTERN_BASIC, sb) );
+
+    }
+
+    private ExtractPattern toRegex( ExtractPattern scanner ) {
+        return new ExtractPattern( scanner.pattern().pattern() ).replacer( scanner.replacer() ).escapeChar( scanner.escapeChar() );
+    }
+
+    private String toDebug( ExtractPattern pattern, CharSequence format ) {
+        try {
+            return FormatTemplate.of( pattern, format ).bind( null, (key, userFormat, param) -> {
+                return "[" + ( key.startsWith("_{") ? "" : key ) + ( userFormat.isEmpty() ? "" : "|" + userFormat ) + "]";
+            }, false );
+        } catch( Exception e ) {
+            // ex. key having only ':'
+            return e.getClass().getName();
+        }
+    }
+
     private Result bind( ExtractPattern pattern, String format, Map parameter ) {
 
         Result res = new Result();
@@ -78,6 +210,44 @@ public class FormatterTest {
 
     }
 
+    private static class Person {
+        private String  name;
+        private int     age;
+        private Address address;
+        private Person  parent;
+        Person( String name, int age, Address address ) {
+            this.name    = name;
+            this.age     = age;
+            this.address = address;
+        }
+    }
+
+    private static class Address {
+        private String city;
+        private String street;
+        Address( String city, String street ) {
+            this.city   = city;
+            this.street = street;
+        }
+    }
+
+    private static class Role {
+        private String role = "parent";
+    }
+
+    private static class Member extends Role {
+        @JsonProperty( "nick" )
+        private String userName;
+        @JsonIgnore
+        private String password;
+        private String role;
+        Member( String userName, String password, String role ) {
+            this.userName = userName;
+            this.password = password;
+            this.role     = role;
+        }
+    }
+
     @ToString
     private static class Result {
         public String       string;
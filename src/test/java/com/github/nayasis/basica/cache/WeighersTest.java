@@ -0,0 +1,38 @@
+package com.github.nayasis.basica.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WeighersTest {
+
+    @Test
+    public void estimate() {
+
+        assertEquals( 0,  Weighers.estimate(null) );
+        assertEquals( 24 + 48, Weighers.estimate("0123456789abcdef") );
+        assertEquals( 16 + 1024, Weighers.estimate(new byte[1024]) );
+
+        List<String> list = new ArrayList<>();
+        for( int i = 0; i < 100; i++ )
+            list.add( "item" + i );
+
+        assertTrue( Weighers.estimate(list) > 100 * Weighers.estimate("item0") );
+
+        Bean bean = new Bean();
+        assertTrue( Weighers.estimate(bean) >= Weighers.estimate(bean.name) + Weighers.estimate(bean.data) );
+
+    }
+
+    private static class Bean {
+        private int    id   = 1;
+        private String name = "merong";
+        private byte[] data = new byte[100];
+        private Bean   self = this;
+    }
+
+}
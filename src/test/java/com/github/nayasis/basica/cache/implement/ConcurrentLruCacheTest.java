@@ -0,0 +1,382 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentLruCacheTest {
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+
+        Cache<Integer,String> cache = new ConcurrentLruCache<>( 3 );
+
+        cache.put( 1, "A" );
+        cache.put( 2, "B" );
+        cache.put( 3, "C" );
+        cache.get( 1 );
+        cache.put( 4, "D" );
+
+        assertEquals( 3, cache.size() );
+        assertTrue( cache.contains(1) );
+        assertFalse( cache.contains(2) );
+        assertEquals( "D", cache.get(4) );
+
+    }
+
+    @Test
+    public void evictFirstInput() {
+
+        Cache<Integer,String> cache = new ConcurrentFifoCache<>( 3 );
+
+        cache.put( 1, "A" );
+        cache.put( 2, "B" );
+        cache.put( 3, "C" );
+        cache.get( 1 );
+        cache.put( 4, "D" );
+
+        assertFalse( cache.contains(1) );
+        assertTrue( cache.contains(2) );
+
+    }
+
+    @Test
+    public void allowNullValue() {
+
+        Cache<String,String> cache = new ConcurrentLruCache<>();
+
+        cache.put( "key", null );
+
+        assertTrue( cache.contains("key") );
+        assertNull( cache.get("key") );
+
+        cache.clear( "key" );
+
+        assertFalse( cache.contains("key") );
+
+    }
+
+    @Test
+    public void flushOnPut() throws InterruptedException {
+
+        // single segment
+        Cache<Integer,String> cache = new ConcurrentLruCache<>( 16 );
+        cache.setFlushCycle( 1 );
+
+        cache.put( 1, "A" );
+        cache.put( 2, "B" );
+
+        Thread.sleep( 1_100 );
+
+        cache.put( 2, "B" );
+        cache.put( 3, "C" );
+
+        assertEquals( 2, cache.size() );
+        assertNull( cache.get(1) );
+        assertEquals( "B", cache.get(2) );
+
+    }
+
+    @Test
+    public void sizeWithoutExpired() throws InterruptedException {
+
+        // several segments, and no write after expiry
+        Cache<Integer,String> cache = new ConcurrentLruCache<>( 1024 );
+        cache.setFlushCycle( 1 );
+
+        for( int i = 0; i < 100; i++ )
+            cache.put( i, "value-" + i );
+
+        Thread.sleep( 1_100 );
+
+        assertEquals( 0, cache.size() );
+        assertTrue( cache.keySet().isEmpty() );
+
+    }
+
+    @Test
+    public void resizeKeepsEntries() {
+
+        Cache<Integer,Integer> cache = new ConcurrentLruCache<>( 4 );
+        for( int i = 0; i < 4; i++ )
+            cache.put( i, i );
+
+        cache.setCapacity( 64 );
+
+        assertEquals( 4, cache.size() );
+        assertEquals( 3, cache.get(3) );
+
+    }
+
+    @Test
+    public void resizeResetsWeigher() {
+
+        Cache<Integer,byte[]> cache = new ConcurrentLruCache<>();
+        cache.setMaximumWeight( 1_000, (key, value) -> value.length );
+
+        for( int i = 0; i < 5; i++ )
+            cache.put( i, new byte[100] );
+
+        // bound by entry count again
+        cache.setCapacity( 3 );
+
+        assertEquals( 3, cache.size() );
+        assertEquals( 3, cache.weight() );
+
+        for( int i = 5; i < 20; i++ )
+            cache.put( i, new byte[1_000] );
+
+        assertEquals( 3, cache.size() );
+        assertTrue( cache.contains(19) );
+
+    }
+
+    @Test
+    public void resizeKeepsWriteOrder() throws InterruptedException {
+
+        Cache<String,String> cache = new ConcurrentLruCache<>( 16 );
+        cache.setFlushCycle( 2 );
+
+        cache.put( "old", "A" );
+        Thread.sleep( 1_100 );
+        cache.put( "new", "B" );
+
+        // LRU order becomes [new, old], but write order is still [old, new].
+        for( int i = 0; i < 16; i++ )
+            assertEquals( "A", cache.get("old") );
+        cache.setCapacity( 20 );
+
+        Thread.sleep( 1_000 );
+        cache.put( "next", "C" );
+
+        // expired entry is swept from head of write-ordered queue
+        assertEquals( 2, cache.size() );
+        assertEquals( "B", cache.get("new") );
+
+    }
+
+    @Test
+    public void resizeWhileWriting() throws Exception {
+
+        Cache<Integer,Integer> cache = new ConcurrentLruCache<>( 1024 );
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit( () -> {
+            for( int round = 0; round < 2_000; round++ ) {
+                for( int key = 0; key < 100; key++ )
+                    cache.put( key, round );
+            }
+        });
+
+        for( int i = 0; ! writer.isDone(); i++ )
+            cache.setCapacity( i % 2 == 0 ? 256 : 1024 );
+
+        writer.get();
+        executor.shutdown();
+
+        assertEquals( 100, cache.size() );
+        for( int key = 0; key < 100; key++ )
+            assertEquals( 1_999, cache.get(key) );
+
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+
+        int capacity = 256;
+
+        Cache<Integer,Integer> cache = new ConcurrentLruCache<>( capacity );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for( int t = 0; t < 8; t++ ) {
+                int seed = t;
+                futures.add( executor.submit( () -> {
+                    for( int i = 0; i < 20_000; i++ ) {
+                        int key = ( i * 31 + seed ) % 1024;
+                        Integer value = cache.get( key );
+                        if( value == null ) {
+                            cache.put( key, key );
+                        } else {
+                            assertEquals( key, (int) value );
+                        }
+                    }
+                }));
+            }
+            for( Future<?> future : futures )
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue( cache.size() <= capacity );
+        assertEquals( cache.size(), cache.keySet().size() );
+
+    }
+
+    @Test
+    public void boundByWeight() {
+
+        Cache<Integer,byte[]> cache = new ConcurrentLruCache<>();
+        cache.setMaximumWeight( 10_000, (key, value) -> value.length );
+
+        for( int i = 0; i < 1_000; i++ )
+            cache.put( i, new byte[100] );
+
+        assertTrue( cache.weight() <= 10_000 );
+        assertEquals( cache.size() * 100, cache.weight() );
+
+        cache.put( -1, new byte[20_000] );
+
+        assertFalse( cache.contains(-1) );
+
+    }
+
+    @Test
+    public void loadOnlyOnce() throws Exception {
+
+        Cache<String,String> cache = new ConcurrentLruCache<>();
+
+        AtomicInteger  loadCount = new AtomicInteger();
+        CountDownLatch start     = new CountDownLatch( 1 );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for( int t = 0; t < 8; t++ ) {
+                futures.add( executor.submit( () -> {
+                    start.await();
+                    return cache.get( "key", key -> {
+                        loadCount.incrementAndGet();
+                        sleep( 200 );
+                        return key + "-value";
+                    });
+                }));
+            }
+            start.countDown();
+            for( Future<String> future : futures )
+                assertEquals( "key-value", future.get() );
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals( 1, loadCount.get() );
+
+    }
+
+    @Test
+    public void loadAll() {
+
+        Cache<Integer,String> cache = new ConcurrentLruCache<>();
+        cache.put( 2, "cached" );
+
+        List<Integer> requested = new ArrayList<>();
+
+        Map<Integer,String> result = cache.getAll( Arrays.asList(1, 2, 3), keys -> {
+            requested.addAll( keys );
+            Map<Integer,String> loaded = new HashMap<>();
+            keys.forEach( key -> loaded.put(key, "loaded" + key) );
+            return loaded;
+        });
+
+        assertEquals( Arrays.asList(1, 3), requested );
+        assertEquals( "{1=loaded1, 2=cached, 3=loaded3}", result.toString() );
+        assertEquals( "loaded3", cache.get(3) );
+
+    }
+
+    @Test
+    public void refreshAhead() throws Exception {
+
+        Cache<String,String> cache = new ConcurrentLruCache<>( 16 );
+
+        AtomicInteger   loadCount = new AtomicInteger();
+        ExecutorService executor  = Executors.newSingleThreadExecutor();
+
+        cache.setFlushCycle( 60 );
+        cache.setRefreshAfterWrite( 1, executor );
+
+        assertEquals( "value-1", cache.get("key", key -> "value-" + loadCount.incrementAndGet()) );
+
+        Thread.sleep( 1_100 );
+
+        // stale value is returned, and reloaded in background
+        assertEquals( "value-1", cache.get("key", key -> {
+            sleep( 200 );
+            return "value-" + loadCount.incrementAndGet();
+        }));
+
+        executor.shutdown();
+        executor.awaitTermination( 5, TimeUnit.SECONDS );
+
+        assertEquals( 2, loadCount.get() );
+        assertEquals( "value-2", cache.get("key") );
+
+    }
+
+    @Test
+    public void refreshDoesNotOverwriteNewerPut() throws Exception {
+
+        Cache<String,String> cache = new ConcurrentLruCache<>( 16 );
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch  loading  = new CountDownLatch( 1 );
+        CountDownLatch  written  = new CountDownLatch( 1 );
+
+        cache.setFlushCycle( 60 );
+        cache.setRefreshAfterWrite( 1, executor );
+
+        cache.put( "key", "old" );
+        Thread.sleep( 1_100 );
+
+        assertEquals( "old", cache.get("key", key -> {
+            loading.countDown();
+            await( written );
+            return "reloaded";
+        }));
+
+        loading.await( 5, TimeUnit.SECONDS );
+        cache.put( "key", "new" );
+        written.countDown();
+
+        executor.shutdown();
+        executor.awaitTermination( 5, TimeUnit.SECONDS );
+
+        assertEquals( "new", cache.get("key") );
+
+    }
+
+    private void await( CountDownLatch latch ) {
+        try {
+            latch.await( 5, TimeUnit.SECONDS );
+        } catch( InterruptedException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private void sleep( long millis ) {
+        try {
+            Thread.sleep( millis );
+        } catch( InterruptedException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+}
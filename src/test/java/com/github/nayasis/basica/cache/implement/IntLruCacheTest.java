@@ -0,0 +1,103 @@
+package com.github.nayasis.basica.cache.implement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntLruCacheTest {
+
+    @Test
+    public void evict() {
+
+        IntLruCache<String> cache = new IntLruCache<>( 3 );
+
+        cache.put( 1, "A" );
+        cache.put( 2, "B" );
+        cache.put( 3, "C" );
+        cache.get( 1 );
+        cache.put( 4, "D" );
+
+        assertEquals( 3, cache.size() );
+        assertTrue( cache.contains(1) );
+        assertFalse( cache.contains(2) );
+        assertEquals( "[3, 1, 4]", cache.keySet().toString() );
+
+        cache.clear( 3 );
+        assertNull( cache.get(3) );
+        assertEquals( 2, cache.size() );
+
+    }
+
+    @Test
+    public void sameAsLinkedHashMap() {
+
+        int capacity = 64;
+
+        IntLruCache<String>   cache    = new IntLruCache<>( capacity );
+        Map<Integer,String>   expected = new LinkedHashMap<Integer,String>( 16, .75F, true ) {
+            protected boolean removeEldestEntry( Map.Entry<Integer,String> eldest ) {
+                return size() > capacity;
+            }
+        };
+
+        Random random = new Random( 7 );
+        for( int i = 0; i < 100_000; i++ ) {
+            int key = random.nextInt( 200 ) - 100;
+            switch( random.nextInt(3) ) {
+                case 0 :
+                    cache.put( key, "v" + i );
+                    expected.put( key, "v" + i );
+                    break;
+                case 1 :
+                    assertEquals( expected.get(key), cache.get(key) );
+                    break;
+                default :
+                    cache.clear( key );
+                    expected.remove( key );
+            }
+        }
+
+        assertEquals( expected.keySet(), cache.keySet() );
+        assertEquals( expected.keySet().toString(), cache.keySet().toString() );
+
+    }
+
+    @Test
+    public void resize() {
+
+        LongLruCache<String> cache = new LongLruCache<>( 4 );
+        for( long i = 0; i < 4; i++ )
+            cache.put( i * 1_000_000_000_000L, "v" + i );
+        cache.get( 0L );
+
+        cache.setCapacity( 2 );
+
+        assertEquals( Arrays.asList(3_000_000_000_000L, 0L), Arrays.asList(cache.keySet().toArray()) );
+        assertEquals( "v0", cache.get(0L) );
+
+    }
+
+    @Test
+    public void flush() throws InterruptedException {
+
+        IntLruCache<String> cache = new IntLruCache<>( 16 );
+        cache.setFlushCycle( 1 );
+
+        cache.put( 1, "A" );
+        Thread.sleep( 1_100 );
+        cache.put( 2, "B" );
+
+        assertEquals( 1, cache.size() );
+        assertNull( cache.get(1) );
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.github.nayasis.basica.cache.implement;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongLruCacheTest {
+
+    @Test
+    public void evict() {
+
+        LongLruCache<String> cache = new LongLruCache<>( 3 );
+
+        cache.put( 1L << 40, "A" );
+        cache.put( 2L << 40, "B" );
+        cache.put( 3L << 40, "C" );
+        cache.get( 1L << 40 );
+        cache.put( 4L << 40, "D" );
+
+        assertEquals( 3, cache.size() );
+        assertTrue( cache.contains(1L << 40) );
+        assertFalse( cache.contains(2L << 40) );
+
+        cache.clear( 3L << 40 );
+        assertNull( cache.get(3L << 40) );
+        assertEquals( 2, cache.size() );
+
+    }
+
+    @Test
+    public void sameAsLinkedHashMap() {
+
+        int capacity = 64;
+
+        LongLruCache<String> cache    = new LongLruCache<>( capacity );
+        Map<Long,String>     expected = new LinkedHashMap<Long,String>( 16, .75F, true ) {
+            protected boolean removeEldestEntry( Map.Entry<Long,String> eldest ) {
+                return size() > capacity;
+            }
+        };
+
+        Random random = new Random( 7 );
+        for( int i = 0; i < 100_000; i++ ) {
+            // keys differ only in upper bits
+            long key = (long) ( random.nextInt(200) - 100 ) << 32;
+            switch( random.nextInt(3) ) {
+                case 0 :
+                    cache.put( key, "v" + i );
+                    expected.put( key, "v" + i );
+                    break;
+                case 1 :
+                    assertEquals( expected.get(key), cache.get(key) );
+                    break;
+                default :
+                    cache.clear( key );
+                    expected.remove( key );
+            }
+        }
+
+        assertEquals( expected.keySet().toString(), cache.keySet().toString() );
+
+    }
+
+    @Test
+    public void load() {
+
+        LongLruCache<String> cache = new LongLruCache<>( 4 );
+        AtomicInteger        count = new AtomicInteger();
+
+        cache.setRecordStats( true );
+
+        assertEquals( "v7", cache.get(7L, key -> { count.incrementAndGet(); return "v" + key; }) );
+        assertEquals( "v7", cache.get(7L, key -> { count.incrementAndGet(); return "v" + key; }) );
+
+        assertEquals( 1, count.get() );
+        assertEquals( 1, cache.stats().getHitCount() );
+        assertEquals( 1, cache.stats().getMissCount() );
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void serialize() throws Exception {
+
+        LongLruCache<String> cache = new LongLruCache<>( 4 );
+        for( long i = 0; i < 6; i++ )
+            cache.put( i, "v" + i );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try( ObjectOutputStream out = new ObjectOutputStream(bytes) ) {
+            out.writeObject( cache );
+        }
+
+        LongLruCache<String> copy;
+        try( ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())) ) {
+            copy = (LongLruCache<String>) in.readObject();
+        }
+
+        assertEquals( cache.keySet(), copy.keySet() );
+        assertEquals( "v5", copy.get(5L) );
+        copy.put( 6L, "v6" );
+        assertFalse( copy.contains(2L) );
+        assertTrue( copy.contains(3L) );
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.CacheStats;
+import com.github.nayasis.basica.cache.EvictionCause;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LruCacheTest {
+
+    @Test
+    public void evict() {
+
+        Cache<Integer,String> lru = new LruCache<>( 2 );
+        lru.put( 1, "A" );
+        lru.put( 2, "B" );
+        lru.get( 1 );
+        lru.put( 3, "C" );
+
+        assertTrue( lru.contains(1) );
+        assertFalse( lru.contains(2) );
+
+        Cache<Integer,String> fifo = new FifoCache<>( 2 );
+        fifo.put( 1, "A" );
+        fifo.put( 2, "B" );
+        fifo.get( 1 );
+        fifo.put( 3, "C" );
+
+        assertFalse( fifo.contains(1) );
+        assertTrue( fifo.contains(2) );
+
+    }
+
+    @Test
+    public void flushOnPut() throws InterruptedException {
+
+        Cache<Integer,String> cache = new LruCache<>();
+        cache.setFlushCycle( 1 );
+
+        cache.put( 1, "A" );
+        cache.put( 2, "B" );
+
+        Thread.sleep( 1_100 );
+
+        cache.put( 2, "B" );
+        cache.put( 3, "C" );
+
+        assertEquals( 2, cache.size() );
+        assertFalse( cache.keySet().contains(1) );
+        assertNull( cache.get(1) );
+        assertEquals( "B", cache.get(2) );
+
+    }
+
+    @Test
+    public void boundByWeight() {
+
+        Cache<Integer,String> cache = new LruCache<>();
+        cache.setMaximumWeight( 10, (key, value) -> value.length() );
+
+        cache.put( 1, "aaaa" );
+        cache.put( 2, "bbbb" );
+        cache.get( 1 );
+        cache.put( 3, "cc" );
+
+        assertEquals( 10, cache.weight() );
+
+        cache.put( 4, "d" );
+
+        assertEquals( 7, cache.weight() );
+        assertTrue( cache.contains(1) );
+        assertFalse( cache.contains(2) );
+
+    }
+
+    @Test
+    public void recordStats() {
+
+        Cache<Integer,String> cache = new LruCache<>( 2 );
+        cache.setRecordStats( true );
+
+        cache.put( 1, "A" );
+        cache.get( 1 );
+        cache.get( 2 );
+        cache.get( 3, key -> "C" );
+        cache.put( 4, "D" );
+
+        CacheStats stats = cache.stats();
+
+        assertEquals( 1, stats.getHitCount() );
+        assertEquals( 2, stats.getMissCount() );
+        assertEquals( 1, stats.getLoadSuccessCount() );
+        assertEquals( 1, stats.getEvictionCount(EvictionCause.CAPACITY) );
+        assertEquals( 2, stats.getSize() );
+
+        cache.setRecordStats( false );
+
+        assertSame( CacheStats.EMPTY, cache.stats() );
+
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.Serializers;
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+import com.github.nayasis.basica.file.Files;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedFileCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void reloadAfterRestart() {
+
+        Path path = dir.resolve( "cache.dat" );
+
+        try( MappedFileCache<String,String> cache = open(path, 64 * 1024) ) {
+            cache.put( "A", "a" );
+            cache.put( "B", "b" );
+            cache.put( "C", null );
+            cache.put( "A", "aa" );
+            cache.clear( "B" );
+        }
+
+        assertTrue( Files.exists(dir.resolve("cache.dat.idx")) );
+
+        try( MappedFileCache<String,String> cache = open(path, 64 * 1024) ) {
+            assertEquals( 2, cache.size() );
+            assertEquals( "aa", cache.get("A") );
+            assertFalse( cache.contains("B") );
+            assertTrue( cache.contains("C") );
+            assertNull( cache.get("C") );
+            cache.put( "D", "d" );
+        }
+
+    }
+
+    @Test
+    public void scanWithoutIndex() {
+
+        Path path = dir.resolve( "cache.dat" );
+
+        MappedFileCache<String,String> cache = open( path, 64 * 1024 );
+        cache.put( "A", "a" );
+        cache.put( "B", "b" );
+        cache.clear( "A" );
+
+        // reopen without closing (index is not written)
+        try( MappedFileCache<String,String> reopened = open(path, 64 * 1024) ) {
+            assertEquals( 1, reopened.size() );
+            assertEquals( "b", reopened.get("B") );
+        }
+
+    }
+
+    @Test
+    public void scanKeepsEviction() {
+
+        Path path = dir.resolve( "cache.dat" );
+
+        MappedFileCache<String,String> cache = open( path, 64 * 1024 );
+        cache.setCapacity( 2 );
+        cache.put( "A", "a" );
+        cache.put( "B", "b" );
+        cache.put( "C", "c" );
+
+        // reopen without closing (index is not written)
+        try( MappedFileCache<String,String> reopened = open(path, 64 * 1024) ) {
+            assertEquals( new LinkedHashSet<>(Arrays.asList("B", "C")), reopened.keySet() );
+        }
+
+    }
+
+    @Test
+    public void expireInFullFile() throws Exception {
+
+        Path path = dir.resolve( "cache.dat" );
+
+        // header 24 bytes and 6 records of 24 bytes (record header 20 bytes, key 2 bytes, value 2 bytes)
+        int maxBytes = 24 + 6 * 24;
+
+        MappedFileCache<String,String> cache = open( path, maxBytes );
+        cache.setFlushCycle( 1 );
+        cache.put( "k1", "v1" );
+        cache.put( "k2", "v2" );
+        cache.put( "k3", "v3" );
+        Thread.sleep( 1_100 );
+        cache.put( "L1", "v1" );
+        cache.put( "L2", "v2" );
+        cache.put( "L3", "v3" );
+
+        // tombstones of expired entries need compaction.
+        assertEquals( 3, cache.size() );
+
+        // reopen without closing (index is not written)
+        try( MappedFileCache<String,String> reopened = open(path, maxBytes) ) {
+            assertEquals( new LinkedHashSet<>(Arrays.asList("L1", "L2", "L3")), reopened.keySet() );
+        }
+
+    }
+
+    @Test
+    public void scanStopsAtBrokenRecord() throws Exception {
+
+        Path path = dir.resolve( "cache.dat" );
+
+        MappedFileCache<String,String> cache = open( path, 64 * 1024 );
+        cache.put( "A", "a" );
+        cache.put( "B", "b" );
+        cache.put( "C", "c" );
+
+        // tear value of "B" (header 24 bytes, record of "A" 22 bytes, record header of "B" 20 bytes, key 1 byte)
+        try( FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE) ) {
+            channel.write( ByteBuffer.wrap(new byte[] {'x'}), 24 + 22 + 20 + 1 );
+        }
+
+        // reopen without closing (index is not written)
+        try( MappedFileCache<String,String> reopened = open(path, 64 * 1024) ) {
+            assertEquals( Collections.singleton("A"), reopened.keySet() );
+            reopened.put( "D", "d" );
+        }
+
+        try( MappedFileCache<String,String> reopened = open(path, 64 * 1024) ) {
+            assertEquals( new LinkedHashSet<>(Arrays.asList("A", "D")), reopened.keySet() );
+        }
+
+    }
+
+    @Test
+    public void compactWhenFull() {
+
+        try( MappedFileCache<Integer,String> cache = new MappedFileCache<>(dir.resolve("cache.dat"), Serializers.java(), Serializers.string(), 1024) ) {
+
+            for( int i = 0; i < 100; i++ )
+                cache.put( i % 5, "value-" + i );
+
+            assertEquals( 5, cache.size() );
+            assertEquals( "value-99", cache.get(4) );
+
+            for( int i = 0; i < 100; i++ )
+                cache.put( i, "value-" + i );
+
+            assertTrue( cache.weight() <= 1024 );
+            assertTrue( cache.contains(99) );
+            assertFalse( cache.contains(0) );
+
+        }
+
+    }
+
+    @Test
+    public void rejectLargerFile() throws Exception {
+
+        Path path = dir.resolve( "cache.dat" );
+        java.nio.file.Files.write( path, new byte[2048] );
+
+        assertThrows( UncheckedIOException.class, () -> open(path, 1024) );
+
+        // file is released, so it can be replaced
+        java.nio.file.Files.delete( path );
+        try( MappedFileCache<String,String> cache = open(path, 1024) ) {
+            cache.put( "A", "a" );
+            assertEquals( "a", cache.get("A") );
+        }
+
+    }
+
+    @Test
+    public void tiered() {
+
+        Path path = dir.resolve( "cache.dat" );
+
+        try( TieredCache<String,String> cache = new TieredCache<>(new LruCache<>(2), open(path, 64 * 1024), 60_000) ) {
+            cache.put( "A", "a" );
+            cache.put( "B", "b" );
+            cache.put( "C", "c" );
+            // not written behind yet
+            assertFalse( cache.back().contains("A") );
+            assertEquals( "a", cache.get("A") );
+            cache.flush();
+            assertEquals( 3, cache.back().size() );
+            cache.clear( "B" );
+        }
+
+        try( TieredCache<String,String> cache = new TieredCache<>(new LruCache<>(2), open(path, 64 * 1024)) ) {
+            assertEquals( "a", cache.get("A") );
+            assertNull( cache.get("B") );
+            assertEquals( 2, cache.size() );
+        }
+
+    }
+
+    private MappedFileCache<String,String> open( Path path, int maxBytes ) {
+        return new MappedFileCache<>( path, Serializers.string(), Serializers.string(), maxBytes );
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.Serializers;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapCacheTest {
+
+    @Test
+    public void putAndGet() {
+
+        Cache<String,byte[]> cache = OffHeapCache.ofBytes( 1024 * 1024 );
+
+        byte[] large = new byte[ 5_000 ];
+        Arrays.fill( large, (byte) 7 );
+        large[ 4_999 ] = 9;
+
+        cache.put( "small", new byte[] {1, 2, 3} );
+        cache.put( "large", large );
+        cache.put( "empty", new byte[0] );
+        cache.put( "null",  null );
+
+        assertArrayEquals( new byte[] {1, 2, 3}, cache.get("small") );
+        assertArrayEquals( large, cache.get("large") );
+        assertArrayEquals( new byte[0], cache.get("empty") );
+        assertTrue( cache.contains("null") );
+        assertNull( cache.get("null") );
+
+        cache.put( "small", new byte[] {4} );
+        assertArrayEquals( new byte[] {4}, cache.get("small") );
+
+        cache.clear( "large" );
+        assertFalse( cache.contains("large") );
+
+    }
+
+    @Test
+    public void evictWhenMemoryIsFull() {
+
+        // 8 blocks of 128 bytes (124 bytes payload each)
+        OffHeapCache<Integer,String> cache = new OffHeapCache<>( Serializers.string(), 1024, 128, 1024 );
+
+        char[] text = new char[ 200 ];
+        Arrays.fill( text, 'a' );
+        String value = new String( text );
+
+        for( int i = 0; i < 4; i++ )
+            cache.put( i, value );
+
+        cache.get( 0 );
+        cache.put( 4, value );
+
+        assertEquals( 4, cache.size() );
+        assertTrue( cache.contains(0) );
+        assertFalse( cache.contains(1) );
+        assertEquals( value, cache.get(4) );
+        assertEquals( 1024, cache.usedBytes() );
+
+        cache.put( 5, new String(new char[2_000]) );
+        assertFalse( cache.contains(5) );
+
+        cache.clear();
+        assertEquals( 0, cache.usedBytes() );
+        assertEquals( 1024, cache.allocatedBytes() );
+
+    }
+
+    @Test
+    public void limitEntryCount() {
+
+        Cache<Integer,Integer> cache = new OffHeapCache<>( Serializers.java(), 1024 * 1024 );
+        cache.setCapacity( 2 );
+
+        cache.put( 1, 1 );
+        cache.put( 2, 2 );
+        cache.put( 3, 3 );
+
+        assertEquals( 2, cache.size() );
+        assertFalse( cache.contains(1) );
+        assertEquals( 3, cache.get(3) );
+
+    }
+
+    @Test
+    public void flushInWriteOrder() throws InterruptedException {
+
+        OffHeapCache<Integer,Integer> cache = new OffHeapCache<>( Serializers.java(), 1024 * 1024 );
+        cache.setFlushCycle( 1 );
+
+        cache.put( 1, 1 );
+        cache.put( 2, 2 );
+        Thread.sleep( 600 );
+
+        // rewriting renews cycle, but reading does not.
+        cache.put( 1, 1 );
+        cache.put( 3, 3 );
+        assertEquals( 2, cache.get(2) );
+        Thread.sleep( 600 );
+
+        assertEquals( 2, cache.size() );
+        assertEquals( new HashSet<>(Arrays.asList(1, 3)), cache.keySet() );
+
+        Thread.sleep( 600 );
+
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.usedBytes() );
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.github.nayasis.basica.cache.implement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TieredCacheTest {
+
+    @Test
+    public void requeueOnWriteFailure() {
+
+        BackCache back = new BackCache();
+
+        try( TieredCache<String,String> cache = new TieredCache<>(new LruCache<>(16), back, 60_000) ) {
+
+            cache.put( "A", "a" );
+            cache.put( "B", "b" );
+            cache.put( "C", "c" );
+
+            back.failOn = "B";
+            assertThrows( IllegalStateException.class, cache::flush );
+
+            assertEquals( "a", back.get("A") );
+            assertFalse( back.contains("B") );
+
+            // newer write is kept over requeued one
+            cache.put( "C", "cc" );
+            back.failOn = null;
+            cache.flush();
+
+            assertEquals( "b", back.get("B") );
+            assertEquals( "cc", back.get("C") );
+
+        }
+
+    }
+
+    @Test
+    public void flushOnClose() {
+
+        BackCache back = new BackCache();
+
+        TieredCache<String,String> cache = new TieredCache<>( new LruCache<>(16), back, 60_000 );
+        cache.put( "A", "a" );
+        cache.clear( "B" );
+        assertFalse( back.contains("A") );
+
+        cache.close();
+
+        assertEquals( "a", back.get("A") );
+        assertEquals( 1, back.size() );
+
+    }
+
+    @Test
+    public void readWhileFlushing() throws Exception {
+
+        BackCache back = new BackCache();
+        back.blocking = new CountDownLatch( 1 );
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try( TieredCache<String,String> cache = new TieredCache<>(new LruCache<>(1), back, 60_000) ) {
+
+            cache.put( "A", "a" );
+            cache.put( "B", "b" );
+
+            Future<?> flush = executor.submit( cache::flush );
+            assertTrue( back.entered.await(5, TimeUnit.SECONDS) );
+
+            // "A" is evicted from front and is being written behind
+            assertEquals( "a", cache.get("A") );
+            assertEquals( new HashSet<>(Arrays.asList("A", "B")), cache.keySet() );
+
+            cache.clear( "B" );
+            back.blocking.countDown();
+            flush.get( 5, TimeUnit.SECONDS );
+
+            assertNull( cache.get("B") );
+            cache.flush();
+            assertFalse( back.contains("B") );
+
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
+    private static class BackCache extends ConcurrentLruCache<String,String> {
+
+        volatile String         failOn;
+        volatile CountDownLatch blocking;
+        final    CountDownLatch entered = new CountDownLatch( 1 );
+
+        BackCache() {
+            super( 16 );
+        }
+
+        @Override
+        public void put( String key, String value ) {
+            entered.countDown();
+            if( key.equals(failOn) )
+                throw new IllegalStateException( "fail to write " + key );
+            if( blocking != null ) {
+                try {
+                    blocking.await( 5, TimeUnit.SECONDS );
+                } catch( InterruptedException e ) {
+                    throw new IllegalStateException( e );
+                }
+            }
+            super.put( key, value );
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.nayasis.basica.cache.implement;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.simulator.HitRatioSimulator;
+import com.github.nayasis.basica.model.NList;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+public class TinyLfuCacheTest {
+
+    @Test
+    public void basic() {
+
+        Cache<Integer,String> cache = new TinyLfuCache<>( 10 );
+
+        for( int i = 0; i < 100; i++ )
+            cache.put( i, "v" + i );
+
+        assertTrue( cache.size() <= 10 );
+
+        cache.put( 1000, "A" );
+        assertEquals( "A", cache.get(1000) );
+
+        cache.clear( 1000 );
+        assertTrue( ! cache.contains(1000) );
+
+    }
+
+    @Test
+    public void scanResistance() {
+
+        List<Integer> trace = new ArrayList<>();
+        Random random = new Random( 7 );
+        int scanKey = 1_000_000;
+
+        for( int round = 0; round < 50; round++ ) {
+            // working set
+            for( int i = 0; i < 1_000; i++ )
+                trace.add( random.nextInt(80) );
+            // one-off scan
+            for( int i = 0; i < 200; i++ )
+                trace.add( scanKey++ );
+        }
+
+        NList result = new HitRatioSimulator( 100 ).replay( trace );
+
+        log.debug( "\n{}", result );
+
+        double lru     = Double.parseDouble( (String) result.getDataByKey(0, "hitRatio") );
+        double tinyLfu = Double.parseDouble( (String) result.getDataByKey(2, "hitRatio") );
+
+        assertTrue( tinyLfu > lru );
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.nayasis.basica.cache.jmx;
+
+import com.github.nayasis.basica.cache.Cache;
+import com.github.nayasis.basica.cache.implement.ConcurrentLruCache;
+import com.github.nayasis.basica.reflection.core.ClassReflector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+public class CacheRegistryTest {
+
+    @Test
+    public void exposeStatsByJmx() throws Exception {
+
+        Cache<String,String> cache = CacheRegistry.register( "test.jmx", new ConcurrentLruCache<>(16) );
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName  name   = CacheRegistry.objectName( "test.jmx" );
+
+        assertTrue( server.isRegistered(name) );
+        assertSame( cache, CacheRegistry.get("test.jmx") );
+
+        server.setAttribute( name, new Attribute("RecordStats", true) );
+        assertTrue( cache.isRecordStats() );
+
+        cache.put( "A", "a" );
+        cache.get( "A" );
+        cache.get( "B" );
+
+        assertEquals( 1L,  server.getAttribute(name, "HitCount") );
+        assertEquals( 1L,  server.getAttribute(name, "MissCount") );
+        assertEquals( 0.5, server.getAttribute(name, "HitRate") );
+        assertEquals( 1,   server.getAttribute(name, "Size") );
+
+        log.debug( "names : {}", CacheRegistry.names() );
+
+        CacheRegistry.unregister( "test.jmx" );
+
+        assertFalse( server.isRegistered(name) );
+
+    }
+
+    @Test
+    public void internalCachesRegistered() {
+        ClassReflector.getFields( CacheRegistryTest.class );
+        assertTrue( CacheRegistry.names().contains("ClassReflector.field") );
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.github.nayasis.basica.compress;
+
+import com.github.nayasis.basica.exception.unchecked.UncheckedIOException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressorTest {
+
+    @Test
+    public void bytes() {
+
+        byte[] sample = sample( 10_000 );
+
+        for( Codec codec : Codec.values() ) {
+            if( ! codec.isAvailable() ) continue;
+            byte[] compressed = Compressor.compress( sample, codec );
+            assertTrue( compressed.length < sample.length, codec.toString() );
+            assertArrayEquals( sample, Compressor.decompress(compressed, codec), codec.toString() );
+            assertArrayEquals( new byte[0], Compressor.decompress(Compressor.compress(new byte[0], codec), codec), codec.toString() );
+        }
+
+        for( int level : new int[] { 0, 1, 9 } ) {
+            assertArrayEquals( sample, Compressor.decompress(Compressor.compress(sample, Codec.DEFLATE, level), Codec.DEFLATE) );
+            assertArrayEquals( sample, Compressor.decompress(Compressor.compress(sample, Codec.GZIP, level), Codec.GZIP) );
+        }
+
+    }
+
+    @Test
+    public void compatibleWithJdkGzip() throws IOException {
+
+        byte[] sample = sample( 10_000 );
+
+        try( InputStream in = new GZIPInputStream(new ByteArrayInputStream(Compressor.compress(sample, Codec.GZIP))) ) {
+            assertArrayEquals( sample, read(in) );
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try( OutputStream out = new GZIPOutputStream(buffer) ) {
+            out.write( sample );
+        }
+        assertArrayEquals( sample, Compressor.decompress(buffer.toByteArray(), Codec.GZIP) );
+
+    }
+
+    @Test
+    public void gzipMembers() throws IOException {
+
+        byte[] first  = sample( 3_000 );
+        byte[] second = "second member".getBytes( StandardCharsets.UTF_8 );
+
+        // concatenated members
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        buffer.write( Compressor.compress(first, Codec.GZIP) );
+        buffer.write( Compressor.compress(second, Codec.GZIP) );
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write( first );
+        expected.write( second );
+        assertArrayEquals( expected.toByteArray(), Compressor.decompress(buffer.toByteArray(), Codec.GZIP) );
+
+        // header having FEXTRA, FNAME, FCOMMENT and FHCRC
+        byte[] plain  = Compressor.compress( second, Codec.GZIP );
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write( new byte[] { 0x1f, (byte) 0x8b, 8, 4 | 8 | 16 | 2, 0, 0, 0, 0, 0, 0 } );
+        header.write( new byte[] { 3, 0, 'x', 'y', 'z' } );
+        header.write( "name.txt\0comment\0".getBytes(StandardCharsets.ISO_8859_1) );
+        CRC32 crc = new CRC32();
+        crc.update( header.toByteArray() );
+        header.write( (int) crc.getValue() & 0xff );
+        header.write( (int) (crc.getValue() >> 8) & 0xff );
+        header.write( plain, 10, plain.length - 10 );
+        assertArrayEquals( second, Compressor.decompress(header.toByteArray(), Codec.GZIP) );
+
+        // broken trailer
+        plain[ plain.length - 5 ] ^= 1;
+        assertThrows( UncheckedIOException.class, () -> Compressor.decompress(plain, Codec.GZIP) );
+
+    }
+
+    @Test
+    public void stream() throws IOException {
+
+        byte[] sample = sample( 10_000 );
+
+        for( Codec codec : Codec.values() ) {
+            if( ! codec.isAvailable() ) continue;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try( OutputStream out = Compressor.compress(buffer, codec) ) {
+                for( int i = 0; i < sample.length; i += 1000 )
+                    out.write( sample, i, Math.min(1000, sample.length - i) );
+            }
+            try( InputStream in = Compressor.decompress(new ByteArrayInputStream(buffer.toByteArray()), codec) ) {
+                assertArrayEquals( sample, read(in), codec.toString() );
+            }
+        }
+
+    }
+
+    @Test
+    public void closeWhenFinishFails() throws IOException {
+
+        BrokenOutputStream out = new BrokenOutputStream();
+        OutputStream compressor = Compressor.compress( out, Codec.DEFLATE );
+
+        compressor.write( sample(100) );
+        out.broken = true;
+        assertThrows( IOException.class, compressor::close );
+        assertTrue( out.closed );
+        assertThrows( IOException.class, () -> compressor.write(1) );
+        assertDoesNotThrow( compressor::close );
+
+    }
+
+    @Test
+    public void readAfterClose() throws IOException {
+
+        byte[] sample = sample( 1_000 );
+
+        for( Codec codec : new Codec[] { Codec.DEFLATE, Codec.GZIP } ) {
+
+            InputStream in = Compressor.decompress( new ByteArrayInputStream(Compressor.compress(sample, codec)), codec );
+            in.read();
+            in.close();
+
+            assertThrows( IOException.class, in::read );
+            assertThrows( IOException.class, () -> in.read(new byte[10]) );
+            assertThrows( IOException.class, in::available );
+            assertThrows( IOException.class, () -> in.skip(10) );
+            assertDoesNotThrow( in::close );
+
+            // released inflater is reused by next stream without corruption.
+            try( InputStream next = Compressor.decompress(new ByteArrayInputStream(Compressor.compress(sample, codec)), codec) ) {
+                assertArrayEquals( sample, read(next) );
+            }
+
+        }
+
+    }
+
+    private static class BrokenOutputStream extends OutputStream {
+
+        boolean broken = false;
+        boolean closed = false;
+
+        @Override
+        public void write( int b ) throws IOException {
+            if( broken ) throw new IOException( "broken" );
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+    }
+
+    private byte[] sample( int size ) {
+        Random random = new Random( 7 );
+        String words  = "alpha beta gamma delta\r\n가나다 라마\n\0ÿ";
+        StringBuilder sb = new StringBuilder();
+        while( sb.length() < size )
+            sb.append( words.charAt(random.nextInt(words.length())) );
+        return sb.toString().getBytes( StandardCharsets.UTF_8 );
+    }
+
+    private byte[] read( InputStream in ) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[ 4096 ];
+        int read;
+        while( (read = in.read(buffer)) != -1 )
+            out.write( buffer, 0, read );
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.github.nayasis.basica.reflection.core;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.nayasis.basica.reflection.Reflector;
+import com.github.nayasis.basica.reflection.helper.mapper.NObjectMapper;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BeanMapperTest {
+
+    private JsonConverter jackson = new JsonConverter( new NObjectMapper() );
+
+    @Test
+    public void toMap() {
+
+        Flat flat = new Flat();
+        flat.name( "nayasis" );
+        flat.age( 40 ).grade( 'A' ).level( (byte) 3 ).status( Thread.State.NEW ).balance( new BigDecimal("1.10") );
+
+        Map<String,Object> map = BeanMapper.toMap( flat );
+
+        assertNotNull( map );
+        assertEquals( jackson.toMapFrom(flat), map );
+        assertEquals( new ArrayList<>(jackson.toMapFrom(flat).keySet()), new ArrayList<>(map.keySet()) );
+        assertEquals( jackson.toMapFrom(new Flat()), BeanMapper.toMap(new Flat()) );
+
+        // left to Jackson
+        assertNull( BeanMapper.toMap(new Nested()) );
+        assertNull( BeanMapper.toMap(new Annotated()) );
+        assertNull( BeanMapper.toMap(new HashMap<>()) );
+        assertNull( BeanMapper.toMap("text") );
+
+        assertEquals( jackson.toMapFrom(new Nested()), Reflector.toMapFrom(new Nested()) );
+
+    }
+
+    @Test
+    public void toBean() {
+
+        Map<String,Object> map = new HashMap<>();
+        map.put( "name",    "nayasis" );
+        map.put( "age",     40 );
+        map.put( "grade",   "A" );
+        map.put( "status",  "RUNNABLE" );
+        map.put( "balance", new BigDecimal("3.5") );
+        map.put( "unknown", "ignored" );
+
+        Flat flat = BeanMapper.toBean( map, Flat.class );
+
+        assertNotNull( flat );
+        assertEquals( jackson.toBeanFrom(map, Flat.class), flat );
+
+        map.put( "age", null );
+        assertEquals( jackson.toBeanFrom(map, Flat.class), BeanMapper.toBean(map, Flat.class) );
+
+        // value needing conversion is left to Jackson.
+        map.put( "age", "41" );
+        assertNull( BeanMapper.toBean(map, Flat.class) );
+        assertEquals( 41, Reflector.toBeanFrom(map, Flat.class).age() );
+
+        map.put( "age", 41 );
+        map.put( "status", "NOT_EXIST" );
+        assertNull( BeanMapper.toBean(map, Flat.class) );
+
+    }
+
+    @Test
+    public void numbers() {
+
+        Numbers numbers = new Numbers()
+            .shortValue( (short) 3 ).shortWrapper( (short) -4 )
+            .longValue( Long.MAX_VALUE )
+            .floatValue( 1.1f ).floatWrapper( -2.5f )
+            .doubleValue( 0.1 )
+            .bigInteger( new BigInteger("123456789012345678901234567890") );
+
+        Map<String,Object> map = BeanMapper.toMap( numbers );
+
+        assertEquals( jackson.toMapFrom(numbers), map );
+        assertEquals( numbers, BeanMapper.toBean(map, Numbers.class) );
+        assertEquals( jackson.toBeanFrom(map, Numbers.class), BeanMapper.toBean(map, Numbers.class) );
+
+        // name of parent property is compared too.
+        Flat flat = new Flat();
+        flat.name( "nayasis" );
+        assertEquals( flat, BeanMapper.toBean(BeanMapper.toMap(flat), Flat.class) );
+        assertNotEquals( new Flat(), BeanMapper.toBean(BeanMapper.toMap(flat), Flat.class) );
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Parent {
+        private String name;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Flat extends Parent {
+        private static final String PREFIX = "flat";
+        private int          age = 1;
+        private char         grade;
+        private Byte         level;
+        private Thread.State status;
+        private BigDecimal   balance;
+        private transient String cache;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Numbers {
+        private short      shortValue;
+        private Short      shortWrapper;
+        private long       longValue;
+        private float      floatValue;
+        private Float      floatWrapper;
+        private double     doubleValue;
+        private BigInteger bigInteger;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Nested {
+        private String    name  = "nested";
+        private LocalDate birth = LocalDate.of( 2020, 1, 2 );
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Annotated {
+        private String name;
+        @JsonIgnore
+        private String password;
+    }
+
+}
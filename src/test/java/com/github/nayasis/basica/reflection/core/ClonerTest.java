@@ -0,0 +1,219 @@
+package com.github.nayasis.basica.reflection.core;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.github.nayasis.basica.reflection.Reflector;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ClonerTest {
+
+    @Test
+    public void cloneByIdentity() {
+
+        // nodes are equal to each other, but must be cloned separately.
+        Node first  = new Node().name( "same" );
+        Node second = new Node().name( "same" );
+        first.next( second );
+        second.next( first );
+
+        Node clone = Cloner.clone( first );
+
+        assertNotSame( first, clone );
+        assertNotSame( clone, clone.next() );
+        assertSame( clone, clone.next().next() );
+        assertEquals( "same", clone.next().name() );
+
+    }
+
+    @Test
+    public void cloneArray() {
+
+        Object[] array = new Object[ 2 ];
+        array[ 0 ] = array;
+        array[ 1 ] = new int[] { 1, 2, 3 };
+
+        Object[] clone = Cloner.clone( array );
+
+        assertNotSame( array, clone );
+        assertSame( clone, clone[0] );
+        assertNotSame( array[1], clone[1] );
+        assertArrayEquals( (int[]) array[1], (int[]) clone[1] );
+
+        Constant[] constants = Cloner.clone( new Constant[] { Constant.PLAIN, Constant.BODY } );
+        assertSame( Constant.PLAIN, constants[0] );
+        assertSame( Constant.BODY, constants[1] );
+
+    }
+
+    @Test
+    public void cloneDeep() {
+
+        Order order = new Order();
+        for( int i = 0; i < 20; i++ ) {
+            order.items().add( new Item().name( "item-" + i ).price( new BigDecimal(i) ).quantity( i ).tags( new String[] {"a", "b"} ) );
+        }
+
+        Order clone = Cloner.clone( order );
+
+        assertEquals( order, clone );
+        assertNotSame( order.items(), clone.items() );
+        assertNotSame( order.items().get(0), clone.items().get(0) );
+        assertNotSame( order.items().get(0).tags(), clone.items().get(0).tags() );
+
+    }
+
+    @Test
+    public void copyProperties() {
+
+        ItemDto dto = new ItemDto().name( "pen" ).price( new BigDecimal(10) ).quantity( 3 ).memo( "fragile" );
+
+        // flat properties are copied directly.
+        Item item = new Item();
+        Cloner.copyProperties( dto, item );
+        assertEquals( "pen", item.name() );
+        assertEquals( new BigDecimal(10), item.price() );
+        assertEquals( 3, item.quantity() );
+
+        // int to long needs conversion.
+        ItemEntity entity = new ItemEntity();
+        Cloner.copyProperties( dto, entity );
+        assertEquals( "pen", entity.name() );
+        assertEquals( 3L, entity.quantity() );
+
+        ItemDto copied = new ItemDto();
+        Cloner.copyProperties( entity, copied );
+        assertEquals( 3, copied.quantity() );
+
+    }
+
+    @Test
+    public void copyLikeJackson() {
+
+        // Pattern loses its flags through Jackson, so it is not copied directly.
+        Matcher matcher = new Matcher().pattern( Pattern.compile("a.c", Pattern.CASE_INSENSITIVE) );
+        MatcherDto dto  = new MatcherDto();
+        Cloner.copyProperties( matcher, dto );
+        assertEquals( Reflector.toBeanFrom(matcher, MatcherDto.class).pattern().flags(), dto.pattern().flags() );
+        assertEquals( "a.c", dto.pattern().pattern() );
+
+        // class annotation of source or target changes mapping.
+        ItemDto source = new ItemDto().name( "pen" ).quantity( 3 ).memo( "fragile" );
+
+        IgnoringItem ignoring = new IgnoringItem().name( "origin" );
+        Cloner.copyProperties( source, ignoring );
+        assertEquals( Reflector.toBeanFrom(source, IgnoringItem.class), ignoring );
+        assertNull( ignoring.name() );
+        assertEquals( 3, ignoring.quantity() );
+
+        Item item = new Item();
+        Cloner.copyProperties( new SnakeItem().itemName( "pen" ).quantity( 3 ), item );
+        assertEquals( Reflector.toBeanFrom(new SnakeItem().itemName("pen").quantity(3), Item.class), item );
+        assertEquals( 3, item.quantity() );
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Node {
+        private String name;
+        private Node   next;
+        @Override
+        public boolean equals( Object other ) {
+            return other instanceof Node && name.equals( ((Node) other).name );
+        }
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Order {
+        private String     id = "order";
+        private List<Item> items = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Item {
+        private String     name;
+        private BigDecimal price;
+        private int        quantity;
+        private String[]   tags;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class ItemDto {
+        private String     name;
+        private BigDecimal price;
+        private int        quantity;
+        private String     memo;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class ItemEntity {
+        private String name;
+        private long   quantity;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class Matcher {
+        private Pattern pattern;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    static class MatcherDto {
+        private Pattern pattern;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    @JsonIgnoreProperties( value = "name", ignoreUnknown = true )
+    static class IgnoringItem {
+        private String name;
+        private int    quantity;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @Accessors(fluent=true)
+    @JsonNaming( PropertyNamingStrategy.SnakeCaseStrategy.class )
+    static class SnakeItem {
+        private String itemName;
+        private int    quantity;
+    }
+
+    enum Constant {
+        PLAIN,
+        BODY { @Override public String toString() { return "body"; } }
+    }
+
+}
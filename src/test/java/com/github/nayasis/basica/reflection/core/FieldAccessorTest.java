@@ -0,0 +1,79 @@
+package com.github.nayasis.basica.reflection.core;
+
+import com.github.nayasis.basica.exception.unchecked.UncheckedIllegalAccessException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FieldAccessorTest {
+
+    @Test
+    public void getAndSet() throws NoSuchFieldException {
+
+        Sample sample = new Sample();
+
+        FieldAccessor name   = ClassReflector.getAccessor( Sample.class.getDeclaredField("name") );
+        FieldAccessor age    = ClassReflector.getAccessor( Sample.class.getDeclaredField("age") );
+        FieldAccessor id     = ClassReflector.getAccessor( Sample.class.getDeclaredField("id") );
+        FieldAccessor count  = ClassReflector.getAccessor( Sample.class.getDeclaredField("count") );
+        FieldAccessor prefix = ClassReflector.getAccessor( Sample.class.getDeclaredField("PREFIX") );
+
+        assertSame( name, ClassReflector.getAccessor(Sample.class.getDeclaredField("name")) );
+
+        name.set( sample, "merong" );
+        age.set( sample, 12 );
+        id.set( sample, 7L );
+        count.set( null, 3 );
+
+        assertEquals( "merong", name.get(sample) );
+        assertEquals( 12, (int) age.get(sample) );
+        assertEquals( 7L, (long) id.get(sample) );
+        assertEquals( 3, (int) count.get(null) );
+        assertEquals( "sample", prefix.get(null) );
+
+        assertTrue( id.isWritable() );
+        assertFalse( prefix.isWritable() );
+        assertThrows( UncheckedIllegalAccessException.class, () -> prefix.set(null, "x") );
+        assertThrows( IllegalArgumentException.class, () -> age.set(sample, "not number") );
+        assertThrows( IllegalArgumentException.class, () -> age.set(sample, null) );
+
+        name.set( sample, null );
+        assertNull( name.get(sample) );
+
+    }
+
+    @Test
+    public void classReflector() throws NoSuchFieldException {
+
+        Sample sample = new Sample();
+        Field  field  = Sample.class.getDeclaredField( "name" );
+
+        ClassReflector.setValue( sample, field, "nayasis" );
+        assertEquals( "nayasis", ClassReflector.getValue(sample, field) );
+        assertEquals( "nayasis", ClassReflector.getValue(sample, "name") );
+
+        // static fields are excluded.
+        assertEquals( 3, ClassReflector.getAccessors(Sample.class).length );
+
+        // accessible flag of shared field is not changed.
+        for( Field shared : ClassReflector.getFields(Sample.class) )
+            assertFalse( shared.isAccessible(), shared.getName() );
+
+    }
+
+    private static class Sample {
+        private static final String PREFIX = "sample";
+        private static int count;
+        private String     name;
+        private int        age;
+        private final long id = 0L;
+    }
+
+}
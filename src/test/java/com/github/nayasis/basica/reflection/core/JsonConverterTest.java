@@ -2,6 +2,8 @@ package com.github.nayasis.basica.reflection.core;
 
 import com.google.gson.Gson;
 import com.github.nayasis.basica.etc.StopWatch;
+import com.github.nayasis.basica.exception.unchecked.JsonMappingException;
+import com.github.nayasis.basica.model.NList;
 import com.github.nayasis.basica.reflection.Reflector;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +11,20 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 @Slf4j
 public class JsonConverterTest {
 
@@ -45,6 +61,111 @@ public class JsonConverterTest {
 
     }
 
+    @Test
+    public void streamArray() throws IOException {
+
+        // array is generated while it is read, so whole array never exists in memory.
+        try( Stream<Item> stream = Reflector.toStreamFrom( new ArrayReader(10_000_000), Item.class ) ) {
+            List<Item> items = stream.limit( 3 ).collect( Collectors.toList() );
+            assertEquals( 3, items.size() );
+            assertEquals( "item-2", items.get(2).getName() );
+        }
+
+        Path file = java.nio.file.Files.createTempFile( "stream", ".json" );
+        try {
+            try( Writer writer = java.nio.file.Files.newBufferedWriter(file) ) {
+                writer.write( "[ {'name':'a','value':1}, {'name':'b','value':2}, {'name':'c','value':3} ]".replace('\'','"') );
+            }
+            NList nlist = new NList();
+            Reflector.forEachFrom( file, Map.class, nlist::addRow );
+            assertEquals( 3, nlist.size() );
+            assertEquals( "c", nlist.getDataByKey(2, "name") );
+        } finally {
+            java.nio.file.Files.deleteIfExists( file );
+        }
+
+        // single value is treated as array having one element.
+        try( Stream<Item> stream = Reflector.toStreamFrom( new StringReader("{\"name\":\"single\"}"), Item.class ) ) {
+            assertEquals( 1, stream.count() );
+        }
+
+        try( Stream<Item> stream = Reflector.toStreamFrom( new StringReader("[{\"name\":\"a\"}, {broken"), Item.class ) ) {
+            assertThrows( JsonMappingException.class, () -> stream.forEach(item -> {}) );
+        }
+
+    }
+
+    @Test
+    public void streamSameAsList() {
+
+        int count = 2_000;
+
+        List<Item> list = Reflector.toListFrom( read(new ArrayReader(count)), Item.class );
+        assertEquals( count, list.size() );
+
+        try( Stream<Item> stream = Reflector.toStreamFrom( new ArrayReader(count), Item.class ) ) {
+            assertEquals( list, stream.collect(Collectors.toList()) );
+        }
+
+    }
+
+    private String read( Reader reader ) {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[ 8192 ];
+        int read;
+        try {
+            while( (read = reader.read(buffer)) != -1 )
+                sb.append( buffer, 0, read );
+        } catch( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+        return sb.toString();
+    }
+
+    /** reader generating json array of items on demand */
+    private static class ArrayReader extends Reader {
+
+        private final int     count;
+        private int           index  = 0;
+        private StringBuilder buffer = new StringBuilder( "[" );
+        private int           cursor = 0;
+
+        ArrayReader( int count ) {
+            this.count = count;
+        }
+
+        @Override
+        public int read( char[] chars, int off, int len ) {
+            if( cursor == buffer.length() ) {
+                if( index > count ) return -1;
+                buffer.setLength( 0 );
+                cursor = 0;
+                if( index == count ) {
+                    buffer.append( "]" );
+                } else {
+                    if( index > 0 ) buffer.append( "," );
+                    buffer.append( "{\"name\":\"item-" ).append( index ).append( "\",\"value\":" ).append( index ).append( "}" );
+                }
+                index++;
+            }
+            int size = Math.min( len, buffer.length() - cursor );
+            buffer.getChars( cursor, cursor + size, chars, off );
+            cursor += size;
+            return size;
+        }
+
+        @Override
+        public void close() {}
+
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        private String name;
+        private int    value;
+    }
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -0,0 +1,43 @@
+package com.github.nayasis.basica.resource.matcher;
+
+import com.github.nayasis.basica.cache.jmx.CacheRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AntPathMatcherTest {
+
+    @Test
+    public void shareCachesAcrossInstances() {
+
+        Set<String> before = CacheRegistry.names();
+
+        for( int i = 0; i < 10; i++ )
+            assertTrue( new AntPathMatcher().match("/docs/**/*.jsp", "/docs/a/b/test.jsp") );
+
+        assertEquals( before, CacheRegistry.names() );
+        assertTrue( before.contains("AntPathMatcher.stringMatcher") );
+
+    }
+
+    @Test
+    public void cacheByOption() {
+
+        AntPathMatcher sensitive   = new AntPathMatcher();
+        AntPathMatcher insensitive = new AntPathMatcher();
+        insensitive.setCaseSensitive( false );
+
+        assertFalse( sensitive.match("/Docs/*.JSP", "/docs/test.jsp") );
+        assertTrue( insensitive.match("/Docs/*.JSP", "/docs/test.jsp") );
+
+        AntPathMatcher dotted = new AntPathMatcher( "." );
+        assertFalse( dotted.match("com.*", "com.github.Test") );
+        assertTrue( sensitive.match("com.*", "com.github.Test") );
+
+    }
+
+}